@@ -0,0 +1,50 @@
+package benchmarks.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base of the harnesses: the subclasses declare the parameters and set the sort case up from them,
+ * then the sorts per second are measured, along with the comparisons per sort.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public abstract class AbstractSortBenchmark {
+    private SortCase<?> sortCase;
+
+    private long comparisons;
+
+    private double comparisonsShare;
+
+    protected void setUp(String strategy, String keys, String distribution, int size, String ordering) {
+        sortCase = SortCase.create(strategy, keys, distribution, size, ordering);
+        comparisons = sortCase.countComparisons();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration(IterationParams params) {
+        comparisonsShare = (double) comparisons / params.getCount();
+    }
+
+    @Benchmark
+    public Object sort(ComparisonCounter counter) {
+        counter.comparisons = comparisonsShare;
+        return sortCase.sort();
+    }
+}
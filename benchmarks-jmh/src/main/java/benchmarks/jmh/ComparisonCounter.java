@@ -0,0 +1,16 @@
+package benchmarks.jmh;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reports the comparisons per sort as a secondary result of the harnesses, named after its field.
+ * JMH sums the events of the measurement iterations, so each iteration reports its share of the count,
+ * which is taken once per trial.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class ComparisonCounter {
+    public double comparisons;
+}
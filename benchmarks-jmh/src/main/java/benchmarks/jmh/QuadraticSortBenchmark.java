@@ -0,0 +1,35 @@
+package benchmarks.jmh;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks the quadratic sorts against every input distribution, with both the MinOrdering and the MaxOrdering,
+ * up to the same length as the console benchmarks.
+ * The classic quick sort recurses once per item on the sorted and reversed inputs,
+ * so the threads get a stack deep enough for 10000 items rather than overflowing like on the default stack.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xss64m"})
+public class QuadraticSortBenchmark extends AbstractSortBenchmark {
+    @Param({"Bubble sort", "Selection sort", "Insertion sort", "Quick sort"})
+    public String strategy;
+
+    @Param({"Integer", "String"})
+    public String keys;
+
+    @Param({"RANDOM", "SORTED", "REVERSE_SORTED", "FEW_UNIQUE", "SAWTOOTH", "ORGAN_PIPE"})
+    public String distribution;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param({"Min", "Max"})
+    public String ordering;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        setUp(strategy, keys, distribution, size, ordering);
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks.jmh;
+
+import benchmarks.InputDistribution;
+import benchmarks.Main;
+import sortingalgorithms.SortAlgoStrategy;
+import utils.orderingstrategy.InstrumentedOrdering;
+import utils.orderingstrategy.MaxOrdering;
+import utils.orderingstrategy.MinOrdering;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * A sort strategy, an input and an ordering strategy, which the harnesses sort a fresh copy of at every invocation
+ *
+ * @param <T> The type of the items
+ */
+final class SortCase<T extends Comparable<T>> {
+    private final SortAlgoStrategy<T> strategy;
+
+    private final T[] input;
+
+    private final SortOrderingStrategy<T> orderingStrategy;
+
+    private SortCase(SortAlgoStrategy<T> strategy, T[] input, SortOrderingStrategy<T> orderingStrategy) {
+        this.strategy = strategy;
+        this.input = input;
+        this.orderingStrategy = orderingStrategy;
+    }
+
+    /**
+     * Creates the case of the parameters of a harness, with the same keys as the console benchmarks
+     *
+     * @param strategy     The name of a candidate of {@link Main#getCandidates()}, or of a String sort
+     * @param keys         Integer or String
+     * @param distribution The name of an {@link InputDistribution}
+     * @param size         The length of the input
+     * @param ordering     Min or Max
+     */
+    static SortCase<?> create(String strategy, String keys, String distribution, int size, String ordering) {
+        int[] ranks = InputDistribution.valueOf(distribution).generate(size, new Random(42));
+        return switch (keys) {
+            case "Integer" -> create(Main.getCandidates(), strategy, ranks, Integer[]::new, rank -> rank, ordering);
+            // The keys share a long prefix, like URLs do
+            case "String" -> create(
+                    Main.getStringCandidates(),
+                    strategy,
+                    ranks,
+                    String[]::new,
+                    rank -> String.format("https://example.com/items/%010d", rank),
+                    ordering
+            );
+            default -> throw new IllegalArgumentException("Unknown keys: " + keys);
+        };
+    }
+
+    private static <T extends Comparable<T>> SortCase<T> create(
+            List<Main.Candidate<T>> candidates,
+            String strategy,
+            int[] ranks,
+            IntFunction<T[]> arrayFactory,
+            IntFunction<T> keyFactory,
+            String ordering
+    ) {
+        T[] input = arrayFactory.apply(ranks.length);
+        for (int i = 0; i < ranks.length; i++) input[i] = keyFactory.apply(ranks[i]);
+        SortOrderingStrategy<T> orderingStrategy = switch (ordering) {
+            case "Min" -> new MinOrdering<>();
+            case "Max" -> new MaxOrdering<>();
+            default -> throw new IllegalArgumentException("Unknown ordering: " + ordering);
+        };
+        Main.Candidate<T> candidate = candidates.stream()
+                .filter(c -> c.name().equals(strategy))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown strategy: " + strategy));
+        return new SortCase<>(candidate.factory().get(), input, orderingStrategy);
+    }
+
+    /**
+     * Sorts a copy of the input, the copy being part of the measured time and allocations
+     *
+     * @return The sorted copy, for the harness to sink
+     */
+    T[] sort() {
+        return strategy.sort(Arrays.copyOf(input, input.length), orderingStrategy);
+    }
+
+    /**
+     * Counts the comparisons of a single sort, apart from the measured ones since the counting slows the sort down
+     */
+    long countComparisons() {
+        InstrumentedOrdering<T> instrumentedOrdering = new InstrumentedOrdering<>(orderingStrategy);
+        strategy.sort(Arrays.copyOf(input, input.length), instrumentedOrdering);
+        return instrumentedOrdering.getComparisonsCount();
+    }
+}
@@ -0,0 +1,30 @@
+package benchmarks.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks the sorts in O(n log n) of any keys against every input distribution, with both the MinOrdering and the MaxOrdering
+ */
+public class SortStrategyBenchmark extends AbstractSortBenchmark {
+    @Param({"Merge sort", "Introsort", "Heap sort", "Parallel merge sort", "Three-way quick sort", "TimSort", "Sample sort", "Adaptive"})
+    public String strategy;
+
+    @Param({"Integer", "String"})
+    public String keys;
+
+    @Param({"RANDOM", "SORTED", "REVERSE_SORTED", "FEW_UNIQUE", "SAWTOOTH", "ORGAN_PIPE"})
+    public String distribution;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"Min", "Max"})
+    public String ordering;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        setUp(strategy, keys, distribution, size, ordering);
+    }
+}
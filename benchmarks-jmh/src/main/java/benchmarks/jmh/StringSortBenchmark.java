@@ -0,0 +1,30 @@
+package benchmarks.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks the sorts that only work with String keys against every input distribution, with both the MinOrdering and the MaxOrdering
+ */
+public class StringSortBenchmark extends AbstractSortBenchmark {
+    @Param({"MSD radix sort", "Multikey quick sort"})
+    public String strategy;
+
+    @Param({"String"})
+    public String keys;
+
+    @Param({"RANDOM", "SORTED", "REVERSE_SORTED", "FEW_UNIQUE", "SAWTOOTH", "ORGAN_PIPE"})
+    public String distribution;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"Min", "Max"})
+    public String ordering;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        setUp(strategy, keys, distribution, size, ordering);
+    }
+}
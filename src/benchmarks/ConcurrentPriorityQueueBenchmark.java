@@ -0,0 +1,179 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Runs a concurrent priority queue under contention: the queue is filled with random keys,
+ * then every thread enqueues a random key or dequeues, with even odds, as fast as it can,
+ * so that the queue stays around the same size.
+ * The threads run through a warmup first, then their operations are counted for the measurement time.
+ * <p>
+ * It also measures how far the dequeues of a relaxed queue stray from the top of the queue.
+ */
+public class ConcurrentPriorityQueueBenchmark {
+    /**
+     * The concurrent priority queue operations that the benchmark needs, whatever the queue implementation is
+     */
+    public interface Queue {
+        void enqueue(long key);
+
+        /**
+         * Dequeues a key
+         *
+         * @return The key, or -1 if the queue is empty, the keys being non-negative
+         */
+        long dequeue();
+    }
+
+    /**
+     * The outcome of a benchmark
+     *
+     * @param queue        The name of the queue
+     * @param threads      The count of threads
+     * @param size         The count of keys that the queue was filled with
+     * @param opsPerSecond The count of queue operations per second, all the threads together
+     * @param speedup      The ratio of the operations per second to the ones of the fewest threads
+     */
+    public record Result(String queue, int threads, int size, double opsPerSecond, double speedup) {
+        public static final String HEADER = String.format(
+                "%-22s %8s %10s %14s %8s",
+                "Queue", "Threads", "Size", "ops/s", "Speedup"
+        );
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %8d %10d %14.2f %8.2f", queue, threads, size, opsPerSecond, speedup);
+        }
+    }
+
+    /**
+     * Longer than the warmup of the other benchmarks, as the lock-free queues take longer to get compiled
+     */
+    public static final long DEFAULT_WARMUP_NANOS = 1_000_000_000L;
+
+    private static final int WARMUP = 0, MEASUREMENT = 1, STOPPED = 2;
+
+    private final long warmupNanos;
+
+    private final long measurementNanos;
+
+    public ConcurrentPriorityQueueBenchmark() {
+        this(DEFAULT_WARMUP_NANOS, SortBenchmark.DEFAULT_MEASUREMENT_NANOS);
+    }
+
+    public ConcurrentPriorityQueueBenchmark(long warmupNanos, long measurementNanos) {
+        this.warmupNanos = warmupNanos;
+        this.measurementNanos = measurementNanos;
+    }
+
+    /**
+     * Runs the threads against a queue
+     *
+     * @return The count of operations per second during the measurement
+     */
+    private double runThreads(Queue queue, int threadsCount, int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < size; i++) queue.enqueue(random.nextLong(size));
+
+        AtomicInteger phase = new AtomicInteger(WARMUP);
+        long[] operations = new long[threadsCount];
+        List<Thread> threads = new ArrayList<>(threadsCount);
+        for (int t = 0; t < threadsCount; t++) {
+            int threadIndex = t;
+            SplittableRandom threadRandom = random.split();
+            threads.add(Thread.ofPlatform().start(() -> {
+                long count = 0;
+                int currentPhase;
+                while ((currentPhase = phase.get()) != STOPPED) {
+                    if (threadRandom.nextBoolean()) queue.enqueue(threadRandom.nextLong(size));
+                    else queue.dequeue();
+                    if (currentPhase == MEASUREMENT) count++;
+                }
+                operations[threadIndex] = count;
+            }));
+        }
+
+        long elapsedNanos;
+        try {
+            TimeUnit.NANOSECONDS.sleep(warmupNanos);
+            phase.set(MEASUREMENT);
+            long before = System.nanoTime();
+            TimeUnit.NANOSECONDS.sleep(measurementNanos);
+            phase.set(STOPPED);
+            elapsedNanos = System.nanoTime() - before;
+            for (Thread thread : threads) thread.join();
+        } catch (InterruptedException e) {
+            phase.set(STOPPED);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The benchmark was interrupted", e);
+        }
+
+        long totalOperations = 0;
+        for (long count : operations) totalOperations += count;
+        return totalOperations * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Benchmarks a concurrent priority queue for growing counts of threads, a fresh queue for each count
+     *
+     * @param name          The name of the queue
+     * @param factory       Creates an empty queue for the given count of threads
+     * @param threadsCounts The counts of threads, the speedups being relative to the first one, eg a single thread
+     * @param size          The count of keys that the queue is filled with
+     * @return The result of each count of threads
+     */
+    public List<Result> run(String name, IntFunction<Queue> factory, int[] threadsCounts, int size) {
+        List<Result> results = new ArrayList<>(threadsCounts.length);
+        double baselineOpsPerSecond = 0;
+        for (int threadsCount : threadsCounts) {
+            if (threadsCount < 1) {
+                throw new IllegalArgumentException("The count of threads must be at least 1");
+            }
+            double opsPerSecond = runThreads(factory.apply(threadsCount), threadsCount, size);
+            if (results.isEmpty()) baselineOpsPerSecond = opsPerSecond;
+            results.add(new Result(name, threadsCount, size, opsPerSecond, opsPerSecond / baselineOpsPerSecond));
+        }
+        return results;
+    }
+
+    /**
+     * Measures the mean rank error of a queue on a single thread: the queue is filled with the keys 0 to `size - 1`
+     * in a random order then drained, and the rank error of a dequeue is the count of keys still in the queue
+     * that precede the dequeued one, 0 for a strict queue.
+     *
+     * @param queue An empty min queue
+     * @param size  The count of keys
+     * @return The mean rank error of the dequeues
+     */
+    public static double measureRankError(Queue queue, int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            int j = random.nextInt(i + 1);
+            keys[i] = keys[j];
+            keys[j] = i;
+        }
+        for (int key : keys) queue.enqueue(key);
+
+        // A Fenwick tree of the keys that are still in the queue, which counts the ones below a key in O(log n)
+        int[] tree = new int[size + 1];
+        for (int i = 1; i <= size; i++) {
+            tree[i]++;
+            int parent = i + (i & -i);
+            if (parent <= size) tree[parent] += tree[i];
+        }
+
+        long rankErrors = 0;
+        for (int i = 0; i < size; i++) {
+            int key = (int) queue.dequeue();
+            for (int j = key; j > 0; j -= j & -j) rankErrors += tree[j];
+            for (int j = key + 1; j <= size; j += j & -j) tree[j]--;
+        }
+        return (double) rankErrors / size;
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.util.Random;
+
+/**
+ * The shapes of the inputs that the sorts are benchmarked against.
+ * Each distribution generates the ranks of the keys, which are then mapped to the actual keys.
+ */
+public enum InputDistribution {
+    RANDOM {
+        @Override
+        public int[] generate(int length, Random random) {
+            int[] ranks = new int[length];
+            for (int i = 0; i < length; i++) ranks[i] = random.nextInt(length);
+            return ranks;
+        }
+    },
+    SORTED {
+        @Override
+        public int[] generate(int length, Random random) {
+            int[] ranks = new int[length];
+            for (int i = 0; i < length; i++) ranks[i] = i;
+            return ranks;
+        }
+    },
+    REVERSE_SORTED {
+        @Override
+        public int[] generate(int length, Random random) {
+            int[] ranks = new int[length];
+            for (int i = 0; i < length; i++) ranks[i] = length - i;
+            return ranks;
+        }
+    },
+    /**
+     * Only 8 distinct keys, like status codes
+     */
+    FEW_UNIQUE {
+        @Override
+        public int[] generate(int length, Random random) {
+            int[] ranks = new int[length];
+            for (int i = 0; i < length; i++) ranks[i] = random.nextInt(8);
+            return ranks;
+        }
+    },
+    /**
+     * 16 ascending runs of the same length
+     */
+    SAWTOOTH {
+        @Override
+        public int[] generate(int length, Random random) {
+            int[] ranks = new int[length];
+            int period = Math.max(1, length / 16);
+            for (int i = 0; i < length; i++) ranks[i] = i % period;
+            return ranks;
+        }
+    },
+    /**
+     * An ascending half followed by a descending half
+     */
+    ORGAN_PIPE {
+        @Override
+        public int[] generate(int length, Random random) {
+            int[] ranks = new int[length];
+            for (int i = 0; i < length; i++) ranks[i] = i < length / 2 ? i : length - i;
+            return ranks;
+        }
+    };
+
+    /**
+     * Generates the ranks of the keys of an input
+     *
+     * @param length The length of the input
+     * @param random The source of randomness
+     * @return The ranks
+     */
+    public abstract int[] generate(int length, Random random);
+}
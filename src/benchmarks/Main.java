@@ -0,0 +1,565 @@
+package benchmarks;
+
+import priorityqueue.BinaryHeapArrayPriorityQueue;
+import priorityqueue.BinaryHeapListPriorityQueue;
+import priorityqueue.DaryHeapArrayPriorityQueue;
+import priorityqueue.DaryHeapPriorityQueue;
+import priorityqueue.FibonacciHeapPriorityQueue;
+import priorityqueue.IndexedBinaryHeapPriorityQueue;
+import priorityqueue.PairingHeapPriorityQueue;
+import priorityqueue.concurrent.MultiQueue;
+import priorityqueue.concurrent.SkipListPriorityQueue;
+import sortingalgorithms.AdaptiveSort;
+import sortingalgorithms.BubbleSort;
+import sortingalgorithms.HeapSort;
+import sortingalgorithms.InsertionSort;
+import sortingalgorithms.MergeSort;
+import sortingalgorithms.MsdRadixSort;
+import sortingalgorithms.MultikeyQuickSort;
+import sortingalgorithms.ParallelMergeSort;
+import sortingalgorithms.QuickSort;
+import sortingalgorithms.SampleSort;
+import sortingalgorithms.SelectionSort;
+import sortingalgorithms.SortAlgoStrategy;
+import sortingalgorithms.ThreeWayQuickSort;
+import sortingalgorithms.TimSort;
+import utils.orderingstrategy.MaxOrdering;
+import utils.orderingstrategy.MinOrdering;
+import utils.orderingstrategy.PrimitiveMinOrdering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Benchmarks every sort strategy against every input distribution, from 10^2 items up to a chosen power of 10,
+ * with both the {@link MinOrdering} and the {@link MaxOrdering}.
+ * The quadratic sorts stop at 10^4 items.
+ * <p>
+ * It also benchmarks the priority queues against the {@link PriorityQueueBenchmark.Workload}s,
+ * and the concurrent priority queues under contention.
+ * Finally, it benchmarks the ordering strategies through the sorts.
+ */
+public class Main {
+    public static Scanner sc = new Scanner(System.in);
+
+    /**
+     * Quadratic sorts are not benchmarked beyond this length
+     */
+    private static final int QUADRATIC_MAX_LENGTH = 10_000;
+
+    /**
+     * The count of edges from each vertex of the graphs of the Dijkstra workload
+     */
+    private static final int GRAPH_DEGREE = 16;
+
+    /**
+     * The count of keys that the concurrent priority queues are filled with
+     */
+    private static final int CONCURRENT_QUEUE_SIZE = 100_000;
+
+    /**
+     * A sort strategy to benchmark
+     *
+     * @param name      The name of the strategy
+     * @param factory   Creates the strategy
+     * @param maxLength The length above which the strategy is not benchmarked
+     * @param <T>       The type of the items
+     */
+    public record Candidate<T extends Comparable<T>>(String name, Supplier<SortAlgoStrategy<T>> factory, int maxLength) {
+    }
+
+    /**
+     * Gets the sort strategies that work with any type of items
+     */
+    public static <T extends Comparable<T>> List<Candidate<T>> getCandidates() {
+        List<Candidate<T>> candidates = new ArrayList<>();
+        candidates.add(new Candidate<>("Bubble sort", BubbleSort::new, QUADRATIC_MAX_LENGTH));
+        candidates.add(new Candidate<>("Selection sort", SelectionSort::new, QUADRATIC_MAX_LENGTH));
+        candidates.add(new Candidate<>("Insertion sort", InsertionSort::new, QUADRATIC_MAX_LENGTH));
+        candidates.add(new Candidate<>("Merge sort", MergeSort::new, Integer.MAX_VALUE));
+        candidates.add(new Candidate<>("Quick sort", QuickSort::new, QUADRATIC_MAX_LENGTH));
+        candidates.add(new Candidate<T>("Introsort", () -> new QuickSort<>(QuickSort.Mode.INTROSORT), Integer.MAX_VALUE));
+        candidates.add(new Candidate<>("Heap sort", HeapSort::new, Integer.MAX_VALUE));
+        candidates.add(new Candidate<>("Parallel merge sort", ParallelMergeSort::new, Integer.MAX_VALUE));
+        candidates.add(new Candidate<>("Three-way quick sort", ThreeWayQuickSort::new, Integer.MAX_VALUE));
+        candidates.add(new Candidate<>("TimSort", TimSort::new, Integer.MAX_VALUE));
+        candidates.add(new Candidate<>("Sample sort", SampleSort::new, Integer.MAX_VALUE));
+        candidates.add(new Candidate<>("Adaptive", AdaptiveSort::new, Integer.MAX_VALUE));
+        return candidates;
+    }
+
+    /**
+     * Gets the sort strategies that work with String keys, ie the ones of {@link #getCandidates()} and the String sorts
+     */
+    public static List<Candidate<String>> getStringCandidates() {
+        List<Candidate<String>> candidates = getCandidates();
+        candidates.add(new Candidate<>("MSD radix sort", MsdRadixSort::new, Integer.MAX_VALUE));
+        candidates.add(new Candidate<>("Multikey quick sort", MultikeyQuickSort::new, Integer.MAX_VALUE));
+        return candidates;
+    }
+
+    /**
+     * A priority queue to benchmark
+     *
+     * @param name    The name of the queue
+     * @param factory Creates an empty min queue
+     */
+    public record QueueCandidate(String name, Supplier<PriorityQueueBenchmark.Queue> factory) {
+    }
+
+    /**
+     * Wraps a generic queue of boxed keys, eg a {@link DaryHeapPriorityQueue}
+     */
+    private static <Q> PriorityQueueBenchmark.Queue of(Q queue, BiConsumer<Q, Double> enqueue, ToDoubleFunction<Q> dequeue) {
+        return new PriorityQueueBenchmark.Queue() {
+            @Override
+            public void enqueue(double key) {
+                enqueue.accept(queue, key);
+            }
+
+            @Override
+            public double dequeue() {
+                return dequeue.applyAsDouble(queue);
+            }
+        };
+    }
+
+    /**
+     * Gets the min priority queues, binary and d-ary, with boxed keys then with primitive keys
+     */
+    public static List<QueueCandidate> getQueueCandidates() {
+        List<QueueCandidate> candidates = new ArrayList<>();
+        candidates.add(new QueueCandidate("Binary heap (list)", () -> {
+            BinaryHeapListPriorityQueue<Double> queue = new BinaryHeapListPriorityQueue<>();
+            queue.setOrderingStrategy(new MinOrdering<>());
+            return of(queue, BinaryHeapListPriorityQueue::enqueue, BinaryHeapListPriorityQueue::dequeue);
+        }));
+        for (int arity : new int[]{2, 4, 8}) {
+            candidates.add(new QueueCandidate(arity + "-ary heap", () -> of(
+                    new DaryHeapPriorityQueue<Double>(arity, new MinOrdering<>()),
+                    DaryHeapPriorityQueue::enqueue,
+                    DaryHeapPriorityQueue::dequeue
+            )));
+        }
+        candidates.add(new QueueCandidate("Binary heap (double)", () -> {
+            BinaryHeapArrayPriorityQueue queue = new BinaryHeapArrayPriorityQueue(
+                    BinaryHeapArrayPriorityQueue.DEFAULT_INITIAL_CAPACITY,
+                    new PrimitiveMinOrdering()
+            );
+            return of(queue, BinaryHeapArrayPriorityQueue::enqueue, BinaryHeapArrayPriorityQueue::dequeue);
+        }));
+        for (int arity : new int[]{2, 4, 8}) {
+            candidates.add(new QueueCandidate(arity + "-ary heap (double)", () -> {
+                DaryHeapArrayPriorityQueue queue = new DaryHeapArrayPriorityQueue(
+                        arity,
+                        DaryHeapArrayPriorityQueue.DEFAULT_INITIAL_CAPACITY,
+                        new PrimitiveMinOrdering()
+                );
+                return of(queue, DaryHeapArrayPriorityQueue::enqueue, DaryHeapArrayPriorityQueue::dequeue);
+            }));
+        }
+        candidates.add(new QueueCandidate("Pairing heap", () -> of(
+                new PairingHeapPriorityQueue(new PrimitiveMinOrdering()),
+                (queue, key) -> queue.enqueue(key, 0),
+                queue -> {
+                    double key = queue.peekKey();
+                    queue.dequeue();
+                    return key;
+                }
+        )));
+        candidates.add(new QueueCandidate("Fibonacci heap", () -> of(
+                new FibonacciHeapPriorityQueue(new PrimitiveMinOrdering()),
+                (queue, key) -> queue.enqueue(key, 0),
+                queue -> {
+                    double key = queue.peekKey();
+                    queue.dequeue();
+                    return key;
+                }
+        )));
+        return candidates;
+    }
+
+    /**
+     * A priority queue with decrease-keys to benchmark
+     *
+     * @param name    The name of the queue
+     * @param factory Creates an empty queue for the given count of vertices
+     */
+    public record AddressableQueueCandidate(String name, IntFunction<PriorityQueueBenchmark.AddressableQueue> factory) {
+    }
+
+    /**
+     * Gets the min priority queues that the Dijkstra's algorithm can run on
+     */
+    public static List<AddressableQueueCandidate> getAddressableQueueCandidates() {
+        List<AddressableQueueCandidate> candidates = new ArrayList<>();
+        candidates.add(new AddressableQueueCandidate("Binary heap (indexed)", verticesCount -> {
+            IndexedBinaryHeapPriorityQueue queue = new IndexedBinaryHeapPriorityQueue(verticesCount, new PrimitiveMinOrdering());
+            return new PriorityQueueBenchmark.AddressableQueue() {
+                @Override
+                public void enqueue(int vertex, double key) {
+                    queue.enqueue(vertex, key);
+                }
+
+                @Override
+                public int dequeue() {
+                    return queue.dequeue();
+                }
+
+                @Override
+                public void decreaseKey(int vertex, double key) {
+                    queue.decreaseKey(vertex, key);
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return queue.isEmpty();
+                }
+            };
+        }));
+        // Without decrease-keys: the vertices are enqueued again and their outdated entries are skipped
+        candidates.add(new AddressableQueueCandidate("Binary heap (lazy)", verticesCount -> {
+            BinaryHeapArrayPriorityQueue queue = new BinaryHeapArrayPriorityQueue(verticesCount, new PrimitiveMinOrdering());
+            boolean[] isDequeued = new boolean[verticesCount];
+            return new PriorityQueueBenchmark.AddressableQueue() {
+                @Override
+                public void enqueue(int vertex, double key) {
+                    queue.enqueue(key, vertex);
+                }
+
+                @Override
+                public int dequeue() {
+                    int vertex = (int) queue.peekPayload();
+                    queue.dequeue();
+                    isDequeued[vertex] = true;
+                    return vertex;
+                }
+
+                @Override
+                public void decreaseKey(int vertex, double key) {
+                    queue.enqueue(key, vertex);
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    while (!queue.isEmpty() && isDequeued[(int) queue.peekPayload()]) queue.dequeue();
+                    return queue.isEmpty();
+                }
+            };
+        }));
+        candidates.add(new AddressableQueueCandidate("Pairing heap", verticesCount -> {
+            PairingHeapPriorityQueue queue = new PairingHeapPriorityQueue(new PrimitiveMinOrdering());
+            PairingHeapPriorityQueue.Node[] nodes = new PairingHeapPriorityQueue.Node[verticesCount];
+            return new PriorityQueueBenchmark.AddressableQueue() {
+                @Override
+                public void enqueue(int vertex, double key) {
+                    nodes[vertex] = queue.enqueue(key, vertex);
+                }
+
+                @Override
+                public int dequeue() {
+                    return (int) queue.dequeue();
+                }
+
+                @Override
+                public void decreaseKey(int vertex, double key) {
+                    queue.decreaseKey(nodes[vertex], key);
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return queue.isEmpty();
+                }
+            };
+        }));
+        candidates.add(new AddressableQueueCandidate("Fibonacci heap", verticesCount -> {
+            FibonacciHeapPriorityQueue queue = new FibonacciHeapPriorityQueue(new PrimitiveMinOrdering());
+            FibonacciHeapPriorityQueue.Node[] nodes = new FibonacciHeapPriorityQueue.Node[verticesCount];
+            return new PriorityQueueBenchmark.AddressableQueue() {
+                @Override
+                public void enqueue(int vertex, double key) {
+                    nodes[vertex] = queue.enqueue(key, vertex);
+                }
+
+                @Override
+                public int dequeue() {
+                    return (int) queue.dequeue();
+                }
+
+                @Override
+                public void decreaseKey(int vertex, double key) {
+                    queue.decreaseKey(nodes[vertex], key);
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return queue.isEmpty();
+                }
+            };
+        }));
+        return candidates;
+    }
+
+    /**
+     * A concurrent priority queue to benchmark
+     *
+     * @param name    The name of the queue
+     * @param factory Creates an empty min queue for the given count of threads
+     */
+    public record ConcurrentQueueCandidate(String name, IntFunction<ConcurrentPriorityQueueBenchmark.Queue> factory) {
+    }
+
+    /**
+     * Gets the concurrent min priority queues, along with a binary heap behind a single lock as the baseline
+     */
+    public static List<ConcurrentQueueCandidate> getConcurrentQueueCandidates() {
+        List<ConcurrentQueueCandidate> candidates = new ArrayList<>();
+        candidates.add(new ConcurrentQueueCandidate("Locked binary heap", threadsCount -> {
+            BinaryHeapListPriorityQueue<Long> queue = new BinaryHeapListPriorityQueue<>();
+            queue.setOrderingStrategy(new MinOrdering<>());
+            ReentrantLock lock = new ReentrantLock();
+            return new ConcurrentPriorityQueueBenchmark.Queue() {
+                @Override
+                public void enqueue(long key) {
+                    lock.lock();
+                    try {
+                        queue.enqueue(key);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+
+                @Override
+                public long dequeue() {
+                    lock.lock();
+                    try {
+                        return queue.isEmpty() ? -1 : queue.dequeue();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            };
+        }));
+        candidates.add(new ConcurrentQueueCandidate("Skip list", threadsCount -> {
+            SkipListPriorityQueue<Long> queue = new SkipListPriorityQueue<Long>(new MinOrdering<>());
+            return new ConcurrentPriorityQueueBenchmark.Queue() {
+                @Override
+                public void enqueue(long key) {
+                    queue.enqueue(key);
+                }
+
+                @Override
+                public long dequeue() {
+                    Long key = queue.dequeue();
+                    return key == null ? -1 : key;
+                }
+            };
+        }));
+        for (int heapsPerThread : new int[]{2, 4}) {
+            candidates.add(new ConcurrentQueueCandidate("MultiQueue (c=" + heapsPerThread + ")", threadsCount -> {
+                MultiQueue<Long> queue = new MultiQueue<Long>(heapsPerThread, threadsCount, new MinOrdering<>());
+                return new ConcurrentPriorityQueueBenchmark.Queue() {
+                    @Override
+                    public void enqueue(long key) {
+                        queue.enqueue(key);
+                    }
+
+                    @Override
+                    public long dequeue() {
+                        Long key = queue.dequeue();
+                        return key == null ? -1 : key;
+                    }
+                };
+            }));
+        }
+        return candidates;
+    }
+
+    public static void main(String[] args) {
+        int benchmarkChoice;
+        do {
+            System.out.print("""
+                    What should be benchmarked?
+                    1- Sort strategies
+                    2- Priority queues
+                    3- Concurrent priority queues
+                    4- Ordering strategies
+                    Your choice:\s""");
+            benchmarkChoice = sc.nextInt();
+        } while (benchmarkChoice < 1 || benchmarkChoice > 4);
+        sc.nextLine();
+        System.out.println();
+
+        if (benchmarkChoice == 1) sortBenchmarks();
+        else if (benchmarkChoice == 2) priorityQueueBenchmarks();
+        else if (benchmarkChoice == 3) concurrentPriorityQueueBenchmarks();
+        else orderingBenchmarks();
+    }
+
+    public static void sortBenchmarks() {
+        String keyType;
+        do {
+            System.out.print("""
+                    What keys should be benchmarked?
+                    a- Integer
+                    b- String
+                    c- Both
+                    Your choice:\s""");
+            keyType = sc.nextLine();
+        } while (!keyType.equals("a") && !keyType.equals("b") && !keyType.equals("c"));
+        System.out.println();
+
+        int maxExponent;
+        do {
+            System.out.print("Largest input length as a power of 10 (2 to 7): ");
+            maxExponent = sc.nextInt();
+        } while (maxExponent < 2 || maxExponent > 7);
+        System.out.println();
+
+        SortBenchmark benchmark = new SortBenchmark();
+        if (!keyType.equals("b")) {
+            System.out.println("Integer keys");
+            run(benchmark, Main.<Integer>getCandidates(), maxExponent, Integer[]::new, rank -> rank);
+            System.out.println();
+        }
+        if (!keyType.equals("a")) {
+            System.out.println("String keys");
+            // The keys share a long prefix, like URLs do
+            run(benchmark, getStringCandidates(), maxExponent, String[]::new, rank -> String.format("https://example.com/items/%010d", rank));
+        }
+    }
+
+    /**
+     * Benchmarks every priority queue against every workload, from 10^3 keys up to a chosen power of 10.
+     * The Dijkstra workload runs on the queues that support decrease-keys, over graphs of as many vertices.
+     */
+    public static void priorityQueueBenchmarks() {
+        int maxExponent;
+        do {
+            System.out.print("Largest queue size as a power of 10 (3 to 7): ");
+            maxExponent = sc.nextInt();
+        } while (maxExponent < 3 || maxExponent > 7);
+        System.out.println();
+
+        PriorityQueueBenchmark benchmark = new PriorityQueueBenchmark();
+        Random random = new Random(42);
+        List<QueueCandidate> candidates = getQueueCandidates();
+        System.out.println(PriorityQueueBenchmark.Result.HEADER);
+
+        for (int size = 1000, exponent = 3; exponent <= maxExponent; size *= 10, exponent++) {
+            double[] keys = new double[size];
+            for (int i = 0; i < size; i++) keys[i] = random.nextDouble() * size;
+
+            for (PriorityQueueBenchmark.Workload workload : PriorityQueueBenchmark.Workload.values()) {
+                if (workload == PriorityQueueBenchmark.Workload.DIJKSTRA) continue;
+                for (QueueCandidate candidate : candidates) {
+                    System.out.println(benchmark.run(candidate.name(), candidate.factory(), workload, keys));
+                }
+            }
+
+            PriorityQueueBenchmark.Graph graph = PriorityQueueBenchmark.Graph.random(size, GRAPH_DEGREE, random);
+            for (AddressableQueueCandidate candidate : getAddressableQueueCandidates()) {
+                System.out.println(benchmark.runDijkstra(candidate.name(), candidate.factory(), graph));
+            }
+        }
+    }
+
+    /**
+     * Benchmarks every concurrent priority queue from 1 thread up to a chosen power of 2,
+     * then measures the rank error of each one for the largest count of threads
+     */
+    public static void concurrentPriorityQueueBenchmarks() {
+        int maxExponent;
+        do {
+            System.out.print("Largest count of threads as a power of 2 (0 to 7): ");
+            maxExponent = sc.nextInt();
+        } while (maxExponent < 0 || maxExponent > 7);
+        System.out.println();
+
+        int[] threadsCounts = new int[maxExponent + 1];
+        for (int exponent = 0; exponent <= maxExponent; exponent++) threadsCounts[exponent] = 1 << exponent;
+
+        ConcurrentPriorityQueueBenchmark benchmark = new ConcurrentPriorityQueueBenchmark();
+        List<ConcurrentQueueCandidate> candidates = getConcurrentQueueCandidates();
+        System.out.println(ConcurrentPriorityQueueBenchmark.Result.HEADER);
+        for (ConcurrentQueueCandidate candidate : candidates) {
+            for (ConcurrentPriorityQueueBenchmark.Result result : benchmark.run(candidate.name(), candidate.factory(), threadsCounts, CONCURRENT_QUEUE_SIZE)) {
+                System.out.println(result);
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-22s %16s%n", "Queue", "Mean rank error");
+        for (ConcurrentQueueCandidate candidate : candidates) {
+            ConcurrentPriorityQueueBenchmark.Queue queue = candidate.factory().apply(threadsCounts[maxExponent]);
+            double rankError = ConcurrentPriorityQueueBenchmark.measureRankError(queue, CONCURRENT_QUEUE_SIZE);
+            System.out.printf("%-22s %16.2f%n", candidate.name(), rankError);
+        }
+    }
+
+    /**
+     * Benchmarks the ordering strategies through the sorts with a natural fast path, and TimSort which has none,
+     * for an input of a chosen power of 10
+     */
+    public static void orderingBenchmarks() {
+        int exponent;
+        do {
+            System.out.print("Input length as a power of 10 (3 to 7): ");
+            exponent = sc.nextInt();
+        } while (exponent < 3 || exponent > 7);
+        System.out.println();
+
+        int length = (int) Math.pow(10, exponent);
+        OrderingBenchmark benchmark = new OrderingBenchmark();
+        List<String> names = List.of("Merge sort", "Introsort", "Sample sort", "TimSort");
+
+        System.out.println("Integer keys, with megamorphic orderings");
+        System.out.println(OrderingBenchmark.Result.HEADER);
+        List<Candidate<Integer>> candidates = Main.<Integer>getCandidates();
+        candidates.removeIf(candidate -> !names.contains(candidate.name()));
+        for (OrderingBenchmark.Result result : benchmark.runOrderings(candidates, length)) System.out.println(result);
+        System.out.println();
+
+        System.out.println("Rows sorted by 2 columns");
+        System.out.println(OrderingBenchmark.Result.HEADER);
+        List<Candidate<OrderingBenchmark.Row>> rowCandidates = Main.<OrderingBenchmark.Row>getCandidates();
+        rowCandidates.removeIf(candidate -> !names.contains(candidate.name()));
+        for (OrderingBenchmark.Result result : benchmark.runColumns(rowCandidates, length)) System.out.println(result);
+    }
+
+    /**
+     * Runs the benchmarks of the candidates for all the distributions, lengths and orderings then prints their results.
+     */
+    private static <T extends Comparable<T>> void run(
+            SortBenchmark benchmark,
+            List<Candidate<T>> candidates,
+            int maxExponent,
+            IntFunction<T[]> arrayFactory,
+            IntFunction<T> keyFactory
+    ) {
+        Random random = new Random(42);
+        System.out.println(SortBenchmark.Result.HEADER);
+
+        for (int length = 100, exponent = 2; exponent <= maxExponent; length *= 10, exponent++) {
+            for (InputDistribution distribution : InputDistribution.values()) {
+                int[] ranks = distribution.generate(length, random);
+                T[] input = arrayFactory.apply(length);
+                for (int i = 0; i < length; i++) input[i] = keyFactory.apply(ranks[i]);
+
+                for (Candidate<T> candidate : candidates) {
+                    if (length > candidate.maxLength()) continue;
+                    SortAlgoStrategy<T> strategy = candidate.factory().get();
+                    System.out.println(benchmark.run(candidate.name(), strategy, input, distribution, new MinOrdering<>(), "Min"));
+                    System.out.println(benchmark.run(candidate.name(), strategy, input, distribution, new MaxOrdering<>(), "Max"));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package benchmarks;
+
+import sortingalgorithms.SortAlgoStrategy;
+import utils.orderingstrategy.ComparatorOrdering;
+import utils.orderingstrategy.MinOrdering;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+/**
+ * Benchmarks the ordering strategies rather than the sorts:
+ * <ul>
+ *     <li>The same random keys are sorted through the {@link MinOrdering}, which the sorts with a natural fast path
+ *     compare directly, through a {@link ComparatorOrdering} and through a lambda that only tells the precedence.
+ *     Every ordering runs through every sort before any measurement, so that the call sites of the orderings
+ *     are megamorphic, like in an application that sorts with several orderings.</li>
+ *     <li>Rows are sorted by 2 columns chained with {@link SortOrderingStrategy#thenComparing(SortOrderingStrategy)},
+ *     once with columns that only tell the precedence, whose derived three-way comparison compares twice
+ *     the keys of the ties, and once with columns that compare three-way.
+ *     The key comparisons are counted inside the columns.</li>
+ * </ul>
+ */
+public class OrderingBenchmark {
+    /**
+     * The outcome of a benchmark
+     *
+     * @param strategy              The name of the sort strategy
+     * @param ordering              The name of the ordering strategy
+     * @param length                The length of the input
+     * @param nanosPerItem          The time per sorted item
+     * @param comparisonsPerItem    The count of comparisons made through the ordering strategy per sorted item
+     * @param keyComparisonsPerItem The count of key comparisons made by the columns per sorted item, 0 without columns
+     */
+    public record Result(
+            String strategy,
+            String ordering,
+            int length,
+            double nanosPerItem,
+            double comparisonsPerItem,
+            double keyComparisonsPerItem
+    ) {
+        public static final String HEADER = String.format(
+                "%-22s %-12s %10s %10s %14s %18s",
+                "Strategy", "Ordering", "Length", "ns/item", "comparisons/i", "key comparisons/i"
+        );
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%-22s %-12s %10d %10.2f %14.2f %18.2f",
+                    strategy, ordering, length, nanosPerItem, comparisonsPerItem, keyComparisonsPerItem
+            );
+        }
+    }
+
+    /**
+     * A row of 2 columns, the first one having only a few distinct values so that the second one breaks many ties
+     */
+    public record Row(int status, int id) implements Comparable<Row> {
+        @Override
+        public int compareTo(Row other) {
+            int comparison = Integer.compare(status, other.status);
+            return comparison != 0 ? comparison : Integer.compare(id, other.id);
+        }
+    }
+
+    /**
+     * A column of the rows that counts the comparisons of its keys
+     */
+    private static final class Column implements SortOrderingStrategy<Row> {
+        private final ToIntFunction<Row> keyExtractor;
+
+        private final boolean isThreeWay;
+
+        private long keyComparisonsCount;
+
+        Column(ToIntFunction<Row> keyExtractor, boolean isThreeWay) {
+            this.keyExtractor = keyExtractor;
+            this.isThreeWay = isThreeWay;
+        }
+
+        @Override
+        public boolean shouldPrecede(Row current, Row other) {
+            keyComparisonsCount++;
+            return keyExtractor.applyAsInt(current) < keyExtractor.applyAsInt(other);
+        }
+
+        @Override
+        public int compare(Row current, Row other) {
+            if (!isThreeWay) return SortOrderingStrategy.super.compare(current, other);
+            keyComparisonsCount++;
+            return Integer.compare(keyExtractor.applyAsInt(current), keyExtractor.applyAsInt(other));
+        }
+    }
+
+    private final SortBenchmark benchmark;
+
+    public OrderingBenchmark() {
+        this(new SortBenchmark());
+    }
+
+    public OrderingBenchmark(SortBenchmark benchmark) {
+        this.benchmark = benchmark;
+    }
+
+    /**
+     * Benchmarks the sort strategies with the natural, comparator and precedence-only orderings of Integer keys
+     *
+     * @param candidates The sort strategies
+     * @param length     The length of the input
+     * @return The results, by sort strategy then by ordering
+     */
+    public List<Result> runOrderings(List<Main.Candidate<Integer>> candidates, int length) {
+        Random random = new Random(42);
+        Integer[] input = new Integer[length];
+        for (int i = 0; i < length; i++) input[i] = random.nextInt(length);
+
+        List<String> names = List.of("Natural", "Comparator", "Boolean");
+        List<SortOrderingStrategy<Integer>> orderings = List.of(
+                new MinOrdering<>(),
+                new ComparatorOrdering<Integer>(Comparator.naturalOrder()),
+                (current, other) -> current.compareTo(other) < 0
+        );
+
+        // Polluting the type profiles of the call sites before any measurement
+        for (Main.Candidate<Integer> candidate : candidates) {
+            SortAlgoStrategy<Integer> strategy = candidate.factory().get();
+            for (SortOrderingStrategy<Integer> ordering : orderings) {
+                for (int i = 0; i < 10; i++) strategy.sort(Arrays.copyOf(input, input.length), ordering);
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Main.Candidate<Integer> candidate : candidates) {
+            SortAlgoStrategy<Integer> strategy = candidate.factory().get();
+            for (int i = 0; i < orderings.size(); i++) {
+                SortBenchmark.Result result = benchmark.run(
+                        candidate.name(), strategy, input, InputDistribution.RANDOM, orderings.get(i), names.get(i)
+                );
+                results.add(new Result(
+                        candidate.name(),
+                        names.get(i),
+                        length,
+                        result.nanosPerItem(),
+                        (double) result.comparisonsPerOp() / length,
+                        0
+                ));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Benchmarks the sort strategies with the precedence-only and the three-way columns of rows
+     *
+     * @param candidates The sort strategies
+     * @param length     The length of the input
+     * @return The results, by sort strategy then by kind of columns
+     */
+    public List<Result> runColumns(List<Main.Candidate<Row>> candidates, int length) {
+        Random random = new Random(42);
+        Row[] input = new Row[length];
+        for (int i = 0; i < length; i++) input[i] = new Row(random.nextInt(8), random.nextInt(length));
+
+        List<Result> results = new ArrayList<>();
+        for (Main.Candidate<Row> candidate : candidates) {
+            SortAlgoStrategy<Row> strategy = candidate.factory().get();
+            for (boolean isThreeWay : new boolean[]{false, true}) {
+                String name = isThreeWay ? "Three-way" : "Boolean";
+                Column status = new Column(Row::status, isThreeWay), id = new Column(Row::id, isThreeWay);
+                SortOrderingStrategy<Row> ordering = status.thenComparing(id);
+
+                SortBenchmark.Result result = benchmark.run(
+                        candidate.name(), strategy, input, InputDistribution.RANDOM, ordering, name
+                );
+
+                // Counting the key comparisons of a single sort
+                status.keyComparisonsCount = id.keyComparisonsCount = 0;
+                strategy.sort(Arrays.copyOf(input, input.length), ordering);
+                long keyComparisons = status.keyComparisonsCount + id.keyComparisonsCount;
+
+                results.add(new Result(
+                        candidate.name(),
+                        name,
+                        length,
+                        result.nanosPerItem(),
+                        (double) result.comparisonsPerOp() / length,
+                        (double) keyComparisons / length
+                ));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,256 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Runs a priority queue against a workload the same way the {@link SortBenchmark} runs a sort:
+ * warmup iterations first, then timed iterations on fresh queues, whose creation and filling are not timed.
+ */
+public class PriorityQueueBenchmark {
+    /**
+     * The priority queue operations that the benchmark needs, whatever the queue implementation is
+     */
+    public interface Queue {
+        void enqueue(double key);
+
+        double dequeue();
+    }
+
+    /**
+     * The priority queue operations of the Dijkstra's algorithm, whose entries are the vertices
+     */
+    public interface AddressableQueue {
+        void enqueue(int vertex, double key);
+
+        /**
+         * Dequeues the vertex that has the least key
+         */
+        int dequeue();
+
+        /**
+         * Lowers the key of an enqueued vertex
+         */
+        void decreaseKey(int vertex, double key);
+
+        boolean isEmpty();
+    }
+
+    /**
+     * A directed graph in compressed sparse rows: the edges from the vertex v are the indices
+     * `offsets[v]` to `offsets[v + 1]` (exclusive) of the targets and the weights.
+     *
+     * @param offsets The offsets of the edges of each vertex, plus the total count of edges
+     * @param targets The target vertex of each edge
+     * @param weights The weight of each edge
+     */
+    public record Graph(int[] offsets, int[] targets, double[] weights) {
+        public int getVerticesCount() {
+            return offsets.length - 1;
+        }
+
+        /**
+         * Generates a graph whose edges have random targets and weights, along with a cycle through all the vertices
+         * so that every vertex is reachable from the vertex 0
+         *
+         * @param verticesCount The count of vertices
+         * @param degree        The count of edges from each vertex
+         * @param random        The random generator
+         * @return The graph
+         */
+        public static Graph random(int verticesCount, int degree, Random random) {
+            int[] offsets = new int[verticesCount + 1], targets = new int[verticesCount * degree];
+            double[] weights = new double[verticesCount * degree];
+            for (int v = 0, e = 0; v < verticesCount; v++) {
+                offsets[v] = e;
+                targets[e] = (v + 1) % verticesCount;
+                weights[e++] = random.nextDouble();
+                for (int i = 1; i < degree; i++, e++) {
+                    targets[e] = random.nextInt(verticesCount);
+                    weights[e] = random.nextDouble();
+                }
+            }
+            offsets[verticesCount] = targets.length;
+            return new Graph(offsets, targets, weights);
+        }
+    }
+
+    public enum Workload {
+        /**
+         * All the keys are enqueued then all of them are dequeued, like a heap sort
+         */
+        FILL_DRAIN,
+        /**
+         * The queue is filled with all the keys, then each timed operation dequeues the top key
+         * and enqueues it back pushed further by a random increment, like timers being rescheduled
+         */
+        HOLD,
+        /**
+         * The shortest paths from a vertex of a random graph, ie the vertices are enqueued when first reached,
+         * their keys are decreased whenever a shorter path is found and they are dequeued once settled
+         */
+        DIJKSTRA
+    }
+
+    /**
+     * The outcome of a benchmark
+     *
+     * @param queue        The name of the queue
+     * @param workload     The workload
+     * @param size         The count of keys, or of vertices for the Dijkstra workload
+     * @param opsPerSecond The count of queue operations per second
+     * @param nanosPerOp   The time per queue operation
+     */
+    public record Result(String queue, Workload workload, int size, double opsPerSecond, double nanosPerOp) {
+        public static final String HEADER = String.format(
+                "%-22s %-10s %10s %14s %10s",
+                "Queue", "Workload", "Size", "ops/s", "ns/op"
+        );
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %-10s %10d %14.2f %10.2f", queue, workload, size, opsPerSecond, nanosPerOp);
+        }
+    }
+
+    private final long warmupNanos;
+
+    private final long measurementNanos;
+
+    public PriorityQueueBenchmark() {
+        this(SortBenchmark.DEFAULT_WARMUP_NANOS, SortBenchmark.DEFAULT_MEASUREMENT_NANOS);
+    }
+
+    public PriorityQueueBenchmark(long warmupNanos, long measurementNanos) {
+        this.warmupNanos = warmupNanos;
+        this.measurementNanos = measurementNanos;
+    }
+
+    /**
+     * Runs one iteration of the workload
+     *
+     * @return The elapsed time of the timed part
+     */
+    private static long runIteration(Supplier<Queue> factory, Workload workload, double[] keys) {
+        Queue queue = factory.get();
+        long before;
+        if (workload == Workload.FILL_DRAIN) {
+            before = System.nanoTime();
+            for (double key : keys) queue.enqueue(key);
+            for (int i = 0; i < keys.length; i++) queue.dequeue();
+        } else {
+            for (double key : keys) queue.enqueue(key);
+            before = System.nanoTime();
+            // The keys double as the increments, which keeps the queue at the same size and shape
+            for (double increment : keys) queue.enqueue(queue.dequeue() + increment);
+        }
+        return System.nanoTime() - before;
+    }
+
+    /**
+     * Benchmarks a priority queue against a workload.
+     * Each iteration, be it a warmup or a timed one, runs the workload at least once, whatever the time budget.
+     *
+     * @param name     The name of the queue
+     * @param factory  Creates an empty queue
+     * @param workload The workload
+     * @param keys     The keys, which are all non-negative
+     * @return The result
+     */
+    public Result run(String name, Supplier<Queue> factory, Workload workload, double[] keys) {
+        if (workload == Workload.DIJKSTRA) {
+            throw new IllegalArgumentException("The Dijkstra workload runs on a graph");
+        }
+
+        // Warmup
+        long start = System.nanoTime();
+        do {
+            runIteration(factory, workload, keys);
+        } while (System.nanoTime() - start < warmupNanos);
+
+        // Measurement
+        long elapsedNanos = 0, operations = 0;
+        do {
+            elapsedNanos += runIteration(factory, workload, keys);
+            operations += 2L * keys.length;
+        } while (elapsedNanos < measurementNanos);
+
+        return new Result(
+                name,
+                workload,
+                keys.length,
+                operations * 1e9 / elapsedNanos,
+                (double) elapsedNanos / operations
+        );
+    }
+
+    /**
+     * Runs the Dijkstra's algorithm from the vertex 0
+     *
+     * @param queue The empty queue
+     * @param graph The graph
+     * @return The count of queue operations
+     */
+    private static long runDijkstra(AddressableQueue queue, Graph graph) {
+        int[] offsets = graph.offsets(), targets = graph.targets();
+        double[] weights = graph.weights(), distances = new double[graph.getVerticesCount()];
+        boolean[] isSettled = new boolean[distances.length];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        long operations = 1;
+        distances[0] = 0;
+        queue.enqueue(0, 0);
+        while (!queue.isEmpty()) {
+            int vertex = queue.dequeue();
+            isSettled[vertex] = true;
+            operations++;
+            for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+                int target = targets[e];
+                double distance = distances[vertex] + weights[e];
+                if (isSettled[target] || distance >= distances[target]) continue;
+                if (distances[target] == Double.POSITIVE_INFINITY) queue.enqueue(target, distance);
+                else queue.decreaseKey(target, distance);
+                distances[target] = distance;
+                operations++;
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Benchmarks an addressable priority queue against the {@link Workload#DIJKSTRA} workload
+     *
+     * @param name    The name of the queue
+     * @param factory Creates an empty queue for the given count of vertices
+     * @param graph   The graph
+     * @return The result, whose operations are the enqueues, the dequeues and the decrease-keys
+     */
+    public Result runDijkstra(String name, IntFunction<AddressableQueue> factory, Graph graph) {
+        int verticesCount = graph.getVerticesCount();
+
+        // Warmup
+        long start = System.nanoTime();
+        do {
+            runDijkstra(factory.apply(verticesCount), graph);
+        } while (System.nanoTime() - start < warmupNanos);
+
+        // Measurement, the creation of the queues is not timed
+        long elapsedNanos = 0, operations = 0;
+        do {
+            AddressableQueue queue = factory.apply(verticesCount);
+            long before = System.nanoTime();
+            operations += runDijkstra(queue, graph);
+            elapsedNanos += System.nanoTime() - before;
+        } while (elapsedNanos < measurementNanos);
+
+        return new Result(
+                name,
+                Workload.DIJKSTRA,
+                verticesCount,
+                operations * 1e9 / elapsedNanos,
+                (double) elapsedNanos / operations
+        );
+    }
+}
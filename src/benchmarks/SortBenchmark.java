@@ -0,0 +1,143 @@
+package benchmarks;
+
+import sortingalgorithms.SortAlgoStrategy;
+import utils.orderingstrategy.InstrumentedOrdering;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Runs a sort strategy against an input the way a JMH harness would:
+ * warmup iterations first so that the JIT compiles the sort, then timed iterations on fresh copies of the input.
+ * It reports the throughput, the bytes allocated by the sorting thread and the comparisons per sort.
+ */
+public class SortBenchmark {
+    /**
+     * The outcome of a benchmark
+     *
+     * @param strategy            The name of the sort strategy
+     * @param distribution        The distribution of the input
+     * @param length              The length of the input
+     * @param ordering            The name of the ordering strategy
+     * @param opsPerSecond        The count of sorts per second
+     * @param nanosPerItem        The time per sorted item
+     * @param allocatedBytesPerOp The bytes allocated by the sorting thread per sort, -1 if not supported by the JVM
+     * @param comparisonsPerOp    The count of comparisons per sort
+     * @param failure             The error that interrupted the sort if any
+     */
+    public record Result(
+            String strategy,
+            InputDistribution distribution,
+            int length,
+            String ordering,
+            double opsPerSecond,
+            double nanosPerItem,
+            long allocatedBytesPerOp,
+            long comparisonsPerOp,
+            String failure
+    ) {
+        public static final String HEADER = String.format(
+                "%-22s %-15s %10s %-4s %14s %10s %14s %16s",
+                "Strategy", "Distribution", "Length", "Ord", "ops/s", "ns/item", "B/op", "comparisons/op"
+        );
+
+        @Override
+        public String toString() {
+            if (failure != null) {
+                return String.format("%-22s %-15s %10d %-4s %s", strategy, distribution, length, ordering, failure);
+            }
+            return String.format(
+                    "%-22s %-15s %10d %-4s %14.2f %10.2f %14d %16d",
+                    strategy, distribution, length, ordering, opsPerSecond, nanosPerItem, allocatedBytesPerOp, comparisonsPerOp
+            );
+        }
+    }
+
+    public static final long DEFAULT_WARMUP_NANOS = 200_000_000L;
+
+    public static final long DEFAULT_MEASUREMENT_NANOS = 500_000_000L;
+
+    private final long warmupNanos;
+
+    private final long measurementNanos;
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    public SortBenchmark() {
+        this(DEFAULT_WARMUP_NANOS, DEFAULT_MEASUREMENT_NANOS);
+    }
+
+    public SortBenchmark(long warmupNanos, long measurementNanos) {
+        this.warmupNanos = warmupNanos;
+        this.measurementNanos = measurementNanos;
+        this.threadMXBean = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()
+                ? bean
+                : null;
+        if (threadMXBean != null) threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private long getAllocatedBytes() {
+        return threadMXBean == null ? 0 : threadMXBean.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Benchmarks a sort strategy against an input, which is left untouched.
+     * Each iteration, be it a warmup or a timed one, sorts at least once, whatever the time budget.
+     *
+     * @param name         The name of the sort strategy
+     * @param strategy     The sort strategy
+     * @param input        The input
+     * @param distribution The distribution of the input
+     * @param ordering     The ordering strategy
+     * @param orderingName The name of the ordering strategy
+     * @param <T>          The type of the items
+     * @return The result
+     */
+    public <T extends Comparable<T>> Result run(
+            String name,
+            SortAlgoStrategy<T> strategy,
+            T[] input,
+            InputDistribution distribution,
+            SortOrderingStrategy<T> ordering,
+            String orderingName
+    ) {
+        try {
+            // Counting the comparisons in a separate run since the sorts compare the natural orderings directly otherwise
+            InstrumentedOrdering<T> instrumentedOrdering = new InstrumentedOrdering<>(ordering);
+            strategy.sort(Arrays.copyOf(input, input.length), instrumentedOrdering);
+
+            // Warmup
+            long start = System.nanoTime();
+            do {
+                strategy.sort(Arrays.copyOf(input, input.length), ordering);
+            } while (System.nanoTime() - start < warmupNanos);
+
+            // Measurement, the copies of the input are neither timed nor counted as allocations
+            long elapsedNanos = 0, allocatedBytes = 0, operations = 0;
+            do {
+                T[] copy = Arrays.copyOf(input, input.length);
+                long allocatedBefore = getAllocatedBytes(), before = System.nanoTime();
+                strategy.sort(copy, ordering);
+                elapsedNanos += System.nanoTime() - before;
+                allocatedBytes += getAllocatedBytes() - allocatedBefore;
+                operations++;
+            } while (elapsedNanos < measurementNanos);
+
+            return new Result(
+                    name,
+                    distribution,
+                    input.length,
+                    orderingName,
+                    operations * 1e9 / elapsedNanos,
+                    (double) elapsedNanos / operations / Math.max(1, input.length),
+                    threadMXBean == null ? -1 : allocatedBytes / operations,
+                    instrumentedOrdering.getComparisonsCount(),
+                    null
+            );
+        } catch (StackOverflowError e) {
+            return new Result(name, distribution, input.length, orderingName, 0, 0, 0, 0, "stack overflow");
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package graph;
 
-import priorityqueue.BinaryHeapListPriorityQueue;
+import priorityqueue.IndexedBinaryHeapPriorityQueue;
 import queue.LinkedListQueue;
 import stack.LinkedListStack;
-import utils.orderingstrategy.MinOrdering;
+import utils.orderingstrategy.PrimitiveMinOrdering;
 
 import java.util.*;
 
@@ -330,14 +330,13 @@ public class AdjacencyListGraph<TKey, TVertex> {
             paths[i] = new ShortestPathProgress(i, prevVertexIndex, compoundWeight);
         }
 
-        // Priority queue of the shortest paths' progress ordered by the least compound weights of the paths
-        BinaryHeapListPriorityQueue<ShortestPathProgress> toExplore = new BinaryHeapListPriorityQueue<>(
-                new ArrayList<>(Arrays.asList(paths)),
-                new MinOrdering<>()
-        );
+        // Indexed priority queue of the vertices indices ordered by the least compound weights of their paths,
+        // which finds a vertex in O(1) when its path gets shorter
+        IndexedBinaryHeapPriorityQueue toExplore = new IndexedBinaryHeapPriorityQueue(size, new PrimitiveMinOrdering());
+        for (ShortestPathProgress path : paths) toExplore.enqueue(path.vertexIndex, path.compoundWeight);
 
         while (!toExplore.isEmpty()) {
-            ShortestPathProgress currentPath = toExplore.dequeue();
+            ShortestPathProgress currentPath = paths[toExplore.dequeue()];
             included[currentPath.vertexIndex] = true;
 
             for (ListEdge edge : lists.get(currentPath.vertexIndex)) {
@@ -350,7 +349,7 @@ public class AdjacencyListGraph<TKey, TVertex> {
                 if (adjPath.compoundWeight > compoundWeightFromCurrentPath) {
                     adjPath.compoundWeight = compoundWeightFromCurrentPath;
                     adjPath.prevVertexIndex = currentPath.vertexIndex;
-                    toExplore.changePriority(adjPath, true);
+                    toExplore.decreaseKey(adjPath.vertexIndex, compoundWeightFromCurrentPath);
                 }
             }
         }
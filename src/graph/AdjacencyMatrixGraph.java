@@ -1,9 +1,9 @@
 package graph;
 
-import priorityqueue.BinaryHeapListPriorityQueue;
+import priorityqueue.IndexedBinaryHeapPriorityQueue;
 import queue.LinkedListQueue;
 import stack.LinkedListStack;
-import utils.orderingstrategy.MinOrdering;
+import utils.orderingstrategy.PrimitiveMinOrdering;
 
 import java.util.*;
 
@@ -321,15 +321,13 @@ public class AdjacencyMatrixGraph<TKey, TVertex> {
             progressPaths[i] = new ShortestPathProgress(i, compoundWeight);
         }
 
-        // Priority queue for the paths that should be included next.
+        // Indexed priority queue for the vertices whose paths should be included next.
         // The less compound weight of the path, the higher the priority.
-        BinaryHeapListPriorityQueue<ShortestPathProgress> toExplore = new BinaryHeapListPriorityQueue<>(
-                new ArrayList<>(Arrays.asList(progressPaths)),
-                new MinOrdering<>()
-        );
+        IndexedBinaryHeapPriorityQueue toExplore = new IndexedBinaryHeapPriorityQueue(size, new PrimitiveMinOrdering());
+        for (ShortestPathProgress path : progressPaths) toExplore.enqueue(path.vertexIndex, path.compoundWeight);
 
         while (!toExplore.isEmpty()) {
-            ShortestPathProgress currentPath = toExplore.dequeue();
+            ShortestPathProgress currentPath = progressPaths[toExplore.dequeue()];
             included[currentPath.vertexIndex] = true;
 
             for (Integer adj : getAdjacentVerticesIndices(currentPath.vertexIndex)) {
@@ -342,7 +340,7 @@ public class AdjacencyMatrixGraph<TKey, TVertex> {
                 ShortestPathProgress adjVertexPath = progressPaths[adj];
                 if (adjVertexPath.compoundWeight > compoundWeightFromCurrentPath) {
                     adjVertexPath.compoundWeight = compoundWeightFromCurrentPath;
-                    toExplore.changePriority(adjVertexPath, true);
+                    toExplore.decreaseKey(adj, compoundWeightFromCurrentPath);
                 }
             }
         }
@@ -1,89 +1,197 @@
 package priorityqueue;
 
+import utils.orderingstrategy.PrimitiveMaxOrdering;
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SpecializedPrimitiveOrdering;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Growable binary heap of primitive double keys, each one carrying a long payload, eg the id of a timer or of a scored
+ * entry. The keys and the payloads are stored in parallel arrays, so nothing is ever boxed, and the arrays grow by half
+ * of their length whenever they are full.
+ * <p>
+ * The payload of the top entry is read through {@link #peekPayload()} before dequeuing it.
+ */
 public class BinaryHeapArrayPriorityQueue {
-    private final double[] items = new double[1000];
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private double[] keys;
+
+    private long[] payloads;
 
     private int lastIndex = -1;
 
-    private int getParentIndex(int i) {
-        return (i - 1) / 2;
-    }
+    private final SpecializedPrimitiveOrdering ordering;
 
-    private void swap(int i1, int i2) {
-        double temp = items[i1];
-        items[i1] = items[i2];
-        items[i2] = temp;
+    /**
+     * Max heap, ie the greatest keys first
+     */
+    public BinaryHeapArrayPriorityQueue() {
+        this(DEFAULT_INITIAL_CAPACITY, new PrimitiveMaxOrdering());
     }
 
-    private void siftUp(int index) {
-        int i = index, pi = getParentIndex(i);
-        while (pi >= 0 && items[i] > items[pi]) {
-            swap(i, pi);
-            i = pi;
-            pi = getParentIndex(i);
+    /**
+     * @param initialCapacity  The count of entries that fit before the arrays grow
+     * @param orderingStrategy The ordering strategy of the keys, eg the primitive min ordering for a min heap
+     */
+    public BinaryHeapArrayPriorityQueue(int initialCapacity, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity must not be negative");
         }
+        keys = new double[initialCapacity];
+        payloads = new long[initialCapacity];
+        ordering = new SpecializedPrimitiveOrdering(orderingStrategy);
     }
 
-    public void enqueue(double item) {
-        items[++lastIndex] = item;
-        siftUp(lastIndex);
-    }
-
-    public double peek() {
-        return items[0];
+    private int getParentIndex(int i) {
+        return (i - 1) / 2;
     }
 
     private int getLeftChildIndex(int i) {
         return i * 2 + 1;
     }
 
-    private int getRightChildIndex(int i) {
-        return i * 2 + 2;
+    /**
+     * Makes room for at least the given count of entries without growing again
+     *
+     * @param capacity The count of entries
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= keys.length) return;
+        int newCapacity = Math.max(capacity, keys.length + (keys.length >> 1));
+        keys = Arrays.copyOf(keys, newCapacity);
+        payloads = Arrays.copyOf(payloads, newCapacity);
     }
 
-    private void siftDown(int index) {
-        int i = index, li = getLeftChildIndex(i), ri = getRightChildIndex(i), childIndex;
+    /**
+     * Moves the entry at the index up until it finds its place.
+     * The parents are moved down into the hole, which saves the swaps.
+     */
+    private void siftUp(int index, double key, long payload) {
+        int i = index, pi;
+        while (i > 0 && ordering.shouldPrecede(key, keys[pi = getParentIndex(i)])) {
+            keys[i] = keys[pi];
+            payloads[i] = payloads[pi];
+            i = pi;
+        }
+        keys[i] = key;
+        payloads[i] = payload;
+    }
 
-        while ((li <= lastIndex && items[li] > items[i]) || (ri <= lastIndex && items[ri] > items[i])) {
-            childIndex = li == lastIndex || items[ri] <= items[i] || items[li] > items[ri] ? li : ri;
-            swap(i, childIndex);
+    /**
+     * Moves the entry at the index down until it finds its place.
+     * The children that take the most precedence are moved up into the hole.
+     */
+    private void siftDown(int index, double key, long payload) {
+        int i = index, li, ri, childIndex;
+        while ((li = getLeftChildIndex(i)) <= lastIndex) {
+            ri = li + 1;
+            childIndex = ri <= lastIndex && ordering.shouldPrecede(keys[ri], keys[li]) ? ri : li;
+            if (!ordering.shouldPrecede(keys[childIndex], key)) break;
+            keys[i] = keys[childIndex];
+            payloads[i] = payloads[childIndex];
             i = childIndex;
-            li = getLeftChildIndex(i);
-            ri = getRightChildIndex(i);
         }
+        keys[i] = key;
+        payloads[i] = payload;
     }
 
-    public double dequeue() {
-        double topItem = peek();
+    /**
+     * Moves the entry at the index either up or down, whichever its key requires
+     */
+    private void sift(int index, double key, long payload) {
+        if (index > 0 && ordering.shouldPrecede(key, keys[getParentIndex(index)])) siftUp(index, key, payload);
+        else siftDown(index, key, payload);
+    }
 
-        items[0] = items[lastIndex];
-        siftDown(0);
+    public void enqueue(double key) {
+        enqueue(key, 0);
+    }
 
-        items[lastIndex] = 0;
-        lastIndex--;
+    public void enqueue(double key, long payload) {
+        if (lastIndex + 1 == keys.length) ensureCapacity(keys.length + 1);
+        siftUp(++lastIndex, key, payload);
+    }
+
+    private void checkNotEmpty() {
+        if (lastIndex == -1) throw new IndexOutOfBoundsException("The queue is empty");
+    }
+
+    /**
+     * Gets the key that takes the most precedence
+     *
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public double peek() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    /**
+     * Gets the payload of the key that takes the most precedence
+     *
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public long peekPayload() {
+        checkNotEmpty();
+        return payloads[0];
+    }
 
-        return topItem;
+    /**
+     * Dequeues the entry that takes the most precedence
+     *
+     * @return The key of the entry
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public double dequeue() {
+        double topKey = peek();
+        removeAt(0);
+        return topKey;
     }
 
     public boolean isEmpty() {
         return lastIndex == -1;
     }
 
+    public int size() {
+        return lastIndex + 1;
+    }
+
+    /**
+     * Removes all the entries, keeping the arrays for the next ones
+     */
+    public void clear() {
+        lastIndex = -1;
+    }
+
+    /**
+     * Changes the key of the entry at the index of the heap
+     *
+     * @param i        The index of the entry
+     * @param priority The new key
+     */
     public void changePriority(int i, double priority) {
-        double oldPriority = items[i];
-        items[i] = priority;
-        if (oldPriority < priority) {
-            siftUp(i);
-        } else {
-            siftDown(i);
-        }
+        Objects.checkIndex(i, size());
+        sift(i, priority, payloads[i]);
+    }
+
+    private void removeAt(int i) {
+        Objects.checkIndex(i, size());
+        int index = lastIndex--;
+        if (i != index) sift(i, keys[index], payloads[index]);
     }
 
+    /**
+     * Removes the entry at the index of the heap by filling its place with the last entry
+     *
+     * @param i The index of the entry
+     * @return The key of the removed entry
+     */
     public double remove(int i) {
-        double removed = items[i];
-        items[i] = peek() + 1;
-        siftUp(i);
-        dequeue();
+        double removed = keys[i];
+        removeAt(i);
         return removed;
     }
 }
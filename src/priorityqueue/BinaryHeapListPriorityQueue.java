@@ -30,24 +30,20 @@ public class BinaryHeapListPriorityQueue<T extends Comparable<T>> {
         }
     }
 
-    private void swap(int i1, int i2) {
-        T temp = items.get(i1);
-        items.set(i1, items.get(i2));
-        items.set(i2, temp);
-    }
-
     private int getParentIndex(int index) {
         return (index - 1) / 2;
     }
 
     private void siftUp(int index) {
-        int i = index, pi = getParentIndex(index);
+        int i = index, pi;
+        T item = items.get(i);
 
-        while (pi >= 0 && orderingStrategy.shouldPrecede(items.get(i), items.get(pi))) {
-            swap(i, pi);
+        // The parents are moved down into the hole until the item finds its place, which saves the swaps
+        while (i > 0 && orderingStrategy.shouldPrecede(item, items.get(pi = getParentIndex(i)))) {
+            items.set(i, items.get(pi));
             i = pi;
-            pi = getParentIndex(i);
         }
+        items.set(i, item);
     }
 
     public void enqueue(T item) {
@@ -68,19 +64,19 @@ public class BinaryHeapListPriorityQueue<T extends Comparable<T>> {
     }
 
     private void siftDown(int index) {
-        int i = index, li = getLeftChildIndex(i), ri = getRightChildIndex(i), childIndex, lastIndex = items.size() - 1;
-
-        while ((li <= lastIndex && orderingStrategy.shouldPrecede(items.get(li), items.get(i)))
-                || (ri <= lastIndex && orderingStrategy.shouldPrecede(items.get(ri), items.get(i)))) {
-            childIndex = li == lastIndex
-                    || !orderingStrategy.shouldPrecede(items.get(ri), items.get(i))
-                    || orderingStrategy.shouldPrecede(items.get(li), items.get(ri))
-                    ? li : ri;
-            swap(i, childIndex);
-            i = childIndex;
-            li = getLeftChildIndex(i);
+        int i = index, li, ri, childIndex, lastIndex = items.size() - 1;
+        T item = items.get(i);
+
+        // Picking the child that takes the most precedence then comparing it with the item,
+        // which takes 2 comparisons per level
+        while ((li = getLeftChildIndex(i)) <= lastIndex) {
             ri = getRightChildIndex(i);
+            childIndex = ri <= lastIndex && orderingStrategy.shouldPrecede(items.get(ri), items.get(li)) ? ri : li;
+            if (!orderingStrategy.shouldPrecede(items.get(childIndex), item)) break;
+            items.set(i, items.get(childIndex));
+            i = childIndex;
         }
+        items.set(i, item);
     }
 
     public T dequeue() {
@@ -0,0 +1,215 @@
+package priorityqueue;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SpecializedPrimitiveOrdering;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The d-ary counterpart of the {@link BinaryHeapArrayPriorityQueue}: the children of the entry i are laid out
+ * contiguously at the indices `arity * i + 1` to `arity * i + arity`, so a 4-ary heap scans 4 adjacent keys
+ * of the same cache line or two per level, over half as many levels as the binary heap.
+ * <p>
+ * The payload of the top entry is read through {@link #peekPayload()} before dequeuing it.
+ */
+public class DaryHeapArrayPriorityQueue {
+    public static final int DEFAULT_ARITY = 4;
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private final int arity;
+
+    /**
+     * The base 2 logarithm of the arity, which turns the index computations into shifts
+     */
+    private final int arityShift;
+
+    private double[] keys;
+
+    private long[] payloads;
+
+    private int lastIndex = -1;
+
+    private final SpecializedPrimitiveOrdering ordering;
+
+    public DaryHeapArrayPriorityQueue(PrimitiveSortOrderingStrategy orderingStrategy) {
+        this(DEFAULT_ARITY, DEFAULT_INITIAL_CAPACITY, orderingStrategy);
+    }
+
+    /**
+     * @param arity            The max count of children per entry, a power of 2
+     * @param initialCapacity  The count of entries that fit before the arrays grow
+     * @param orderingStrategy The ordering strategy of the keys, eg the primitive min ordering for a min heap
+     */
+    public DaryHeapArrayPriorityQueue(int arity, int initialCapacity, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("The arity must be a power of 2, at least 2");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity must not be negative");
+        }
+        this.arity = arity;
+        arityShift = Integer.numberOfTrailingZeros(arity);
+        keys = new double[initialCapacity];
+        payloads = new long[initialCapacity];
+        ordering = new SpecializedPrimitiveOrdering(orderingStrategy);
+    }
+
+    private int getParentIndex(int i) {
+        return (i - 1) >> arityShift;
+    }
+
+    /**
+     * Makes room for at least the given count of entries without growing again
+     *
+     * @param capacity The count of entries
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= keys.length) return;
+        int newCapacity = Math.max(capacity, keys.length + (keys.length >> 1));
+        keys = Arrays.copyOf(keys, newCapacity);
+        payloads = Arrays.copyOf(payloads, newCapacity);
+    }
+
+    /**
+     * Moves the entry at the index up until it finds its place.
+     * The parents are moved down into the hole, which saves the swaps.
+     */
+    private void siftUp(int index, double key, long payload) {
+        int i = index, pi;
+        while (i > 0 && ordering.shouldPrecede(key, keys[pi = getParentIndex(i)])) {
+            keys[i] = keys[pi];
+            payloads[i] = payloads[pi];
+            i = pi;
+        }
+        keys[i] = key;
+        payloads[i] = payload;
+    }
+
+    /**
+     * Moves the entry at the index down until it finds its place.
+     * The children that take the most precedence among their adjacent siblings are moved up into the hole.
+     */
+    private void siftDown(int index, double key, long payload) {
+        int i = index, firstChildIndex;
+        while ((firstChildIndex = (i << arityShift) + 1) <= lastIndex) {
+            int childIndex = firstChildIndex, endIndex = Math.min(firstChildIndex + arity - 1, lastIndex);
+            double childKey = keys[firstChildIndex];
+            for (int ci = firstChildIndex + 1; ci <= endIndex; ci++) {
+                double siblingKey = keys[ci];
+                if (ordering.shouldPrecede(siblingKey, childKey)) {
+                    childIndex = ci;
+                    childKey = siblingKey;
+                }
+            }
+            if (!ordering.shouldPrecede(childKey, key)) break;
+            keys[i] = childKey;
+            payloads[i] = payloads[childIndex];
+            i = childIndex;
+        }
+        keys[i] = key;
+        payloads[i] = payload;
+    }
+
+    /**
+     * Moves the entry at the index either up or down, whichever its key requires
+     */
+    private void sift(int index, double key, long payload) {
+        if (index > 0 && ordering.shouldPrecede(key, keys[getParentIndex(index)])) siftUp(index, key, payload);
+        else siftDown(index, key, payload);
+    }
+
+    public void enqueue(double key) {
+        enqueue(key, 0);
+    }
+
+    public void enqueue(double key, long payload) {
+        if (lastIndex + 1 == keys.length) ensureCapacity(keys.length + 1);
+        siftUp(++lastIndex, key, payload);
+    }
+
+    private void checkNotEmpty() {
+        if (lastIndex == -1) throw new IndexOutOfBoundsException("The queue is empty");
+    }
+
+    /**
+     * Gets the key that takes the most precedence
+     *
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public double peek() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    /**
+     * Gets the payload of the key that takes the most precedence
+     *
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public long peekPayload() {
+        checkNotEmpty();
+        return payloads[0];
+    }
+
+    /**
+     * Dequeues the entry that takes the most precedence
+     *
+     * @return The key of the entry
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public double dequeue() {
+        double topKey = peek();
+        removeAt(0);
+        return topKey;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    public boolean isEmpty() {
+        return lastIndex == -1;
+    }
+
+    public int size() {
+        return lastIndex + 1;
+    }
+
+    /**
+     * Removes all the entries, keeping the arrays for the next ones
+     */
+    public void clear() {
+        lastIndex = -1;
+    }
+
+    /**
+     * Changes the key of the entry at the index of the heap
+     *
+     * @param i        The index of the entry
+     * @param priority The new key
+     */
+    public void changePriority(int i, double priority) {
+        Objects.checkIndex(i, size());
+        sift(i, priority, payloads[i]);
+    }
+
+    private void removeAt(int i) {
+        Objects.checkIndex(i, size());
+        int index = lastIndex--;
+        if (i != index) sift(i, keys[index], payloads[index]);
+    }
+
+    /**
+     * Removes the entry at the index of the heap by filling its place with the last entry
+     *
+     * @param i The index of the entry
+     * @return The key of the removed entry
+     */
+    public double remove(int i) {
+        double removed = keys[i];
+        removeAt(i);
+        return removed;
+    }
+}
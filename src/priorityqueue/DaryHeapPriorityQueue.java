@@ -0,0 +1,149 @@
+package priorityqueue;
+
+import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generic d-ary heap, ie every node has up to `arity` children, laid out contiguously right after each other:
+ * the children of the node i are at the indices `arity * i + 1` to `arity * i + arity`.
+ * Compared to a binary heap, the tree is log2(arity) times shallower, so an enqueue moves through fewer levels,
+ * and a dequeue compares `arity` adjacent children per level, whose references share the same cache lines,
+ * over fewer levels that each miss the cache.
+ *
+ * @param <T> The type of the items
+ */
+public class DaryHeapPriorityQueue<T extends Comparable<T>> {
+    public static final int DEFAULT_ARITY = 4;
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private final int arity;
+
+    /**
+     * The base 2 logarithm of the arity, which turns the index computations into shifts
+     */
+    private final int arityShift;
+
+    private Object[] items;
+
+    private int size;
+
+    /**
+     * The ordering strategy to use for ordering the items
+     */
+    private final SpecializedOrdering<T> ordering;
+
+    public DaryHeapPriorityQueue(SortOrderingStrategy<T> orderingStrategy) {
+        this(DEFAULT_ARITY, orderingStrategy);
+    }
+
+    /**
+     * @param arity            The max count of children per node, a power of 2
+     * @param orderingStrategy The ordering strategy
+     */
+    public DaryHeapPriorityQueue(int arity, SortOrderingStrategy<T> orderingStrategy) {
+        this(arity, List.of(), orderingStrategy);
+    }
+
+    /**
+     * @param arity            The max count of children per node, a power of 2
+     * @param items            The initial items, which are heapified in O(n)
+     * @param orderingStrategy The ordering strategy
+     */
+    public DaryHeapPriorityQueue(int arity, List<T> items, SortOrderingStrategy<T> orderingStrategy) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("The arity must be a power of 2, at least 2");
+        }
+        this.arity = arity;
+        arityShift = Integer.numberOfTrailingZeros(arity);
+        this.items = Arrays.copyOf(items.toArray(), Math.max(items.size(), DEFAULT_INITIAL_CAPACITY));
+        this.size = items.size();
+        ordering = new SpecializedOrdering<>(orderingStrategy);
+        // Heapify the items
+        for (int i = getParentIndex(size - 1); i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean shouldPrecede(Object item, Object other) {
+        return ordering.shouldPrecede((T) item, (T) other);
+    }
+
+    private int getParentIndex(int index) {
+        return (index - 1) >> arityShift;
+    }
+
+    private void siftUp(int index) {
+        int i = index, pi;
+        Object item = items[i];
+
+        // The parents are moved down into the hole until the item finds its place, which saves the swaps
+        while (i > 0 && shouldPrecede(item, items[pi = getParentIndex(i)])) {
+            items[i] = items[pi];
+            i = pi;
+        }
+        items[i] = item;
+    }
+
+    private void siftDown(int index) {
+        int i = index, firstChildIndex;
+        Object item = items[i];
+
+        // Picking the child that takes the most precedence among the adjacent children then comparing it with the item
+        while ((firstChildIndex = (i << arityShift) + 1) < size) {
+            int childIndex = firstChildIndex, endIndex = Math.min(firstChildIndex + arity, size);
+            for (int ci = firstChildIndex + 1; ci < endIndex; ci++) {
+                if (shouldPrecede(items[ci], items[childIndex])) childIndex = ci;
+            }
+            if (!shouldPrecede(items[childIndex], item)) break;
+            items[i] = items[childIndex];
+            i = childIndex;
+        }
+        items[i] = item;
+    }
+
+    public void enqueue(T item) {
+        if (size == items.length) items = Arrays.copyOf(items, size + (size >> 1) + 1);
+        items[size] = item;
+        siftUp(size++);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (size == 0) throw new IndexOutOfBoundsException("The queue is empty");
+        return (T) items[0];
+    }
+
+    public T dequeue() {
+        T topItem = peek();
+        items[0] = items[--size];
+        // Releasing the reference for the garbage collector
+        items[size] = null;
+        if (size > 1) siftDown(0);
+        return topItem;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * Removes all the items, keeping the array for the next ones
+     */
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+}
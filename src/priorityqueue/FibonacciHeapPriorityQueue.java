@@ -0,0 +1,379 @@
+package priorityqueue;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SpecializedPrimitiveOrdering;
+
+import java.util.Arrays;
+
+/**
+ * Fibonacci heap of double keys carrying long payloads, eg the indices of the vertices of a graph.
+ * The heap is a circular list of trees, whose children are circular lists too, along with the root that takes the most
+ * precedence:
+ * <ul>
+ *     <li>An enqueue and a meld only add trees to the list of roots, in O(1).</li>
+ *     <li>A dequeue moves the children of the top node to the roots, then links the roots of the same degree,
+ *     ie count of children, until every degree is unique, in O(log n) amortized.</li>
+ *     <li>A decrease-key cuts the node from its parent if needed, and a parent that already lost a child
+ *     since it was linked is cut as well, recursively, in O(1) amortized.</li>
+ * </ul>
+ * Every enqueue returns the node of the entry, which is its handle for the decrease-keys and the removals.
+ * The nodes of the dequeued and removed entries are pooled and reused by the next enqueues,
+ * so a handle must not be used anymore once its entry left the heap.
+ */
+public class FibonacciHeapPriorityQueue {
+    public static final int DEFAULT_MAX_POOLED_NODES = 1 << 16;
+
+    /**
+     * The node of an entry
+     */
+    public static final class Node {
+        private double key;
+
+        private long payload;
+
+        private Node parent;
+
+        /**
+         * Any child, the children being linked as a circular list
+         */
+        private Node child;
+
+        private Node left;
+
+        private Node right;
+
+        /**
+         * The count of children
+         */
+        private int degree;
+
+        /**
+         * Whether the node lost a child since it became the child of its parent
+         */
+        private boolean isMarked;
+
+        private boolean isEnqueued;
+
+        private Node() {
+        }
+
+        public double getKey() {
+            return key;
+        }
+
+        public long getPayload() {
+            return payload;
+        }
+
+        public boolean isEnqueued() {
+            return isEnqueued;
+        }
+    }
+
+    private final SpecializedPrimitiveOrdering ordering;
+
+    /**
+     * The root that takes the most precedence, through which the circular list of roots is reached
+     */
+    private Node top;
+
+    private int size;
+
+    /**
+     * The roots indexed by their degree during the consolidation, reused from one dequeue to the next
+     */
+    private Node[] rootsByDegree = new Node[32];
+
+    /**
+     * The pooled nodes, linked by their right link
+     */
+    private Node pool;
+
+    private int pooledNodesCount;
+
+    private final int maxPooledNodes;
+
+    public FibonacciHeapPriorityQueue(PrimitiveSortOrderingStrategy orderingStrategy) {
+        this(orderingStrategy, DEFAULT_MAX_POOLED_NODES);
+    }
+
+    /**
+     * @param orderingStrategy The ordering strategy of the keys, eg the primitive min ordering for a min heap
+     * @param maxPooledNodes   The max count of nodes kept for reuse, 0 to disable the pooling
+     */
+    public FibonacciHeapPriorityQueue(PrimitiveSortOrderingStrategy orderingStrategy, int maxPooledNodes) {
+        if (maxPooledNodes < 0) {
+            throw new IllegalArgumentException("The max count of pooled nodes must not be negative");
+        }
+        ordering = new SpecializedPrimitiveOrdering(orderingStrategy);
+        this.maxPooledNodes = maxPooledNodes;
+    }
+
+    private Node acquireNode(double key, long payload) {
+        Node node = pool;
+        if (node == null) {
+            node = new Node();
+        } else {
+            pool = node.right;
+            pooledNodesCount--;
+        }
+        node.key = key;
+        node.payload = payload;
+        node.isEnqueued = true;
+        node.left = node.right = node;
+        return node;
+    }
+
+    private void releaseNode(Node node) {
+        node.isEnqueued = false;
+        node.parent = node.child = node.left = node.right = null;
+        node.degree = 0;
+        node.isMarked = false;
+        if (pooledNodesCount < maxPooledNodes) {
+            node.right = pool;
+            pool = node;
+            pooledNodesCount++;
+        }
+    }
+
+    /**
+     * Splices 2 circular lists together
+     */
+    private static void splice(Node first, Node second) {
+        Node firstRight = first.right, secondLeft = second.left;
+        first.right = second;
+        second.left = first;
+        secondLeft.right = firstRight;
+        firstRight.left = secondLeft;
+    }
+
+    /**
+     * Unlinks a node from its circular list, leaving it as a list of its own
+     */
+    private static void unlink(Node node) {
+        node.left.right = node.right;
+        node.right.left = node.left;
+        node.left = node.right = node;
+    }
+
+    /**
+     * Adds a list of trees to the roots and moves the top to the first of them if it takes more precedence
+     */
+    private void addRoots(Node node) {
+        if (top == null) {
+            top = node;
+        } else {
+            splice(top, node);
+            if (ordering.shouldPrecede(node.key, top.key)) top = node;
+        }
+    }
+
+    /**
+     * Makes a root the child of another root
+     */
+    private void link(Node child, Node parent) {
+        unlink(child);
+        child.parent = parent;
+        child.isMarked = false;
+        if (parent.child == null) parent.child = child;
+        else splice(parent.child, child);
+        parent.degree++;
+    }
+
+    /**
+     * Links the roots of the same degree until every degree is unique, then finds the new top
+     */
+    private void consolidate() {
+        Node[] roots = rootsByDegree;
+        int maxDegree = -1;
+
+        // The list of roots changes along the way, so it is detached and walked until the start comes back around
+        Node current = top, last = top.left;
+        boolean isDone = false;
+        while (!isDone) {
+            isDone = current == last;
+            Node next = current.right, node = current;
+            int degree = node.degree;
+            while (degree < roots.length && roots[degree] != null) {
+                Node other = roots[degree];
+                if (ordering.shouldPrecede(other.key, node.key)) {
+                    Node temp = node;
+                    node = other;
+                    other = temp;
+                }
+                link(other, node);
+                roots[degree++] = null;
+            }
+            if (degree >= roots.length) roots = rootsByDegree = Arrays.copyOf(roots, 2 * degree);
+            roots[degree] = node;
+            maxDegree = Math.max(maxDegree, degree);
+            current = next;
+        }
+
+        // Rebuilding the list of roots out of the table, which is cleared for the next consolidation
+        top = null;
+        for (int degree = 0; degree <= maxDegree; degree++) {
+            Node node = roots[degree];
+            if (node == null) continue;
+            roots[degree] = null;
+            node.left = node.right = node;
+            addRoots(node);
+        }
+    }
+
+    /**
+     * Moves a node from the children of its parent to the roots
+     */
+    private void cut(Node node, Node parent) {
+        if (parent.child == node) parent.child = node.right == node ? null : node.right;
+        unlink(node);
+        parent.degree--;
+        node.parent = null;
+        node.isMarked = false;
+        splice(top, node);
+    }
+
+    /**
+     * Cuts the ancestors that already lost a child, up to the first one that did not, which gets marked
+     */
+    private void cascadingCut(Node node) {
+        Node parent;
+        while ((parent = node.parent) != null) {
+            if (!node.isMarked) {
+                node.isMarked = true;
+                return;
+            }
+            cut(node, parent);
+            node = parent;
+        }
+    }
+
+    private void checkEnqueued(Node node) {
+        if (!node.isEnqueued) {
+            throw new IllegalArgumentException("The node is not enqueued");
+        }
+    }
+
+    /**
+     * Enqueues an entry in O(1)
+     *
+     * @param key     The key
+     * @param payload The payload
+     * @return The node of the entry, its handle until it leaves the heap
+     */
+    public Node enqueue(double key, long payload) {
+        Node node = acquireNode(key, payload);
+        addRoots(node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Gets the node of the entry that takes the most precedence
+     */
+    public Node peek() {
+        if (top == null) throw new IndexOutOfBoundsException("The queue is empty");
+        return top;
+    }
+
+    public double peekKey() {
+        return peek().key;
+    }
+
+    public long peekPayload() {
+        return peek().payload;
+    }
+
+    /**
+     * Dequeues the entry that takes the most precedence, whose node is recycled
+     *
+     * @return The payload of the entry
+     */
+    public long dequeue() {
+        Node topNode = peek();
+        long payload = topNode.payload;
+
+        // Moving the children to the roots
+        Node child = topNode.child;
+        if (child != null) {
+            Node current = child;
+            do {
+                current.parent = null;
+                current.isMarked = false;
+                current = current.right;
+            } while (current != child);
+            splice(topNode, child);
+        }
+
+        Node next = topNode.right;
+        unlink(topNode);
+        if (next == topNode) {
+            top = null;
+        } else {
+            top = next;
+            consolidate();
+        }
+        size--;
+        releaseNode(topNode);
+        return payload;
+    }
+
+    /**
+     * Gives more precedence to an entry, eg lowers its key in a min heap, in O(1) amortized
+     *
+     * @param node The node of the entry
+     * @param key  The new key, which must not follow the current key
+     */
+    public void decreaseKey(Node node, double key) {
+        checkEnqueued(node);
+        if (ordering.shouldPrecede(node.key, key)) {
+            throw new IllegalArgumentException("The new key follows the current key");
+        }
+        node.key = key;
+        Node parent = node.parent;
+        if (parent != null && ordering.shouldPrecede(key, parent.key)) {
+            cut(node, parent);
+            cascadingCut(parent);
+        }
+        if (ordering.shouldPrecede(key, top.key)) top = node;
+    }
+
+    /**
+     * Removes an entry in O(log n) amortized, whose node is recycled
+     *
+     * @param node The node of the entry
+     */
+    public void remove(Node node) {
+        checkEnqueued(node);
+        // The node is moved to the roots and made the top whatever its key, then dequeued
+        Node parent = node.parent;
+        if (parent != null) {
+            cut(node, parent);
+            cascadingCut(parent);
+        }
+        top = node;
+        dequeue();
+    }
+
+    /**
+     * Moves all the entries of another heap into this one in O(1), the handles staying valid.
+     * The other heap must have the same ordering strategy and is left empty.
+     *
+     * @param other The other heap
+     */
+    public void meld(FibonacciHeapPriorityQueue other) {
+        if (other == this || other.top == null) return;
+        addRoots(other.top);
+        size += other.size;
+        other.top = null;
+        other.size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
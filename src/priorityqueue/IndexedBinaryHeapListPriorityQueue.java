@@ -0,0 +1,176 @@
+package priorityqueue;
+
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Generic binary heap that keeps the position of every item in an identity map, updated on every move.
+ * Unlike the {@link BinaryHeapListPriorityQueue}, whose priority changes look the item up by a linear scan,
+ * an item is found in O(1) and its priority is changed or it is removed in O(log n).
+ * <p>
+ * The items are told apart by their identity, so each instance is enqueued at most once at a time.
+ *
+ * @param <T> The type of the items
+ */
+public class IndexedBinaryHeapListPriorityQueue<T extends Comparable<T>> {
+    private final List<T> items;
+
+    /**
+     * The position of each enqueued item inside the heap
+     */
+    private final IdentityHashMap<T, Integer> positions;
+
+    /**
+     * The ordering strategy to use for ordering the items
+     */
+    private final SortOrderingStrategy<T> orderingStrategy;
+
+    public IndexedBinaryHeapListPriorityQueue(SortOrderingStrategy<T> orderingStrategy) {
+        this(new ArrayList<>(), orderingStrategy);
+    }
+
+    /**
+     * @param items            The initial items, which are heapified in place
+     * @param orderingStrategy The ordering strategy
+     */
+    public IndexedBinaryHeapListPriorityQueue(ArrayList<T> items, SortOrderingStrategy<T> orderingStrategy) {
+        this.items = items;
+        this.orderingStrategy = orderingStrategy;
+        positions = new IdentityHashMap<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (positions.put(items.get(i), i) != null) {
+                throw new IllegalArgumentException("The items must be distinct instances");
+            }
+        }
+        // Heapify the items
+        int mid = getParentIndex(items.size() - 1);
+        for (int i = mid; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    private int getParentIndex(int index) {
+        return (index - 1) / 2;
+    }
+
+    private int getLeftChildIndex(int index) {
+        return 2 * index + 1;
+    }
+
+    private void siftUp(int index) {
+        int i = index, pi;
+        T item = items.get(i);
+
+        // The parents are moved down into the hole until the item finds its place, along with their positions
+        while (i > 0 && orderingStrategy.shouldPrecede(item, items.get(pi = getParentIndex(i)))) {
+            T parent = items.get(pi);
+            items.set(i, parent);
+            positions.put(parent, i);
+            i = pi;
+        }
+        items.set(i, item);
+        positions.put(item, i);
+    }
+
+    private void siftDown(int index) {
+        int i = index, li, ri, childIndex, lastIndex = items.size() - 1;
+        T item = items.get(i);
+
+        while ((li = getLeftChildIndex(i)) <= lastIndex) {
+            ri = li + 1;
+            childIndex = ri <= lastIndex && orderingStrategy.shouldPrecede(items.get(ri), items.get(li)) ? ri : li;
+            T child = items.get(childIndex);
+            if (!orderingStrategy.shouldPrecede(child, item)) break;
+            items.set(i, child);
+            positions.put(child, i);
+            i = childIndex;
+        }
+        items.set(i, item);
+        positions.put(item, i);
+    }
+
+    private int getPosition(T item) {
+        Integer position = positions.get(item);
+        if (position == null) {
+            throw new IllegalArgumentException("The item is not enqueued");
+        }
+        return position;
+    }
+
+    /**
+     * Enqueues an item
+     *
+     * @param item The item, which must not be enqueued already
+     */
+    public void enqueue(T item) {
+        if (positions.containsKey(item)) {
+            throw new IllegalArgumentException("The item is already enqueued");
+        }
+        items.add(item);
+        siftUp(items.size() - 1);
+    }
+
+    public T peek() {
+        return items.get(0);
+    }
+
+    public T dequeue() {
+        T topItem = peek();
+        remove(topItem);
+        return topItem;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean contains(T item) {
+        return positions.containsKey(item);
+    }
+
+    /**
+     * Moves an enqueued item after its priority changed
+     *
+     * @param item              The item
+     * @param priorityIncreased Whether the item now takes more precedence than before, eg a decreased key in a min heap
+     */
+    public void changePriority(T item, boolean priorityIncreased) {
+        int index = getPosition(item);
+        if (priorityIncreased) siftUp(index);
+        else siftDown(index);
+    }
+
+    /**
+     * Moves an enqueued item after its priority changed either way
+     *
+     * @param item The item
+     */
+    public void changePriority(T item) {
+        int index = getPosition(item);
+        if (index > 0 && orderingStrategy.shouldPrecede(item, items.get(getParentIndex(index)))) siftUp(index);
+        else siftDown(index);
+    }
+
+    /**
+     * Removes an enqueued item by filling its position with the last item, which is then moved up or down
+     *
+     * @param item The item
+     */
+    public void remove(T item) {
+        int index = getPosition(item);
+        positions.remove(item);
+        T lastItem = items.removeLast();
+        if (index == items.size()) return;
+
+        items.set(index, lastItem);
+        positions.put(lastItem, index);
+        changePriority(lastItem);
+    }
+}
@@ -0,0 +1,229 @@
+package priorityqueue;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of int handles, eg the indices of the vertices of a graph, prioritized by double keys.
+ * The position of every handle inside the heap is kept in an array indexed by the handles and updated on every move,
+ * so a handle is found in O(1) and its key is changed or it is removed in O(log n), without any scan.
+ * <p>
+ * The handles range from 0 to the capacity (exclusive), and each handle is enqueued at most once at a time.
+ */
+public class IndexedBinaryHeapPriorityQueue {
+    /**
+     * The handles in heap order
+     */
+    private final int[] heap;
+
+    /**
+     * The position of each handle inside the heap, -1 for the handles that are not enqueued
+     */
+    private final int[] positions;
+
+    /**
+     * The key of each handle
+     */
+    private final double[] keys;
+
+    private final PrimitiveSortOrderingStrategy orderingStrategy;
+
+    private int size;
+
+    /**
+     * @param capacity         The count of handles, which range from 0 to the capacity (exclusive)
+     * @param orderingStrategy The ordering strategy of the keys, eg the primitive min ordering for the least keys first
+     */
+    public IndexedBinaryHeapPriorityQueue(int capacity, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity must not be negative");
+        }
+        heap = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        keys = new double[capacity];
+        this.orderingStrategy = orderingStrategy;
+    }
+
+    private int getParentIndex(int index) {
+        return (index - 1) / 2;
+    }
+
+    private int getLeftChildIndex(int index) {
+        return 2 * index + 1;
+    }
+
+    private void siftUp(int index) {
+        int i = index, pi, handle = heap[i];
+        double key = keys[handle];
+
+        // The parents are moved down into the hole until the handle finds its place, along with their positions
+        while (i > 0 && orderingStrategy.shouldPrecede(key, keys[heap[pi = getParentIndex(i)]])) {
+            heap[i] = heap[pi];
+            positions[heap[i]] = i;
+            i = pi;
+        }
+        heap[i] = handle;
+        positions[handle] = i;
+    }
+
+    private void siftDown(int index) {
+        int i = index, li, ri, childIndex, lastIndex = size - 1, handle = heap[i];
+        double key = keys[handle];
+
+        while ((li = getLeftChildIndex(i)) <= lastIndex) {
+            ri = li + 1;
+            childIndex = ri <= lastIndex && orderingStrategy.shouldPrecede(keys[heap[ri]], keys[heap[li]]) ? ri : li;
+            if (!orderingStrategy.shouldPrecede(keys[heap[childIndex]], key)) break;
+            heap[i] = heap[childIndex];
+            positions[heap[i]] = i;
+            i = childIndex;
+        }
+        heap[i] = handle;
+        positions[handle] = i;
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= positions.length) {
+            throw new IllegalArgumentException("The handle " + handle + " is out of the range of the queue");
+        }
+    }
+
+    private void checkContains(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("The handle " + handle + " is not enqueued");
+        }
+    }
+
+    /**
+     * Enqueues a handle
+     *
+     * @param handle The handle, which must not be enqueued already
+     * @param key    The key of the handle
+     */
+    public void enqueue(int handle, double key) {
+        checkHandle(handle);
+        if (positions[handle] >= 0) {
+            throw new IllegalArgumentException("The handle " + handle + " is already enqueued");
+        }
+        keys[handle] = key;
+        heap[size] = handle;
+        positions[handle] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Gets the handle that takes the most precedence
+     *
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public int peek() {
+        if (size == 0) throw new IndexOutOfBoundsException("The queue is empty");
+        return heap[0];
+    }
+
+    /**
+     * Gets the key of the handle that takes the most precedence
+     *
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public double peekKey() {
+        return keys[peek()];
+    }
+
+    /**
+     * Dequeues the handle that takes the most precedence
+     *
+     * @return The handle, whose key stays readable through {@link #getKey(int)}
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public int dequeue() {
+        int topHandle = peek();
+        remove(topHandle);
+        return topHandle;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int handle) {
+        checkHandle(handle);
+        return positions[handle] >= 0;
+    }
+
+    /**
+     * Gets the key that a handle has or had last
+     */
+    public double getKey(int handle) {
+        checkHandle(handle);
+        return keys[handle];
+    }
+
+    /**
+     * Changes the key of an enqueued handle and moves it up or down accordingly
+     *
+     * @param handle The handle
+     * @param key    The new key
+     */
+    public void changeKey(int handle, double key) {
+        checkContains(handle);
+        double oldKey = keys[handle];
+        keys[handle] = key;
+        if (orderingStrategy.shouldPrecede(key, oldKey)) siftUp(positions[handle]);
+        else siftDown(positions[handle]);
+    }
+
+    /**
+     * Lowers the key of an enqueued handle, eg when a shorter path to a vertex is found by the Dijkstra's algorithm
+     *
+     * @param handle The handle
+     * @param key    The new key, which is at most the current key
+     */
+    public void decreaseKey(int handle, double key) {
+        checkContains(handle);
+        if (Double.compare(key, keys[handle]) > 0) {
+            throw new IllegalArgumentException("The new key is greater than the current key");
+        }
+        changeKey(handle, key);
+    }
+
+    /**
+     * Raises the key of an enqueued handle
+     *
+     * @param handle The handle
+     * @param key    The new key, which is at least the current key
+     */
+    public void increaseKey(int handle, double key) {
+        checkContains(handle);
+        if (Double.compare(key, keys[handle]) < 0) {
+            throw new IllegalArgumentException("The new key is less than the current key");
+        }
+        changeKey(handle, key);
+    }
+
+    /**
+     * Removes an enqueued handle by filling its position with the last handle, which is then moved up or down
+     *
+     * @param handle The handle
+     */
+    public void remove(int handle) {
+        checkContains(handle);
+        int index = positions[handle], lastHandle = heap[--size];
+        positions[handle] = -1;
+        if (index == size) return;
+
+        heap[index] = lastHandle;
+        positions[lastHandle] = index;
+        if (index > 0 && orderingStrategy.shouldPrecede(keys[lastHandle], keys[heap[getParentIndex(index)]])) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+    }
+}
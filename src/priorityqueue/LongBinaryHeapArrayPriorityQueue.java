@@ -0,0 +1,194 @@
+package priorityqueue;
+
+import utils.orderingstrategy.PrimitiveMaxOrdering;
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SpecializedPrimitiveOrdering;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The long keys counterpart of the {@link BinaryHeapArrayPriorityQueue}, eg for timers keyed by their deadlines
+ * in nanoseconds, whose precision a double would lose.
+ */
+public class LongBinaryHeapArrayPriorityQueue {
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+
+    private long[] payloads;
+
+    private int lastIndex = -1;
+
+    private final SpecializedPrimitiveOrdering ordering;
+
+    /**
+     * Max heap, ie the greatest keys first
+     */
+    public LongBinaryHeapArrayPriorityQueue() {
+        this(DEFAULT_INITIAL_CAPACITY, new PrimitiveMaxOrdering());
+    }
+
+    /**
+     * @param initialCapacity  The count of entries that fit before the arrays grow
+     * @param orderingStrategy The ordering strategy of the keys, eg the primitive min ordering for a min heap
+     */
+    public LongBinaryHeapArrayPriorityQueue(int initialCapacity, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity must not be negative");
+        }
+        keys = new long[initialCapacity];
+        payloads = new long[initialCapacity];
+        ordering = new SpecializedPrimitiveOrdering(orderingStrategy);
+    }
+
+    private int getParentIndex(int i) {
+        return (i - 1) / 2;
+    }
+
+    private int getLeftChildIndex(int i) {
+        return i * 2 + 1;
+    }
+
+    /**
+     * Makes room for at least the given count of entries without growing again
+     *
+     * @param capacity The count of entries
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= keys.length) return;
+        int newCapacity = Math.max(capacity, keys.length + (keys.length >> 1));
+        keys = Arrays.copyOf(keys, newCapacity);
+        payloads = Arrays.copyOf(payloads, newCapacity);
+    }
+
+    /**
+     * Moves the entry at the index up until it finds its place.
+     * The parents are moved down into the hole, which saves the swaps.
+     */
+    private void siftUp(int index, long key, long payload) {
+        int i = index, pi;
+        while (i > 0 && ordering.shouldPrecede(key, keys[pi = getParentIndex(i)])) {
+            keys[i] = keys[pi];
+            payloads[i] = payloads[pi];
+            i = pi;
+        }
+        keys[i] = key;
+        payloads[i] = payload;
+    }
+
+    /**
+     * Moves the entry at the index down until it finds its place.
+     * The children that take the most precedence are moved up into the hole.
+     */
+    private void siftDown(int index, long key, long payload) {
+        int i = index, li, ri, childIndex;
+        while ((li = getLeftChildIndex(i)) <= lastIndex) {
+            ri = li + 1;
+            childIndex = ri <= lastIndex && ordering.shouldPrecede(keys[ri], keys[li]) ? ri : li;
+            if (!ordering.shouldPrecede(keys[childIndex], key)) break;
+            keys[i] = keys[childIndex];
+            payloads[i] = payloads[childIndex];
+            i = childIndex;
+        }
+        keys[i] = key;
+        payloads[i] = payload;
+    }
+
+    /**
+     * Moves the entry at the index either up or down, whichever its key requires
+     */
+    private void sift(int index, long key, long payload) {
+        if (index > 0 && ordering.shouldPrecede(key, keys[getParentIndex(index)])) siftUp(index, key, payload);
+        else siftDown(index, key, payload);
+    }
+
+    public void enqueue(long key) {
+        enqueue(key, 0);
+    }
+
+    public void enqueue(long key, long payload) {
+        if (lastIndex + 1 == keys.length) ensureCapacity(keys.length + 1);
+        siftUp(++lastIndex, key, payload);
+    }
+
+    private void checkNotEmpty() {
+        if (lastIndex == -1) throw new IndexOutOfBoundsException("The queue is empty");
+    }
+
+    /**
+     * Gets the key that takes the most precedence
+     *
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public long peek() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    /**
+     * Gets the payload of the key that takes the most precedence
+     *
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public long peekPayload() {
+        checkNotEmpty();
+        return payloads[0];
+    }
+
+    /**
+     * Dequeues the entry that takes the most precedence
+     *
+     * @return The key of the entry
+     * @throws IndexOutOfBoundsException If the queue is empty
+     */
+    public long dequeue() {
+        long topKey = peek();
+        removeAt(0);
+        return topKey;
+    }
+
+    public boolean isEmpty() {
+        return lastIndex == -1;
+    }
+
+    public int size() {
+        return lastIndex + 1;
+    }
+
+    /**
+     * Removes all the entries, keeping the arrays for the next ones
+     */
+    public void clear() {
+        lastIndex = -1;
+    }
+
+    /**
+     * Changes the key of the entry at the index of the heap
+     *
+     * @param i        The index of the entry
+     * @param priority The new key
+     */
+    public void changePriority(int i, long priority) {
+        Objects.checkIndex(i, size());
+        sift(i, priority, payloads[i]);
+    }
+
+    private void removeAt(int i) {
+        Objects.checkIndex(i, size());
+        int index = lastIndex--;
+        if (i != index) sift(i, keys[index], payloads[index]);
+    }
+
+    /**
+     * Removes the entry at the index of the heap by filling its place with the last entry
+     *
+     * @param i The index of the entry
+     * @return The key of the removed entry
+     */
+    public long remove(int i) {
+        long removed = keys[i];
+        removeAt(i);
+        return removed;
+    }
+}
@@ -1,8 +1,15 @@
 package priorityqueue;
 
+import priorityqueue.concurrent.MultiQueue;
+import priorityqueue.concurrent.SkipListPriorityQueue;
 import utils.orderingstrategy.MaxOrdering;
+import utils.orderingstrategy.MinOrdering;
+import utils.orderingstrategy.PrimitiveMinOrdering;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
 public class Main {
     public static void main(String[] args) {
@@ -16,11 +23,16 @@ public class Main {
                     1- Array
                     2- Linked List
                     3- Array-based Binary Heap
-                    4- List-based Generic Binary Heap""");
+                    4- List-based Generic Binary Heap
+                    5- Indexed Binary Heap
+                    6- Pairing Heap
+                    7- Fibonacci Heap
+                    8- Concurrent Skip List
+                    9- Concurrent MultiQueue""");
             do {
                 System.out.print("Your choice: ");
                 implChoice = sc.nextInt();
-            } while (implChoice < 1 || implChoice > 4);
+            } while (implChoice < 1 || implChoice > 9);
 
             System.out.println();
             switch (implChoice) {
@@ -36,6 +48,21 @@ public class Main {
                 case 4:
                     binaryHeapList();
                     break;
+                case 5:
+                    indexedBinaryHeap();
+                    break;
+                case 6:
+                    pairingHeap();
+                    break;
+                case 7:
+                    fibonacciHeap();
+                    break;
+                case 8:
+                    skipList();
+                    break;
+                case 9:
+                    multiQueue();
+                    break;
                 default:
                     break;
             }
@@ -147,6 +174,149 @@ public class Main {
         }
     }
 
+    public static void indexedBinaryHeap() {
+        double[] keys = {5, 3, 8, 1, 9, 4};
+        IndexedBinaryHeapPriorityQueue pq = new IndexedBinaryHeapPriorityQueue(keys.length, new PrimitiveMinOrdering());
+
+        for (int handle = 0; handle < keys.length; handle++) {
+            pq.enqueue(handle, keys[handle]);
+            System.out.printf("Enqueued - handle: %d - key: %.0f%n", handle, keys[handle]);
+        }
+
+        System.out.printf("Peeked - handle: %d - key: %.0f%n", pq.peek(), pq.peekKey());
+
+        int decreasedHandle = 4;
+        double decreasedKey = 0;
+        pq.decreaseKey(decreasedHandle, decreasedKey);
+        System.out.printf("Key decreased - handle: %d - new key: %.0f%n", decreasedHandle, decreasedKey);
+
+        int increasedHandle = 3;
+        double increasedKey = 7;
+        pq.increaseKey(increasedHandle, increasedKey);
+        System.out.printf("Key increased - handle: %d - new key: %.0f%n", increasedHandle, increasedKey);
+
+        int removedHandle = 1;
+        pq.remove(removedHandle);
+        System.out.printf("Removed - handle: %d - contained: %b%n", removedHandle, pq.contains(removedHandle));
+
+        while (!pq.isEmpty()) {
+            int handle = pq.dequeue();
+            System.out.printf("Dequeued - handle: %d - key: %.0f%n", handle, pq.getKey(handle));
+        }
+    }
+
+    public static void pairingHeap() {
+        PairingHeapPriorityQueue pq = new PairingHeapPriorityQueue(new PrimitiveMinOrdering());
+        double[] keys = {5, 3, 8, 1, 9, 4};
+        PairingHeapPriorityQueue.Node[] nodes = new PairingHeapPriorityQueue.Node[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            nodes[i] = pq.enqueue(keys[i], i);
+            System.out.printf("Enqueued - payload: %d - key: %.0f%n", i, keys[i]);
+        }
+
+        System.out.printf("Peeked - payload: %d - key: %.0f%n", pq.peekPayload(), pq.peekKey());
+
+        PairingHeapPriorityQueue.Node decreased = nodes[4];
+        pq.decreaseKey(decreased, 0);
+        System.out.printf("Key decreased - payload: %d - new key: %.0f%n", decreased.getPayload(), decreased.getKey());
+
+        PairingHeapPriorityQueue.Node removed = nodes[2];
+        pq.remove(removed);
+        System.out.printf("Removed - payload: 2 - enqueued: %b%n", removed.isEnqueued());
+
+        PairingHeapPriorityQueue other = new PairingHeapPriorityQueue(new PrimitiveMinOrdering());
+        other.enqueue(2, 10);
+        other.enqueue(7, 11);
+        pq.meld(other);
+        System.out.println("Melded - payloads: 10, 11 - keys: 2, 7");
+
+        while (!pq.isEmpty()) {
+            double key = pq.peekKey();
+            long payload = pq.dequeue();
+            System.out.printf("Dequeued - payload: %d - key: %.0f%n", payload, key);
+        }
+    }
+
+    public static void fibonacciHeap() {
+        FibonacciHeapPriorityQueue pq = new FibonacciHeapPriorityQueue(new PrimitiveMinOrdering());
+        double[] keys = {5, 3, 8, 1, 9, 4};
+        FibonacciHeapPriorityQueue.Node[] nodes = new FibonacciHeapPriorityQueue.Node[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            nodes[i] = pq.enqueue(keys[i], i);
+            System.out.printf("Enqueued - payload: %d - key: %.0f%n", i, keys[i]);
+        }
+
+        System.out.printf("Peeked - payload: %d - key: %.0f%n", pq.peekPayload(), pq.peekKey());
+
+        FibonacciHeapPriorityQueue.Node decreased = nodes[4];
+        pq.decreaseKey(decreased, 0);
+        System.out.printf("Key decreased - payload: %d - new key: %.0f%n", decreased.getPayload(), decreased.getKey());
+
+        FibonacciHeapPriorityQueue.Node removed = nodes[2];
+        pq.remove(removed);
+        System.out.printf("Removed - payload: 2 - enqueued: %b%n", removed.isEnqueued());
+
+        FibonacciHeapPriorityQueue other = new FibonacciHeapPriorityQueue(new PrimitiveMinOrdering());
+        other.enqueue(2, 10);
+        other.enqueue(7, 11);
+        pq.meld(other);
+        System.out.println("Melded - payloads: 10, 11 - keys: 2, 7");
+
+        while (!pq.isEmpty()) {
+            double key = pq.peekKey();
+            long payload = pq.dequeue();
+            System.out.printf("Dequeued - payload: %d - key: %.0f%n", payload, key);
+        }
+    }
+
+    /**
+     * Enqueues the items 0 to 11 from 4 threads at once, each thread enqueuing 3 of them
+     */
+    private static void enqueueConcurrently(Consumer<Integer> enqueue) {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int threadIndex = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int item = threadIndex; item < 12; item += 4) enqueue.accept(item);
+            }));
+        }
+        try {
+            for (Thread thread : threads) thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        System.out.println("Enqueued - items: 0 to 11 - from 4 threads");
+    }
+
+    public static void skipList() {
+        SkipListPriorityQueue<Integer> pq = new SkipListPriorityQueue<Integer>(new MinOrdering<>());
+        enqueueConcurrently(pq::enqueue);
+
+        System.out.printf("Peeked - item: %d%n", pq.peek());
+
+        // Dequeued in order, as the threads are done
+        Integer item;
+        while ((item = pq.dequeue()) != null) {
+            System.out.printf("Dequeued - item: %d%n", item);
+        }
+    }
+
+    public static void multiQueue() {
+        MultiQueue<Integer> pq = new MultiQueue<Integer>(2, 4, new MinOrdering<>());
+        enqueueConcurrently(pq::enqueue);
+
+        System.out.printf("Heaps: %d%n", pq.getHeapsCount());
+
+        // Dequeued roughly in order, as each dequeue only looks at 2 random heaps
+        Integer item;
+        while ((item = pq.dequeue()) != null) {
+            System.out.printf("Dequeued - item: %d%n", item);
+        }
+    }
+
     public record Job(int priority) implements Comparable<Job> {
 
         @Override
@@ -0,0 +1,295 @@
+package priorityqueue;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SpecializedPrimitiveOrdering;
+
+/**
+ * Pairing heap of double keys carrying long payloads, eg the indices of the vertices of a graph.
+ * The heap is a tree whose children are linked as a list, first child first, and whose root takes the most precedence:
+ * <ul>
+ *     <li>An enqueue and a meld link a tree to the root in O(1).</li>
+ *     <li>A decrease-key cuts the node from its parent, then links it to the root in O(1) as well,
+ *     but the cut subtrees add up to the work of the next dequeues. Its amortized cost is not known to be O(1):
+ *     Fredman proved a lower bound of Omega(log log n), and the best known upper bound is Pettie's
+ *     O(2^(2 sqrt(log log n))).</li>
+ *     <li>A dequeue links the children of the root by pairs from left to right, then the pairs from right to left,
+ *     in O(log n) amortized.</li>
+ * </ul>
+ * The {@link FibonacciHeapPriorityQueue} guarantees O(1) amortized decrease-keys,
+ * for the callers that need the bound rather than the usually smaller constant factors of the pairing heap.
+ * Every enqueue returns the node of the entry, which is its handle for the decrease-keys and the removals.
+ * The nodes of the dequeued and removed entries are pooled and reused by the next enqueues,
+ * so a handle must not be used anymore once its entry left the heap.
+ */
+public class PairingHeapPriorityQueue {
+    public static final int DEFAULT_MAX_POOLED_NODES = 1 << 16;
+
+    /**
+     * The node of an entry
+     */
+    public static final class Node {
+        private double key;
+
+        private long payload;
+
+        private Node child;
+
+        /**
+         * The next sibling
+         */
+        private Node sibling;
+
+        /**
+         * The previous sibling, or the parent for the first child
+         */
+        private Node prev;
+
+        private boolean isEnqueued;
+
+        private Node() {
+        }
+
+        public double getKey() {
+            return key;
+        }
+
+        public long getPayload() {
+            return payload;
+        }
+
+        public boolean isEnqueued() {
+            return isEnqueued;
+        }
+    }
+
+    private final SpecializedPrimitiveOrdering ordering;
+
+    private Node root;
+
+    private int size;
+
+    /**
+     * The pooled nodes, linked by their next sibling
+     */
+    private Node pool;
+
+    private int pooledNodesCount;
+
+    private final int maxPooledNodes;
+
+    public PairingHeapPriorityQueue(PrimitiveSortOrderingStrategy orderingStrategy) {
+        this(orderingStrategy, DEFAULT_MAX_POOLED_NODES);
+    }
+
+    /**
+     * @param orderingStrategy The ordering strategy of the keys, eg the primitive min ordering for a min heap
+     * @param maxPooledNodes   The max count of nodes kept for reuse, 0 to disable the pooling
+     */
+    public PairingHeapPriorityQueue(PrimitiveSortOrderingStrategy orderingStrategy, int maxPooledNodes) {
+        if (maxPooledNodes < 0) {
+            throw new IllegalArgumentException("The max count of pooled nodes must not be negative");
+        }
+        ordering = new SpecializedPrimitiveOrdering(orderingStrategy);
+        this.maxPooledNodes = maxPooledNodes;
+    }
+
+    private Node acquireNode(double key, long payload) {
+        Node node = pool;
+        if (node == null) {
+            node = new Node();
+        } else {
+            pool = node.sibling;
+            pooledNodesCount--;
+            node.sibling = null;
+        }
+        node.key = key;
+        node.payload = payload;
+        node.isEnqueued = true;
+        return node;
+    }
+
+    private void releaseNode(Node node) {
+        node.isEnqueued = false;
+        node.child = node.prev = node.sibling = null;
+        if (pooledNodesCount < maxPooledNodes) {
+            node.sibling = pool;
+            pool = node;
+            pooledNodesCount++;
+        }
+    }
+
+    /**
+     * Links 2 trees, the root that takes the most precedence becoming the parent of the other one
+     *
+     * @return The root of the linked tree
+     */
+    private Node link(Node first, Node second) {
+        if (ordering.shouldPrecede(second.key, first.key)) {
+            Node temp = first;
+            first = second;
+            second = temp;
+        }
+        second.sibling = first.child;
+        if (first.child != null) first.child.prev = second;
+        second.prev = first;
+        first.child = second;
+        return first;
+    }
+
+    /**
+     * Links a list of sibling trees into one: by pairs from left to right, then the pairs from right to left
+     *
+     * @param first The first tree of the list, if any
+     * @return The root of the linked tree, if any
+     */
+    private Node mergePairs(Node first) {
+        if (first == null) return null;
+
+        // The linked pairs are stacked through their sibling link, the last pair on top
+        Node pairs = null;
+        while (first != null) {
+            Node left = first, right = left.sibling;
+            left.prev = null;
+            if (right == null) {
+                left.sibling = pairs;
+                pairs = left;
+                break;
+            }
+            first = right.sibling;
+            left.sibling = right.sibling = right.prev = null;
+            Node pair = link(left, right);
+            pair.sibling = pairs;
+            pairs = pair;
+        }
+
+        Node merged = pairs;
+        pairs = pairs.sibling;
+        merged.sibling = null;
+        while (pairs != null) {
+            Node next = pairs.sibling;
+            pairs.sibling = null;
+            merged = link(merged, pairs);
+            pairs = next;
+        }
+        return merged;
+    }
+
+    /**
+     * Detaches a node that is not the root, along with its subtree, from its parent or its previous sibling
+     */
+    private void cut(Node node) {
+        if (node.prev.child == node) node.prev.child = node.sibling;
+        else node.prev.sibling = node.sibling;
+        if (node.sibling != null) node.sibling.prev = node.prev;
+        node.prev = node.sibling = null;
+    }
+
+    private void checkEnqueued(Node node) {
+        if (!node.isEnqueued) {
+            throw new IllegalArgumentException("The node is not enqueued");
+        }
+    }
+
+    /**
+     * Enqueues an entry in O(1)
+     *
+     * @param key     The key
+     * @param payload The payload
+     * @return The node of the entry, its handle until it leaves the heap
+     */
+    public Node enqueue(double key, long payload) {
+        Node node = acquireNode(key, payload);
+        root = root == null ? node : link(root, node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Gets the node of the entry that takes the most precedence
+     */
+    public Node peek() {
+        if (root == null) throw new IndexOutOfBoundsException("The queue is empty");
+        return root;
+    }
+
+    public double peekKey() {
+        return peek().key;
+    }
+
+    public long peekPayload() {
+        return peek().payload;
+    }
+
+    /**
+     * Dequeues the entry that takes the most precedence, whose node is recycled
+     *
+     * @return The payload of the entry
+     */
+    public long dequeue() {
+        Node topNode = peek();
+        long payload = topNode.payload;
+        root = mergePairs(topNode.child);
+        size--;
+        releaseNode(topNode);
+        return payload;
+    }
+
+    /**
+     * Gives more precedence to an entry, eg lowers its key in a min heap.
+     * The cut and the link take O(1), but the amortized cost is between Omega(log log n) and O(2^(2 sqrt(log log n))),
+     * see the {@link FibonacciHeapPriorityQueue} for O(1) amortized decrease-keys.
+     *
+     * @param node The node of the entry
+     * @param key  The new key, which must not follow the current key
+     */
+    public void decreaseKey(Node node, double key) {
+        checkEnqueued(node);
+        if (ordering.shouldPrecede(node.key, key)) {
+            throw new IllegalArgumentException("The new key follows the current key");
+        }
+        node.key = key;
+        if (node == root) return;
+        cut(node);
+        root = link(root, node);
+    }
+
+    /**
+     * Removes an entry in O(log n) amortized, whose node is recycled
+     *
+     * @param node The node of the entry
+     */
+    public void remove(Node node) {
+        checkEnqueued(node);
+        if (node == root) {
+            dequeue();
+            return;
+        }
+        cut(node);
+        Node children = mergePairs(node.child);
+        if (children != null) root = link(root, children);
+        size--;
+        releaseNode(node);
+    }
+
+    /**
+     * Moves all the entries of another heap into this one in O(1), the handles staying valid.
+     * The other heap must have the same ordering strategy and is left empty.
+     *
+     * @param other The other heap
+     */
+    public void meld(PairingHeapPriorityQueue other) {
+        if (other == this || other.root == null) return;
+        root = root == null ? other.root : link(root, other.root);
+        size += other.size;
+        other.root = null;
+        other.size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
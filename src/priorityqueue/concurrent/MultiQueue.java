@@ -0,0 +1,172 @@
+package priorityqueue.concurrent;
+
+import priorityqueue.DaryHeapPriorityQueue;
+import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Relaxed concurrent priority queue, ie the MultiQueue of Rihani, Sanders and Dementiev:
+ * the items are spread over c * p d-ary heaps, p being the count of threads and c a small factor,
+ * each heap being guarded by a lock of its own.
+ * <ul>
+ *     <li>An enqueue picks a random heap whose lock is free and enqueues the item into it.</li>
+ *     <li>A dequeue picks 2 random heaps, then dequeues the top of the one whose top takes more precedence,
+ *     if its lock is free, picking again otherwise.</li>
+ * </ul>
+ * The threads seldom contend for the same heap and never wait for a lock held by another one,
+ * in exchange for a relaxed ordering: a dequeue returns an item that is close to the top of the queue,
+ * whose expected rank is in the order of c * p, rather than the top itself.
+ * A dequeue only looks at every heap, waiting for their locks, when both random picks are empty,
+ * so that a queue with few items is still drained.
+ *
+ * @param <T> The type of the items
+ */
+public class MultiQueue<T extends Comparable<T>> {
+    public static final int DEFAULT_HEAPS_PER_THREAD = 2;
+
+    private static final class Heap<T extends Comparable<T>> {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final DaryHeapPriorityQueue<T> heap;
+
+        /**
+         * The top of the heap, or null if it is empty, which the dequeues read without taking the lock
+         */
+        private volatile T top;
+
+        Heap(SortOrderingStrategy<T> orderingStrategy) {
+            heap = new DaryHeapPriorityQueue<>(orderingStrategy);
+        }
+
+        /**
+         * Dequeues the top of the heap while holding the lock
+         */
+        T dequeue() {
+            T item = heap.dequeue();
+            top = heap.isEmpty() ? null : heap.peek();
+            return item;
+        }
+    }
+
+    private final Heap<T>[] heaps;
+
+    private final LongAdder size = new LongAdder();
+
+    private final SpecializedOrdering<T> ordering;
+
+    /**
+     * Creates a queue for as many threads as available processors
+     */
+    public MultiQueue(SortOrderingStrategy<T> orderingStrategy) {
+        this(DEFAULT_HEAPS_PER_THREAD, Runtime.getRuntime().availableProcessors(), orderingStrategy);
+    }
+
+    /**
+     * @param heapsPerThread   The count of heaps per thread, ie c
+     * @param threadsCount     The count of threads that share the queue, ie p
+     * @param orderingStrategy The ordering strategy
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MultiQueue(int heapsPerThread, int threadsCount, SortOrderingStrategy<T> orderingStrategy) {
+        if (heapsPerThread < 1) {
+            throw new IllegalArgumentException("The count of heaps per thread must be at least 1");
+        }
+        if (threadsCount < 1) {
+            throw new IllegalArgumentException("The count of threads must be at least 1");
+        }
+        // At least 2 heaps, so that the 2 picks of a dequeue are meaningful
+        heaps = (Heap<T>[]) new Heap[Math.max(2, heapsPerThread * threadsCount)];
+        for (int i = 0; i < heaps.length; i++) heaps[i] = new Heap<>(orderingStrategy);
+        ordering = new SpecializedOrdering<>(orderingStrategy);
+    }
+
+    /**
+     * Enqueues an item into a random heap whose lock is free
+     *
+     * @param item The item
+     */
+    public void enqueue(T item) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Heap<T> heap;
+        do {
+            heap = heaps[random.nextInt(heaps.length)];
+        } while (!heap.lock.tryLock());
+        try {
+            heap.heap.enqueue(item);
+            T top = heap.top;
+            if (top == null || ordering.shouldPrecede(item, top)) heap.top = item;
+        } finally {
+            heap.lock.unlock();
+        }
+        size.increment();
+    }
+
+    /**
+     * Dequeues the top of the better of 2 random heaps
+     *
+     * @return The item, or null if the queue is empty
+     */
+    public T dequeue() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Heap<T> first = heaps[random.nextInt(heaps.length)], second = heaps[random.nextInt(heaps.length)];
+            T firstTop = first.top, secondTop = second.top;
+            if (firstTop == null && secondTop == null) return dequeueFromAny();
+
+            Heap<T> heap = firstTop == null || secondTop != null && ordering.shouldPrecede(secondTop, firstTop) ? second : first;
+            if (!heap.lock.tryLock()) continue;
+            try {
+                // The heap may have been emptied since its top was read
+                if (heap.heap.isEmpty()) continue;
+                size.decrement();
+                return heap.dequeue();
+            } finally {
+                heap.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Dequeues the top of the first heap that is not empty, waiting for the locks
+     *
+     * @return The item, or null if all the heaps are empty
+     */
+    private T dequeueFromAny() {
+        int start = ThreadLocalRandom.current().nextInt(heaps.length);
+        for (int i = 0; i < heaps.length; i++) {
+            Heap<T> heap = heaps[(start + i) % heaps.length];
+            if (heap.top == null) continue;
+            heap.lock.lock();
+            try {
+                if (heap.heap.isEmpty()) continue;
+                size.decrement();
+                return heap.dequeue();
+            } finally {
+                heap.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        for (Heap<T> heap : heaps) {
+            if (heap.top != null) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the count of items, which is only exact while the threads are quiescent
+     */
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    public int getHeapsCount() {
+        return heaps.length;
+    }
+}
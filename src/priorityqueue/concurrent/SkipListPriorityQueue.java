@@ -0,0 +1,213 @@
+package priorityqueue.concurrent;
+
+import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free priority queue over a skip list, in the manner of the SkipQueue of Herlihy and Shavit.
+ * <ul>
+ *     <li>The items are kept in order in a lock-free skip list: every level is a linked list whose links are
+ *     updated by compare-and-set, and a node is removed by marking its links first, top level first,
+ *     then unlinking it, which any traversal that comes across a marked link helps with.</li>
+ *     <li>A dequeue walks the bottom level from the head and claims the first node that no other thread claimed yet
+ *     by flipping its flag, then removes it from the skip list.</li>
+ * </ul>
+ * No thread ever waits for another one. The queue is strictly ordered while the threads are quiescent,
+ * ie a dequeue returns the item that takes the most precedence among the ones whose enqueue completed before it
+ * started and that no concurrent dequeue claimed.
+ * The equivalent items are dequeued in the order of their enqueue, which a ticket taken at the enqueue keeps track of.
+ *
+ * @param <T> The type of the items
+ */
+public class SkipListPriorityQueue<T extends Comparable<T>> {
+    /**
+     * The count of levels of the skip list, which fits 2^32 items
+     */
+    private static final int MAX_LEVEL = 32;
+
+    private static final class Node<T> {
+        private final T item;
+
+        private final long ticket;
+
+        /**
+         * The next node at each level of the node, whose mark tells that the node is being removed
+         */
+        private final AtomicMarkableReference<Node<T>>[] next;
+
+        /**
+         * Whether a dequeue claimed the node
+         */
+        private final AtomicBoolean isClaimed = new AtomicBoolean();
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(T item, long ticket, int levelsCount) {
+            this.item = item;
+            this.ticket = ticket;
+            next = (AtomicMarkableReference<Node<T>>[]) new AtomicMarkableReference[levelsCount];
+            for (int level = 0; level < levelsCount; level++) next[level] = new AtomicMarkableReference<>(null, false);
+        }
+
+        int getTopLevel() {
+            return next.length - 1;
+        }
+    }
+
+    /**
+     * The sentinel that precedes every node at every level, the end of the levels being null
+     */
+    private final Node<T> head = new Node<>(null, Long.MIN_VALUE, MAX_LEVEL);
+
+    private final AtomicLong tickets = new AtomicLong();
+
+    private final LongAdder size = new LongAdder();
+
+    private final SpecializedOrdering<T> ordering;
+
+    public SkipListPriorityQueue(SortOrderingStrategy<T> orderingStrategy) {
+        ordering = new SpecializedOrdering<>(orderingStrategy);
+    }
+
+    /**
+     * Whether a node precedes another one: by their items, then by their tickets
+     */
+    private boolean precedes(Node<T> node, Node<T> other) {
+        int comparison = ordering.compare(node.item, other.item);
+        return comparison != 0 ? comparison < 0 : node.ticket < other.ticket;
+    }
+
+    /**
+     * Gets a random level with a geometric distribution, ie the level l with the probability 2^-(l + 1)
+     */
+    private static int getRandomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+    }
+
+    /**
+     * Finds the nodes that surround the place of a node at every level, unlinking the marked nodes along the way
+     *
+     * @param node  The node
+     * @param preds The last node that precedes the node at each level
+     * @param succs The first node that does not precede the node at each level, null for the end of the level
+     */
+    private void find(Node<T> node, Node<T>[] preds, Node<T>[] succs) {
+        boolean[] isMarked = {false};
+        retry:
+        while (true) {
+            Node<T> pred = head;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Node<T> curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node<T> succ = curr.next[level].get(isMarked);
+                    if (isMarked[0]) {
+                        // Helping the removal of the marked node, from scratch if the predecessor changed meanwhile
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) continue retry;
+                        curr = succ;
+                    } else if (precedes(curr, node)) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return;
+        }
+    }
+
+    /**
+     * Enqueues an item without ever waiting for the other threads
+     *
+     * @param item The item
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void enqueue(T item) {
+        Node<T> node = new Node<>(item, tickets.getAndIncrement(), getRandomLevel() + 1);
+        Node<T>[] preds = (Node<T>[]) new Node[MAX_LEVEL], succs = (Node<T>[]) new Node[MAX_LEVEL];
+        int topLevel = node.getTopLevel();
+
+        // The node is in the queue once linked at the bottom level
+        while (true) {
+            find(node, preds, succs);
+            for (int level = 0; level <= topLevel; level++) node.next[level].set(succs[level], false);
+            if (preds[0].next[0].compareAndSet(succs[0], node, false, false)) break;
+        }
+        size.increment();
+
+        // The upper levels only speed the searches up, so the linking stops if the node is being removed meanwhile
+        boolean[] isMarked = {false};
+        for (int level = 1; level <= topLevel; level++) {
+            while (true) {
+                Node<T> pred = preds[level], succ = succs[level], next = node.next[level].get(isMarked);
+                if (isMarked[0] || next != succ && !node.next[level].compareAndSet(next, succ, false, false)) return;
+                if (pred.next[level].compareAndSet(succ, node, false, false)) break;
+                find(node, preds, succs);
+            }
+        }
+    }
+
+    /**
+     * Marks the links of a claimed node from its top level down, then unlinks it through a search
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void remove(Node<T> node) {
+        boolean[] isMarked = {false};
+        for (int level = node.getTopLevel(); level >= 0; level--) {
+            Node<T> succ = node.next[level].get(isMarked);
+            while (!isMarked[0]) {
+                node.next[level].attemptMark(succ, true);
+                succ = node.next[level].get(isMarked);
+            }
+        }
+        find(node, (Node<T>[]) new Node[MAX_LEVEL], (Node<T>[]) new Node[MAX_LEVEL]);
+    }
+
+    /**
+     * Dequeues the item that takes the most precedence without ever waiting for the other threads
+     *
+     * @return The item, or null if the queue is empty
+     */
+    public T dequeue() {
+        Node<T> curr = head.next[0].getReference();
+        while (curr != null) {
+            if (!curr.next[0].isMarked() && curr.isClaimed.compareAndSet(false, true)) {
+                size.decrement();
+                remove(curr);
+                return curr.item;
+            }
+            curr = curr.next[0].getReference();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the item that takes the most precedence without dequeuing it
+     *
+     * @return The item, or null if the queue is empty
+     */
+    public T peek() {
+        for (Node<T> curr = head.next[0].getReference(); curr != null; curr = curr.next[0].getReference()) {
+            if (!curr.isClaimed.get()) return curr.item;
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Gets the count of items, which is only exact while the threads are quiescent
+     */
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+}
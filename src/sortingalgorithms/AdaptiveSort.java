@@ -0,0 +1,392 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.NaturalOrdering;
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SpecializedPrimitiveOrdering;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntPredicate;
+
+/**
+ * Sort strategy that picks the sort strategy to dispatch to from cheap statistics of the input:
+ * <ol>
+ *     <li>Tiny inputs go to the {@link InsertionSort}.</li>
+ *     <li>Windows of adjacent items are sampled to estimate the ratio of descents, ie of adjacent items out of order.
+ *     Nearly sorted or nearly reversed inputs go to the {@link TimSort}, which merges their runs.</li>
+ *     <li>A random sample of the items is sorted to estimate the ratio of distinct keys.
+ *     Inputs having few unique keys go to the {@link ThreeWayQuickSort}.</li>
+ *     <li>Huge inputs go to the {@link SampleSort} on multi-core machines.</li>
+ *     <li>Strings in their natural order go to the {@link MultikeyQuickSort}, anything else to the introsort.</li>
+ * </ol>
+ * The primitive arrays go to the {@link PrimitiveInsertionSort} when tiny. Otherwise their descents are sampled the same way:
+ * nearly sorted inputs go to the {@link PrimitiveMergeSort}, which skips the merges of ranges already in order,
+ * and nearly reversed ones are reversed beforehand, equal primitive items being indistinguishable.
+ * Huge inputs in their natural order go to {@link Arrays#parallelSort(int[])} on multi-core machines,
+ * the other ones to the {@link RadixSort}, or to the {@link PrimitiveMergeSort} for the orderings that neither supports.
+ * <p>
+ * The sample is drawn from a fixed seed so that the same input always gets the same decision.
+ * Every decision is logged at the DEBUG level of the {@link System.Logger} of this class and handed to the optional listener,
+ * so that they can be audited.
+ *
+ * @param <T> The type of the array items
+ */
+public class AdaptiveSort<T extends Comparable<T>>
+        implements SortAlgoStrategy<T>, IntSortAlgoStrategy, LongSortAlgoStrategy, DoubleSortAlgoStrategy {
+    /**
+     * Inputs that are at most this long are sorted by the insertion sort
+     */
+    public static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * Primitive inputs that are at least this long are sorted by the radix sort
+     */
+    public static final int RADIX_SORT_THRESHOLD = 1 << 10;
+
+    /**
+     * Inputs that are at least this long are sorted concurrently on multi-core machines, unless configured otherwise
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 20;
+
+    /**
+     * Inputs whose ratio of descents is at most this, or at least its complement, are considered nearly sorted
+     */
+    public static final double PRESORTED_DESCENT_RATIO = 0.05;
+
+    /**
+     * Inputs whose sample has at most this ratio of distinct keys are considered of low cardinality
+     */
+    public static final double LOW_CARDINALITY_RATIO = 0.1;
+
+    /**
+     * Inputs up to this length have all their adjacent items checked for descents
+     */
+    private static final int FULL_SCAN_MAX_LENGTH = 1 << 12;
+
+    private static final int DESCENT_WINDOWS_COUNT = 64;
+
+    private static final int DESCENT_WINDOW_LENGTH = 32;
+
+    private static final int DISTINCT_SAMPLE_SIZE = 256;
+
+    private static final long SAMPLE_SEED = 0x5EEDL;
+
+    private static final System.Logger LOGGER = System.getLogger(AdaptiveSort.class.getName());
+
+    /**
+     * A dispatch decision
+     *
+     * @param strategy      The name of the chosen strategy
+     * @param length        The length of the input
+     * @param keyType       The runtime type of the items
+     * @param descentRatio  The estimated ratio of descents, NaN if not sampled
+     * @param distinctRatio The estimated ratio of distinct keys, NaN if not sampled
+     * @param reason        Why the strategy was chosen
+     */
+    public record Decision(
+            String strategy,
+            int length,
+            String keyType,
+            double descentRatio,
+            double distinctRatio,
+            String reason
+    ) {
+        @Override
+        public String toString() {
+            return String.format(
+                    "%s for %d %s items (descents %.3f, distinct %.3f): %s",
+                    strategy, length, keyType, descentRatio, distinctRatio, reason
+            );
+        }
+    }
+
+    /**
+     * Inputs that are at least this long are sorted concurrently on multi-core machines
+     */
+    private final int parallelThreshold;
+
+    private final Consumer<Decision> decisionListener;
+
+    private final InsertionSort<T> insertionSort = new InsertionSort<>();
+
+    private final TimSort<T> timSort = new TimSort<>();
+
+    private final ThreeWayQuickSort<T> threeWayQuickSort = new ThreeWayQuickSort<>();
+
+    private final SampleSort<T> sampleSort = new SampleSort<>();
+
+    private final QuickSort<T> introSort = new QuickSort<>(QuickSort.Mode.INTROSORT);
+
+    private final MultikeyQuickSort multikeyQuickSort = new MultikeyQuickSort();
+
+    private final PrimitiveInsertionSort primitiveInsertionSort = new PrimitiveInsertionSort();
+
+    private final RadixSort radixSort = new RadixSort();
+
+    private final PrimitiveMergeSort primitiveMergeSort = new PrimitiveMergeSort();
+
+    public AdaptiveSort() {
+        this(DEFAULT_PARALLEL_THRESHOLD, null);
+    }
+
+    /**
+     * @param parallelThreshold The length from which the inputs are sorted concurrently on multi-core machines
+     * @param decisionListener  The listener of the decisions, may be null
+     */
+    public AdaptiveSort(int parallelThreshold, Consumer<Decision> decisionListener) {
+        this.parallelThreshold = parallelThreshold;
+        this.decisionListener = decisionListener;
+    }
+
+    private void log(Decision decision) {
+        LOGGER.log(System.Logger.Level.DEBUG, decision::toString);
+        if (decisionListener != null) decisionListener.accept(decision);
+    }
+
+    /**
+     * Estimates the ratio of descents among the adjacent items of a range,
+     * from all of them for the short ranges and from evenly spaced windows otherwise
+     *
+     * @param length    The length of the range
+     * @param isDescent Whether the item at an offset of the range and the next one are out of order
+     */
+    private static double estimateDescentRatio(int length, IntPredicate isDescent) {
+        int windowsCount = length <= FULL_SCAN_MAX_LENGTH ? 1 : DESCENT_WINDOWS_COUNT;
+        int windowLength = length <= FULL_SCAN_MAX_LENGTH ? length - 1 : DESCENT_WINDOW_LENGTH;
+
+        int descentsCount = 0;
+        for (int window = 0; window < windowsCount; window++) {
+            int windowStart = (int) ((long) (length - windowLength - 1) * window / Math.max(1, windowsCount - 1));
+            for (int i = windowStart; i < windowStart + windowLength; i++) {
+                if (isDescent.test(i)) descentsCount++;
+            }
+        }
+        return (double) descentsCount / ((long) windowsCount * windowLength);
+    }
+
+    /**
+     * Estimates the ratio of distinct keys between the start index and the end index from a sorted random sample
+     */
+    private double estimateDistinctRatio(T[] array, int startIndex, int endIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int sampleSize = Math.min(DISTINCT_SAMPLE_SIZE, endIndex - startIndex);
+        T[] sample = Arrays.copyOfRange(array, startIndex, startIndex + sampleSize);
+        SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = array[random.nextInt(startIndex, endIndex)];
+        }
+        introSort.sort(sample, orderingStrategy);
+
+        int distinctCount = 1;
+        for (int i = 1; i < sampleSize; i++) {
+            if (orderingStrategy.shouldPrecede(sample[i - 1], sample[i])) distinctCount++;
+        }
+        return (double) distinctCount / sampleSize;
+    }
+
+    @Override
+    public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int length = toIndex - fromIndex;
+        String keyType = array.getClass().getComponentType().getSimpleName();
+
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            log(new Decision("Insertion sort", length, keyType, Double.NaN, Double.NaN, "tiny input"));
+            return insertionSort.sort(array, fromIndex, toIndex, orderingStrategy);
+        }
+
+        double descentRatio = estimateDescentRatio(
+                length, i -> orderingStrategy.shouldPrecede(array[fromIndex + i + 1], array[fromIndex + i])
+        );
+        if (descentRatio <= PRESORTED_DESCENT_RATIO || descentRatio >= 1 - PRESORTED_DESCENT_RATIO) {
+            log(new Decision("TimSort", length, keyType, descentRatio, Double.NaN, "nearly sorted or reversed input"));
+            return timSort.sort(array, fromIndex, toIndex, orderingStrategy);
+        }
+
+        double distinctRatio = estimateDistinctRatio(array, fromIndex, toIndex, orderingStrategy);
+        if (distinctRatio <= LOW_CARDINALITY_RATIO) {
+            log(new Decision("Three-way quick sort", length, keyType, descentRatio, distinctRatio, "few unique keys"));
+            return threeWayQuickSort.sort(array, fromIndex, toIndex, orderingStrategy);
+        }
+
+        if (length >= parallelThreshold && Runtime.getRuntime().availableProcessors() > 1) {
+            log(new Decision("Sample sort", length, keyType, descentRatio, distinctRatio, "huge input on a multi-core machine"));
+            return sampleSort.sort(array, fromIndex, toIndex, orderingStrategy);
+        }
+
+        if (array instanceof String[] strings
+                && orderingStrategy instanceof NaturalOrdering naturalOrdering
+                && naturalOrdering.isNatural()) {
+            log(new Decision("Multikey quick sort", length, keyType, descentRatio, distinctRatio, "Strings in natural order"));
+            multikeyQuickSort.sort(strings, fromIndex, toIndex, (SortOrderingStrategy<String>) orderingStrategy);
+            return array;
+        }
+
+        log(new Decision("Introsort", length, keyType, descentRatio, distinctRatio, "general input"));
+        return introSort.sort(array, fromIndex, toIndex, orderingStrategy);
+    }
+
+    /**
+     * The strategies that the primitive inputs are dispatched to
+     */
+    private enum PrimitiveStrategy {
+        INSERTION_SORT,
+        MERGE_SORT,
+        REVERSED_MERGE_SORT,
+        PARALLEL_SORT,
+        RADIX_SORT
+    }
+
+    /**
+     * Picks the strategy of a primitive input and logs the decision
+     *
+     * @param length           The length of the input
+     * @param keyType          The type of the primitive keys
+     * @param orderingStrategy The ordering strategy
+     * @param descentRatio     The estimate of the ratio of descents, only computed for the inputs that are not tiny
+     */
+    private PrimitiveStrategy choosePrimitiveStrategy(
+            int length,
+            String keyType,
+            PrimitiveSortOrderingStrategy orderingStrategy,
+            DoubleSupplier descentRatio
+    ) {
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            log(new Decision("Insertion sort", length, keyType, Double.NaN, Double.NaN, "tiny input"));
+            return PrimitiveStrategy.INSERTION_SORT;
+        }
+
+        double ratio = descentRatio.getAsDouble();
+        if (ratio <= PRESORTED_DESCENT_RATIO) {
+            log(new Decision("Merge sort", length, keyType, ratio, Double.NaN, "nearly sorted primitive keys"));
+            return PrimitiveStrategy.MERGE_SORT;
+        }
+        if (ratio >= 1 - PRESORTED_DESCENT_RATIO) {
+            log(new Decision("Merge sort", length, keyType, ratio, Double.NaN, "nearly reversed primitive keys, reversed first"));
+            return PrimitiveStrategy.REVERSED_MERGE_SORT;
+        }
+
+        if (SpecializedPrimitiveOrdering.isNatural(orderingStrategy)) {
+            if (length >= parallelThreshold && Runtime.getRuntime().availableProcessors() > 1) {
+                log(new Decision("Parallel sort", length, keyType, ratio, Double.NaN, "huge primitive input on a multi-core machine"));
+                return PrimitiveStrategy.PARALLEL_SORT;
+            }
+            if (length >= RADIX_SORT_THRESHOLD) {
+                log(new Decision("Radix sort", length, keyType, ratio, Double.NaN, "primitive keys in natural order"));
+                return PrimitiveStrategy.RADIX_SORT;
+            }
+        }
+        log(new Decision("Merge sort", length, keyType, ratio, Double.NaN, "primitive keys"));
+        return PrimitiveStrategy.MERGE_SORT;
+    }
+
+    @Override
+    public int[] sort(int[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        PrimitiveStrategy strategy = choosePrimitiveStrategy(
+                array.length,
+                "int",
+                orderingStrategy,
+                () -> estimateDescentRatio(array.length, i -> orderingStrategy.shouldPrecede(array[i + 1], array[i]))
+        );
+        return switch (strategy) {
+            case INSERTION_SORT -> primitiveInsertionSort.sort(array, orderingStrategy);
+            case MERGE_SORT -> primitiveMergeSort.sort(array, orderingStrategy);
+            case REVERSED_MERGE_SORT -> primitiveMergeSort.sort(reverse(array), orderingStrategy);
+            case PARALLEL_SORT -> parallelSort(array, orderingStrategy);
+            case RADIX_SORT -> radixSort.sort(array, orderingStrategy);
+        };
+    }
+
+    private static int[] reverse(int[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            int item = array[i];
+            array[i] = array[j];
+            array[j] = item;
+        }
+        return array;
+    }
+
+    /**
+     * Sorts concurrently in ascending order, then reverses for the descending order
+     */
+    private static int[] parallelSort(int[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        Arrays.parallelSort(array);
+        return SpecializedPrimitiveOrdering.isDescending(orderingStrategy) ? reverse(array) : array;
+    }
+
+    @Override
+    public long[] sort(long[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        PrimitiveStrategy strategy = choosePrimitiveStrategy(
+                array.length,
+                "long",
+                orderingStrategy,
+                () -> estimateDescentRatio(array.length, i -> orderingStrategy.shouldPrecede(array[i + 1], array[i]))
+        );
+        return switch (strategy) {
+            case INSERTION_SORT -> primitiveInsertionSort.sort(array, orderingStrategy);
+            case MERGE_SORT -> primitiveMergeSort.sort(array, orderingStrategy);
+            case REVERSED_MERGE_SORT -> primitiveMergeSort.sort(reverse(array), orderingStrategy);
+            case PARALLEL_SORT -> parallelSort(array, orderingStrategy);
+            case RADIX_SORT -> radixSort.sort(array, orderingStrategy);
+        };
+    }
+
+    private static long[] reverse(long[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            long item = array[i];
+            array[i] = array[j];
+            array[j] = item;
+        }
+        return array;
+    }
+
+    /**
+     * Sorts concurrently in ascending order, then reverses for the descending order
+     */
+    private static long[] parallelSort(long[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        Arrays.parallelSort(array);
+        return SpecializedPrimitiveOrdering.isDescending(orderingStrategy) ? reverse(array) : array;
+    }
+
+    @Override
+    public double[] sort(double[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        PrimitiveStrategy strategy = choosePrimitiveStrategy(
+                array.length,
+                "double",
+                orderingStrategy,
+                () -> estimateDescentRatio(array.length, i -> orderingStrategy.shouldPrecede(array[i + 1], array[i]))
+        );
+        return switch (strategy) {
+            case INSERTION_SORT -> primitiveInsertionSort.sort(array, orderingStrategy);
+            case MERGE_SORT -> primitiveMergeSort.sort(array, orderingStrategy);
+            case REVERSED_MERGE_SORT -> primitiveMergeSort.sort(reverse(array), orderingStrategy);
+            case PARALLEL_SORT -> parallelSort(array, orderingStrategy);
+            case RADIX_SORT -> radixSort.sort(array, orderingStrategy);
+        };
+    }
+
+    private static double[] reverse(double[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            double item = array[i];
+            array[i] = array[j];
+            array[j] = item;
+        }
+        return array;
+    }
+
+    /**
+     * Sorts concurrently in ascending order, which {@link Arrays#parallelSort(double[])} does
+     * the same way as {@link Double#compareTo(Double)}, then reverses for the descending order
+     */
+    private static double[] parallelSort(double[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        Arrays.parallelSort(array);
+        return SpecializedPrimitiveOrdering.isDescending(orderingStrategy) ? reverse(array) : array;
+    }
+}
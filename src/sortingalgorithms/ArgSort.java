@@ -0,0 +1,237 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.lang.reflect.Array;
+import java.util.BitSet;
+
+/**
+ * Indirect sorting: instead of moving the items, the argsort computes the permutation of the indices
+ * that sorts them, ie the index of the item that goes at each position of the sorted order.
+ * The permutation can then be applied in place to any count of parallel arrays, every item being moved only once,
+ * and several key columns can be sorted lexicographically with a separate ordering strategy each.
+ * <p>
+ * The indices are sorted by a merge sort, so the argsort is stable:
+ * the indices of equivalent items stay in ascending order.
+ */
+public class ArgSort {
+    /**
+     * Runs of indices that are at most this long are sorted by the insertion sort
+     */
+    public static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * Gets the permutation that sorts the keys
+     *
+     * @param keys             The keys, which are left untouched
+     * @param orderingStrategy The ordering strategy
+     * @param <T>              The type of the keys
+     * @return The permutation, whose item at each position is the index of the key that goes there
+     */
+    public <T extends Comparable<T>> int[] argsort(T[] keys, SortOrderingStrategy<T> orderingStrategy) {
+        return argsort(SortColumn.of(keys, orderingStrategy));
+    }
+
+    public int[] argsort(int[] keys, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return argsort(SortColumn.of(keys, orderingStrategy));
+    }
+
+    public int[] argsort(long[] keys, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return argsort(SortColumn.of(keys, orderingStrategy));
+    }
+
+    public int[] argsort(double[] keys, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return argsort(SortColumn.of(keys, orderingStrategy));
+    }
+
+    /**
+     * Gets the permutation that sorts the rows of several key columns lexicographically:
+     * the rows are ordered by the first column, then the rows that are equivalent on it by the second column, and so on.
+     *
+     * @param columns The key columns, which all have the same length
+     * @return The permutation, whose item at each position is the index of the row that goes there
+     */
+    public int[] argsort(SortColumn... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least 1 column is required");
+        }
+        int length = columns[0].getLength();
+        for (SortColumn column : columns) {
+            if (column.getLength() != length) {
+                throw new IllegalArgumentException("All the columns must have the same length");
+            }
+        }
+
+        int[] permutation = new int[length];
+        for (int i = 0; i < length; i++) permutation[i] = i;
+        if (length > 1) mergeSort(permutation, new int[length / 2 + 1], 0, length, columns);
+        return permutation;
+    }
+
+    /**
+     * Sorts the rows of several key columns lexicographically in place, along with other parallel arrays.
+     *
+     * @param columns        The key columns, which are sorted too
+     * @param parallelArrays The other arrays to reorder the same way, none of which may be the array of a key column
+     */
+    public void sort(SortColumn[] columns, Object... parallelArrays) {
+        int[] permutation = argsort(columns);
+
+        Object[] arrays = new Object[columns.length + parallelArrays.length];
+        for (int i = 0; i < columns.length; i++) arrays[i] = columns[i].getArray();
+        System.arraycopy(parallelArrays, 0, arrays, columns.length, parallelArrays.length);
+        applyPermutation(permutation, arrays);
+    }
+
+    private static int compare(SortColumn[] columns, int index, int otherIndex) {
+        for (SortColumn column : columns) {
+            int comparison = column.compare(index, otherIndex);
+            if (comparison != 0) return comparison;
+        }
+        return 0;
+    }
+
+    private static void insertionSort(int[] indices, int startIndex, int endIndex, SortColumn[] columns) {
+        for (int i = startIndex + 1; i < endIndex; i++) {
+            int index = indices[i], j = i - 1;
+            while (j >= startIndex && compare(columns, index, indices[j]) < 0) {
+                indices[j + 1] = indices[j];
+                j--;
+            }
+            indices[j + 1] = index;
+        }
+    }
+
+    /**
+     * The recursive implementation of the merge sort of the indices.
+     *
+     * @param indices    The indices
+     * @param buffer     The scratch buffer, which holds a left half
+     * @param startIndex The start index, inclusive
+     * @param endIndex   The end index, exclusive
+     * @param columns    The key columns
+     */
+    private static void mergeSort(int[] indices, int[] buffer, int startIndex, int endIndex, SortColumn[] columns) {
+        if (endIndex - startIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(indices, startIndex, endIndex, columns);
+            return;
+        }
+
+        int midIndex = (startIndex + endIndex) >>> 1;
+        mergeSort(indices, buffer, startIndex, midIndex, columns);
+        mergeSort(indices, buffer, midIndex, endIndex, columns);
+
+        // The halves are already in order, nothing to merge
+        if (compare(columns, indices[midIndex], indices[midIndex - 1]) >= 0) return;
+
+        int leftLength = midIndex - startIndex;
+        System.arraycopy(indices, startIndex, buffer, 0, leftLength);
+        int i = 0, j = midIndex, k = startIndex;
+        // An index of the right half is only taken when its item strictly precedes the left one, which keeps the sort stable
+        while (i < leftLength && j < endIndex) {
+            indices[k++] = compare(columns, indices[j], buffer[i]) < 0 ? indices[j++] : buffer[i++];
+        }
+        // The remaining indices of the right half are already in place
+        while (i < leftLength) indices[k++] = buffer[i++];
+    }
+
+    /**
+     * Reorders arrays in place according to a permutation, ie the item at the index `permutation[i]` moves to the index i.
+     * The permutation is decomposed into cycles that are rotated, so every item is moved only once.
+     *
+     * Nothing is moved unless the permutation and the arrays are all valid.
+     *
+     * @param permutation The permutation, eg returned by an argsort, which holds every index of the arrays exactly once
+     * @param arrays      The distinct arrays, object arrays or primitive ones, which all have the length of the permutation
+     */
+    public static void applyPermutation(int[] permutation, Object... arrays) {
+        int length = permutation.length;
+        for (int i = 0; i < arrays.length; i++) {
+            Object array = arrays[i];
+            if (array == null || !array.getClass().isArray() || Array.getLength(array) != length) {
+                throw new IllegalArgumentException("All the arrays must have the length of the permutation");
+            }
+            // An array passed twice would be permuted twice
+            for (int j = 0; j < i; j++) {
+                if (arrays[j] == array) throw new IllegalArgumentException("An array must not be passed twice");
+            }
+        }
+
+        // The cycles of anything but a permutation would never close or would run out of the arrays
+        BitSet visited = new BitSet(length);
+        for (int index : permutation) {
+            if (index < 0 || index >= length || visited.get(index)) {
+                throw new IllegalArgumentException("The permutation must hold every index from 0 to " + (length - 1) + " exactly once");
+            }
+            visited.set(index);
+        }
+
+        for (Object array : arrays) {
+            visited.clear();
+            switch (array) {
+                case Object[] objects -> {
+                    for (int start = visited.nextClearBit(0); start < length; start = visited.nextClearBit(start + 1)) {
+                        Object first = objects[start];
+                        int i = start;
+                        for (int next = permutation[i]; next != start; i = next, next = permutation[i]) {
+                            objects[i] = objects[next];
+                            visited.set(i);
+                        }
+                        objects[i] = first;
+                        visited.set(i);
+                    }
+                }
+                case int[] ints -> {
+                    for (int start = visited.nextClearBit(0); start < length; start = visited.nextClearBit(start + 1)) {
+                        int first = ints[start];
+                        int i = start;
+                        for (int next = permutation[i]; next != start; i = next, next = permutation[i]) {
+                            ints[i] = ints[next];
+                            visited.set(i);
+                        }
+                        ints[i] = first;
+                        visited.set(i);
+                    }
+                }
+                case long[] longs -> {
+                    for (int start = visited.nextClearBit(0); start < length; start = visited.nextClearBit(start + 1)) {
+                        long first = longs[start];
+                        int i = start;
+                        for (int next = permutation[i]; next != start; i = next, next = permutation[i]) {
+                            longs[i] = longs[next];
+                            visited.set(i);
+                        }
+                        longs[i] = first;
+                        visited.set(i);
+                    }
+                }
+                case double[] doubles -> {
+                    for (int start = visited.nextClearBit(0); start < length; start = visited.nextClearBit(start + 1)) {
+                        double first = doubles[start];
+                        int i = start;
+                        for (int next = permutation[i]; next != start; i = next, next = permutation[i]) {
+                            doubles[i] = doubles[next];
+                            visited.set(i);
+                        }
+                        doubles[i] = first;
+                        visited.set(i);
+                    }
+                }
+                // The other primitive arrays go through reflection
+                default -> {
+                    for (int start = visited.nextClearBit(0); start < length; start = visited.nextClearBit(start + 1)) {
+                        Object first = Array.get(array, start);
+                        int i = start;
+                        for (int next = permutation[i]; next != start; i = next, next = permutation[i]) {
+                            Array.set(array, i, Array.get(array, next));
+                            visited.set(i);
+                        }
+                        Array.set(array, i, first);
+                        visited.set(i);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -5,11 +5,16 @@ import utils.orderingstrategy.SortOrderingStrategy;
 public class BubbleSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
     @Override
     public T[] sort(T[] array, SortOrderingStrategy<T> ordering) {
-        int length = array.length, lastIndex = length - 1;
+        return sort(array, 0, array.length, ordering);
+    }
+
+    @Override
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> ordering) {
+        int lastIndex = toIndex - 1;
         T temp;
 
-        for (int i = 0; i < lastIndex; i++) {
-            for (int j = i + 1; j < length; j++) {
+        for (int i = fromIndex; i < lastIndex; i++) {
+            for (int j = i + 1; j < toIndex; j++) {
                 if (ordering.shouldPrecede(array[j], array[i])) {
                     temp = array[j];
                     array[j] = array[i];
@@ -0,0 +1,18 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+
+/**
+ * Contract for a sorting algorithm strategy over double arrays.
+ * It is the primitive counterpart of {@link SortAlgoStrategy} that sorts the array without boxing its items.
+ */
+public interface DoubleSortAlgoStrategy {
+    /**
+     * The method that executes the sorting
+     *
+     * @param array            The array to sort
+     * @param orderingStrategy The ordering strategy
+     * @return The sorted array
+     */
+    double[] sort(double[] array, PrimitiveSortOrderingStrategy orderingStrategy);
+}
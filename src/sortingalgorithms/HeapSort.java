@@ -1,25 +1,103 @@
 package sortingalgorithms;
 
-import priorityqueue.BinaryHeapListPriorityQueue;
 import utils.orderingstrategy.SortOrderingStrategy;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * In-place heap sort over a d-ary heap laid out directly inside the array.
+ * It relies on Floyd's bottom-up sift-down: the hole left by the root is first carried down to a leaf
+ * along the path of the children that should come last, then the displaced item is sifted up from that leaf.
+ * Since the displaced item almost always belongs near the leaves,
+ * this takes about half of the comparisons of the textbook sift-down.
+ *
+ * @param <T> The type of the array items
+ */
 public class HeapSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
+    public static final int DEFAULT_ARITY = 2;
+
+    /**
+     * The count of children of each node of the heap
+     */
+    private final int arity;
+
+    public HeapSort() {
+        this(DEFAULT_ARITY);
+    }
+
+    public HeapSort(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity of the heap must be at least 2");
+        }
+        this.arity = arity;
+    }
+
+    /**
+     * Sifts down the item at the given offset inside the heap that is laid out from the start index of the array.
+     * The root of the heap holds the item that should come last according to the ordering strategy
+     * so that moving the root to the back of the range builds the sorted range.
+     *
+     * @param array            The array holding the heap
+     * @param startIndex       The index of the root of the heap
+     * @param offset           The offset of the item to sift down from the root
+     * @param heapSize         The count of items of the heap
+     * @param orderingStrategy The ordering strategy
+     */
+    private void siftDown(T[] array, int startIndex, int offset, int heapSize, SortOrderingStrategy<T> orderingStrategy) {
+        T item = array[startIndex + offset];
+        int i = offset, childOffset;
+
+        // Carrying the hole down to a leaf by promoting the child that should come last at each level
+        while ((childOffset = arity * i + 1) < heapSize) {
+            int lastChildOffset = Math.min(childOffset + arity, heapSize), selectedOffset = childOffset;
+            for (int c = childOffset + 1; c < lastChildOffset; c++) {
+                if (orderingStrategy.shouldPrecede(array[startIndex + selectedOffset], array[startIndex + c])) {
+                    selectedOffset = c;
+                }
+            }
+            array[startIndex + i] = array[startIndex + selectedOffset];
+            i = selectedOffset;
+        }
+
+        // Sifting the item up from the leaf, which rarely goes up more than a level or two
+        int parentOffset;
+        while (i > offset && orderingStrategy.shouldPrecede(array[startIndex + (parentOffset = (i - 1) / arity)], item)) {
+            array[startIndex + i] = array[startIndex + parentOffset];
+            i = parentOffset;
+        }
+        array[startIndex + i] = item;
+    }
+
+    /**
+     * Sorts the items between the start index (inclusive) and the end index (exclusive) of the array in place.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
     @Override
-    public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
-        BinaryHeapListPriorityQueue<T> heap = new BinaryHeapListPriorityQueue<>(
-                new ArrayList<>(List.of(array)),
-                orderingStrategy
-        );
-
-        int i = 0;
-        while (!heap.isEmpty()) {
-            array[i] = heap.dequeue();
-            i++;
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int length = toIndex - fromIndex;
+        T temp;
+
+        // Heapify the items
+        for (int i = (length - 2) / arity; i >= 0 && length > 1; i--) {
+            siftDown(array, fromIndex, i, length, orderingStrategy);
+        }
+
+        // Moving the root to the end of the shrinking heap
+        for (int last = length - 1; last > 0; last--) {
+            temp = array[fromIndex];
+            array[fromIndex] = array[fromIndex + last];
+            array[fromIndex + last] = temp;
+            siftDown(array, fromIndex, 0, last, orderingStrategy);
         }
 
         return array;
     }
+
+    @Override
+    public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
 }
@@ -0,0 +1,380 @@
+package sortingalgorithms;
+
+import priorityqueue.BinaryHeapListPriorityQueue;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sorted collection that absorbs appended batches without ever sorting all its items again,
+ * in the manner of a log-structured merge (LSM) tree.
+ * <p>
+ * Every batch is sorted on its own by the batch sort strategy and becomes the newest level, ie a sorted run.
+ * The levels are ordered from the oldest to the newest and every level is kept more than twice as long
+ * as the next one by merging adjacent levels in the background, so there are at most O(log n) levels and every item
+ * takes part in O(log n) merges, ie an append costs O(log n) per item amortized on top of the sort of its batch.
+ * <p>
+ * The levels are immutable and published as a snapshot, so the reads never wait for the appends nor the merges:
+ * the ordered iteration and the range scans merge the levels of the snapshot on the fly,
+ * and the rank queries binary search them. Equivalent items are ordered from the oldest batch to the newest.
+ *
+ * @param <T> The type of the items
+ */
+public class IncrementalSortedCollection<T extends Comparable<T>> implements Iterable<T> {
+    private final SortAlgoStrategy<T> batchSortStrategy;
+
+    private final SortOrderingStrategy<T> orderingStrategy;
+
+    private final Executor mergeExecutor;
+
+    /**
+     * The snapshot of the sorted levels, from the oldest to the newest
+     */
+    private volatile List<T[]> levels = List.of();
+
+    /**
+     * Whether a merge task is pending or running, guarded by the collection itself
+     */
+    private boolean isMerging;
+
+    public IncrementalSortedCollection(SortAlgoStrategy<T> batchSortStrategy, SortOrderingStrategy<T> orderingStrategy) {
+        this(batchSortStrategy, orderingStrategy, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param batchSortStrategy The sort strategy of the appended batches
+     * @param orderingStrategy  The ordering strategy
+     * @param mergeExecutor     The executor of the merges, eg `Runnable::run` to merge synchronously within the appends
+     */
+    public IncrementalSortedCollection(
+            SortAlgoStrategy<T> batchSortStrategy,
+            SortOrderingStrategy<T> orderingStrategy,
+            Executor mergeExecutor
+    ) {
+        this.batchSortStrategy = batchSortStrategy;
+        this.orderingStrategy = orderingStrategy;
+        this.mergeExecutor = mergeExecutor;
+    }
+
+    /**
+     * The head item of a level inside the merge heap.
+     * Cursors are naturally ordered by the index of their level, which breaks the ties in favor of the oldest level.
+     */
+    private static class LevelCursor<T extends Comparable<T>> implements Comparable<LevelCursor<T>> {
+        final int levelIndex;
+        final T[] level;
+        final int endIndex;
+        int index;
+
+        LevelCursor(int levelIndex, T[] level, int startIndex, int endIndex) {
+            this.levelIndex = levelIndex;
+            this.level = level;
+            this.index = startIndex;
+            this.endIndex = endIndex;
+        }
+
+        T getHead() {
+            return level[index];
+        }
+
+        @Override
+        public int compareTo(LevelCursor<T> other) {
+            return Integer.compare(levelIndex, other.levelIndex);
+        }
+    }
+
+    /**
+     * Orders the level cursors by their head items, then by their level indices
+     */
+    private static class LevelCursorOrdering<T extends Comparable<T>> implements SortOrderingStrategy<LevelCursor<T>> {
+        private final SortOrderingStrategy<T> orderingStrategy;
+
+        LevelCursorOrdering(SortOrderingStrategy<T> orderingStrategy) {
+            this.orderingStrategy = orderingStrategy;
+        }
+
+        @Override
+        public boolean shouldPrecede(LevelCursor<T> current, LevelCursor<T> other) {
+            if (orderingStrategy.shouldPrecede(current.getHead(), other.getHead())) return true;
+            return !orderingStrategy.shouldPrecede(other.getHead(), current.getHead()) && current.compareTo(other) < 0;
+        }
+    }
+
+    /**
+     * Iterates over the items of several levels in order by merging them with a heap of their head items
+     */
+    private class MergingIterator implements Iterator<T> {
+        private final BinaryHeapListPriorityQueue<LevelCursor<T>> heap;
+
+        MergingIterator(ArrayList<LevelCursor<T>> cursors) {
+            heap = new BinaryHeapListPriorityQueue<>(cursors, new LevelCursorOrdering<>(orderingStrategy));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (heap.isEmpty()) throw new NoSuchElementException();
+            LevelCursor<T> cursor = heap.dequeue();
+            T item = cursor.getHead();
+            if (++cursor.index < cursor.endIndex) heap.enqueue(cursor);
+            return item;
+        }
+    }
+
+    /**
+     * Sorts a batch of items then appends it as the newest level. The batch itself is left untouched.
+     *
+     * @param batch The batch of items
+     */
+    public void addAll(T[] batch) {
+        if (batch.length == 0) return;
+        T[] level = batchSortStrategy.sort(Arrays.copyOf(batch, batch.length), orderingStrategy);
+
+        boolean schedulesMerge;
+        synchronized (this) {
+            List<T[]> nextLevels = new ArrayList<>(levels);
+            nextLevels.add(level);
+            levels = List.copyOf(nextLevels);
+
+            schedulesMerge = !isMerging && getMergeIndex(levels) >= 0;
+            if (schedulesMerge) isMerging = true;
+        }
+        if (schedulesMerge) mergeExecutor.execute(this::mergeLevels);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void add(T item) {
+        // Some batch sort strategies need the runtime type of the items, eg the String sorts,
+        // so the batch takes the type of the newest level if it holds the item, or else the type of the item
+        List<T[]> snapshot = levels;
+        Class<?> type = snapshot.isEmpty() ? item.getClass() : snapshot.get(snapshot.size() - 1).getClass().getComponentType();
+        if (!type.isInstance(item)) type = item.getClass();
+        T[] batch = (T[]) Array.newInstance(type, 1);
+        batch[0] = item;
+        addAll(batch);
+    }
+
+    /**
+     * Gets the index of the older level of the next 2 adjacent levels to merge,
+     * ie the newest level that is at most twice as long as the level after it
+     *
+     * @return The index of the level, -1 if no levels need merging
+     */
+    private static <T> int getMergeIndex(List<T[]> levels) {
+        for (int i = levels.size() - 2; i >= 0; i--) {
+            if (levels.get(i).length <= 2 * levels.get(i + 1).length) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the most specific array type that holds the items of both levels,
+     * whose types differ eg when single items of different subclasses were added
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Class<? extends T[]> getCommonArrayType(T[] level, T[] other) {
+        Class<?> type = level.getClass().getComponentType(), otherType = other.getClass().getComponentType();
+        while (!type.isAssignableFrom(otherType)) {
+            // Every item is Comparable, which the interfaces fall back to
+            type = type.isInterface() ? Comparable.class : type.getSuperclass();
+        }
+        return (Class<? extends T[]>) type.arrayType();
+    }
+
+    /**
+     * Merges 2 sorted levels into a new one, the items of the older level coming first among the equivalent items
+     */
+    private T[] merge(T[] olderLevel, T[] newerLevel) {
+        T[] merged = Arrays.copyOf(olderLevel, olderLevel.length + newerLevel.length, getCommonArrayType(olderLevel, newerLevel));
+        int i = 0, j = 0, k = 0;
+        while (i < olderLevel.length && j < newerLevel.length) {
+            if (orderingStrategy.shouldPrecede(newerLevel[j], olderLevel[i])) {
+                merged[k++] = newerLevel[j++];
+            } else {
+                merged[k++] = olderLevel[i++];
+            }
+        }
+        while (i < olderLevel.length) merged[k++] = olderLevel[i++];
+        while (j < newerLevel.length) merged[k++] = newerLevel[j++];
+        return merged;
+    }
+
+    /**
+     * The merge task: merges adjacent levels until every level is more than twice as long as the next one.
+     * The levels are merged outside the lock, which is safe since the appends only ever add levels after them.
+     */
+    private void mergeLevels() {
+        try {
+            while (true) {
+                int mergeIndex;
+                T[] olderLevel, newerLevel;
+                synchronized (this) {
+                    mergeIndex = getMergeIndex(levels);
+                    // The task ends within the same lock as the check, so that no append can be left unmerged
+                    if (mergeIndex < 0) {
+                        isMerging = false;
+                        notifyAll();
+                        return;
+                    }
+                    olderLevel = levels.get(mergeIndex);
+                    newerLevel = levels.get(mergeIndex + 1);
+                }
+
+                T[] merged = merge(olderLevel, newerLevel);
+
+                synchronized (this) {
+                    List<T[]> nextLevels = new ArrayList<>(levels);
+                    nextLevels.set(mergeIndex, merged);
+                    nextLevels.remove(mergeIndex + 1);
+                    levels = List.copyOf(nextLevels);
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                isMerging = false;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until the pending merges are done, after which there are at most O(log n) levels
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public synchronized void awaitMerges() throws InterruptedException {
+        while (isMerging) wait();
+    }
+
+    public int size() {
+        int size = 0;
+        for (T[] level : levels) size += level.length;
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return levels.isEmpty();
+    }
+
+    /**
+     * Gets the current count of sorted levels, which grows while merges are pending
+     *
+     * @return The count of levels
+     */
+    public int getLevelsCount() {
+        return levels.size();
+    }
+
+    /**
+     * Gets the index of the first item of a sorted level that does not precede the given item
+     */
+    private int lowerBound(T[] level, T item) {
+        int low = 0, high = level.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (orderingStrategy.shouldPrecede(level[mid], item)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Gets the index of the first item of a sorted level that the given item precedes
+     */
+    private int upperBound(T[] level, T item) {
+        int low = 0, high = level.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (orderingStrategy.shouldPrecede(item, level[mid])) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    /**
+     * Iterates over all the items in order, as they were when the iteration started
+     */
+    @Override
+    public Iterator<T> iterator() {
+        List<T[]> snapshot = levels;
+        ArrayList<LevelCursor<T>> cursors = new ArrayList<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            cursors.add(new LevelCursor<>(i, snapshot.get(i), 0, snapshot.get(i).length));
+        }
+        return new MergingIterator(cursors);
+    }
+
+    /**
+     * Iterates in order over the items that do not precede the start item and that precede the end item,
+     * as they were when the scan started
+     *
+     * @param fromItem The start item, inclusive
+     * @param toItem   The end item, exclusive
+     * @return The iterator over the items of the range
+     */
+    public Iterator<T> range(T fromItem, T toItem) {
+        List<T[]> snapshot = levels;
+        ArrayList<LevelCursor<T>> cursors = new ArrayList<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            T[] level = snapshot.get(i);
+            int startIndex = lowerBound(level, fromItem), endIndex = lowerBound(level, toItem);
+            if (startIndex < endIndex) cursors.add(new LevelCursor<>(i, level, startIndex, endIndex));
+        }
+        return new MergingIterator(cursors);
+    }
+
+    /**
+     * Gets the rank of an item, ie the count of items that precede it
+     *
+     * @param item The item, which does not need to be in the collection
+     * @return The rank
+     */
+    public int rank(T item) {
+        int rank = 0;
+        for (T[] level : levels) rank += lowerBound(level, item);
+        return rank;
+    }
+
+    /**
+     * Gets the item at a given index of the sorted order.
+     * It is the first item x such that more than `index` items do not follow x,
+     * which is binary searched within every level, so it takes O(log^2 n) comparisons per level.
+     *
+     * @param index The index, between 0 and the size
+     * @return The item
+     */
+    public T get(int index) {
+        List<T[]> snapshot = levels;
+        int size = 0;
+        for (T[] level : snapshot) size += level.length;
+        Objects.checkIndex(index, size);
+
+        T result = null;
+        for (T[] level : snapshot) {
+            int low = 0, high = level.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1, notFollowingCount = 0;
+                for (T[] other : snapshot) notFollowingCount += upperBound(other, level[mid]);
+                if (notFollowingCount > index) high = mid;
+                else low = mid + 1;
+            }
+            if (low < level.length && (result == null || orderingStrategy.shouldPrecede(level[low], result))) {
+                result = level[low];
+            }
+        }
+        return result;
+    }
+}
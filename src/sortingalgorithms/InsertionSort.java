@@ -1,20 +1,35 @@
 package sortingalgorithms;
 
 import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
 
 public class InsertionSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
     @Override
     public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
-        int length = array.length;
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    /**
+     * Sorts the items between the start index (inclusive) and the end index (exclusive) of the array.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
+    @Override
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        SpecializedOrdering<T> ordering = new SpecializedOrdering<>(orderingStrategy);
         T current;
 
-        for (int i = 1; i < length; i++) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
             current = array[i];
 
             // As long as the current item should precede any element amongst the sorted items,
             // we shift the items of the sorted items until the current items find its correct location.
             int j = i;
-            while (j > 0 && orderingStrategy.shouldPrecede(current, array[j - 1])) {
+            while (j > fromIndex && ordering.shouldPrecede(current, array[j - 1])) {
                 array[j] = array[j - 1];
                 j--;
             }
@@ -0,0 +1,176 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.InstrumentedOrdering;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator of a sort strategy that measures its sorts: the comparisons, the displaced items, the elapsed time
+ * and the bytes allocated by the sorting thread.
+ * The counters are read as a {@link SortMetrics} snapshot and every sort is also committed as a {@link SortEvent}
+ * while a JFR recording enables it.
+ * <p>
+ * When it is disabled and no recording listens to its events, the sorts go straight to the decorated strategy,
+ * which is why it can stay wired in permanently. When enabled:
+ * <ul>
+ *     <li>The comparisons go through an {@link InstrumentedOrdering}, which keeps the natural order of the ordering
+ *     strategy but slows down the sorts that compare the natural orderings directly.</li>
+ *     <li>The decorator cannot see the individual writes into the array, so the moves are measured as the count
+ *     of items that ended up at another index. It takes a copy of the sorted range, which can be turned off.</li>
+ *     <li>The allocations are only measured on the calling thread, those of the pool threads of the parallel sorts
+ *     are not counted.</li>
+ * </ul>
+ *
+ * @param <T> The type of the array items
+ */
+public class InstrumentedSortStrategy<T extends Comparable<T>> implements SortAlgoStrategy<T> {
+    /**
+     * The source of the allocated bytes, null if the JVM does not support it
+     */
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+    private final String name;
+
+    private final SortAlgoStrategy<T> sortStrategy;
+
+    private final boolean countsDisplacedItems;
+
+    private volatile boolean enabled = true;
+
+    private final LongAdder sortsCount = new LongAdder();
+
+    private final LongAdder itemsCount = new LongAdder();
+
+    private final LongAdder comparisonsCount = new LongAdder();
+
+    private final LongAdder displacedItemsCount = new LongAdder();
+
+    private final LongAdder elapsedNanos = new LongAdder();
+
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    public InstrumentedSortStrategy(String name, SortAlgoStrategy<T> sortStrategy) {
+        this(name, sortStrategy, true);
+    }
+
+    /**
+     * @param name                 The name of the decorated strategy, reported in the JFR events
+     * @param sortStrategy         The decorated strategy
+     * @param countsDisplacedItems Whether the displaced items are counted, which costs a copy of every sorted range
+     */
+    public InstrumentedSortStrategy(String name, SortAlgoStrategy<T> sortStrategy, boolean countsDisplacedItems) {
+        this.name = name;
+        this.sortStrategy = sortStrategy;
+        this.countsDisplacedItems = countsDisplacedItems;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    private static long getAllocatedBytes() {
+        return THREAD_MX_BEAN == null ? 0 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the counters on or off. The JFR events only depend on the recordings.
+     *
+     * @param enabled Whether the sorts are counted
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the counters since the creation or the last reset.
+     * The counters are read one after the other, so a snapshot taken during a sort may be slightly inconsistent.
+     *
+     * @return The snapshot of the counters
+     */
+    public SortMetrics getMetrics() {
+        return new SortMetrics(
+                sortsCount.sum(),
+                itemsCount.sum(),
+                comparisonsCount.sum(),
+                countsDisplacedItems ? displacedItemsCount.sum() : -1,
+                elapsedNanos.sum(),
+                THREAD_MX_BEAN == null ? -1 : allocatedBytes.sum()
+        );
+    }
+
+    public void reset() {
+        sortsCount.reset();
+        itemsCount.reset();
+        comparisonsCount.reset();
+        displacedItemsCount.reset();
+        elapsedNanos.reset();
+        allocatedBytes.reset();
+    }
+
+    private static <T> long countDisplacedItems(T[] original, T[] sorted, int fromIndex) {
+        long count = 0;
+        for (int i = 0; i < original.length; i++) {
+            if (original[i] != sorted[fromIndex + i]) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    @Override
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        // The event is not allocated when it does not escape, ie when nothing is measured
+        SortEvent event = new SortEvent();
+        boolean counted = enabled;
+        if (!counted && !event.isEnabled()) {
+            return sortStrategy.sort(array, fromIndex, toIndex, orderingStrategy);
+        }
+
+        T[] original = countsDisplacedItems ? Arrays.copyOfRange(array, fromIndex, toIndex) : null;
+        InstrumentedOrdering<T> instrumentedOrdering = new InstrumentedOrdering<>(orderingStrategy);
+
+        event.begin();
+        long allocatedBefore = getAllocatedBytes(), before = System.nanoTime();
+        T[] sortedArray = sortStrategy.sort(array, fromIndex, toIndex, instrumentedOrdering);
+        long elapsed = System.nanoTime() - before, allocated = getAllocatedBytes() - allocatedBefore;
+        event.end();
+
+        long comparisons = instrumentedOrdering.getComparisonsCount();
+        long displacedItems = original != null ? countDisplacedItems(original, sortedArray, fromIndex) : -1;
+
+        if (counted) {
+            sortsCount.increment();
+            itemsCount.add(toIndex - fromIndex);
+            comparisonsCount.add(comparisons);
+            if (original != null) displacedItemsCount.add(displacedItems);
+            elapsedNanos.add(elapsed);
+            allocatedBytes.add(allocated);
+        }
+
+        if (event.shouldCommit()) {
+            event.strategy = name;
+            event.itemsCount = toIndex - fromIndex;
+            event.comparisonsCount = comparisons;
+            event.displacedItemsCount = displacedItems;
+            event.allocatedBytes = THREAD_MX_BEAN == null ? -1 : allocated;
+            event.commit();
+        }
+
+        return sortedArray;
+    }
+}
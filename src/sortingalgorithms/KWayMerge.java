@@ -0,0 +1,336 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Merges k sorted runs at once with a tournament tree of losers, ie every internal node of the tree holds the run
+ * that lost the match played there and the root holds the overall winner. Once the winner is taken, only the matches
+ * on the path from its leaf to the root are replayed, which costs at most ⌈log2(k)⌉ comparisons per item.
+ * <p>
+ * The merge is stable: the ties are won by the run with the lowest index.
+ * Outputs that are longer than the sequential threshold are cut into `parallelism` slices that are merged concurrently:
+ * the start of every slice in each run is found by co-ranking, ie a multi-sequence selection of the item whose rank
+ * is the start of the slice, so the slices are written independently into disjoint ranges of the output.
+ *
+ * @param <T> The type of the items
+ */
+public class KWayMerge<T extends Comparable<T>> {
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * The count of output slices merged concurrently
+     */
+    private final int parallelism;
+
+    /**
+     * Outputs that are at most this long are merged sequentially
+     */
+    private final int sequentialThreshold;
+
+    public KWayMerge() {
+        this(ForkJoinPool.commonPool().getParallelism());
+    }
+
+    public KWayMerge(int parallelism) {
+        this(ForkJoinPool.commonPool(), parallelism, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * @param pool                The pool that merges the slices
+     * @param parallelism         The count of output slices, usually the parallelism of the pool
+     * @param sequentialThreshold The output length up to which the runs are merged sequentially
+     */
+    public KWayMerge(ForkJoinPool pool, int parallelism, int sequentialThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("The sequential threshold must be at least 1");
+        }
+        this.pool = pool;
+        this.parallelism = parallelism;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * The tournament tree of losers over the heads of k sources.
+     * Node n has the children 2n and 2n + 1, the children from k onwards being the leaves of the sources `child - k`,
+     * and node 0 holds the winner.
+     */
+    private static class LoserTree<T extends Comparable<T>> {
+        private final int[] tree;
+
+        private final Object[] heads;
+
+        private final boolean[] isExhausted;
+
+        private final SpecializedOrdering<T> ordering;
+
+        LoserTree(int sourcesCount, SortOrderingStrategy<T> orderingStrategy) {
+            tree = new int[Math.max(sourcesCount, 1)];
+            heads = new Object[sourcesCount];
+            isExhausted = new boolean[sourcesCount];
+            ordering = new SpecializedOrdering<>(orderingStrategy);
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean shouldPrecede(Object item, Object other) {
+            return ordering.shouldPrecede((T) item, (T) other);
+        }
+
+        /**
+         * Whether the head of a source wins over the head of another one. The exhausted sources lose every match
+         * and the ties are won by the source with the lowest index.
+         */
+        private boolean beats(int source, int other) {
+            if (isExhausted[source]) return false;
+            if (isExhausted[other]) return true;
+            return source < other
+                    ? !shouldPrecede(heads[other], heads[source])
+                    : shouldPrecede(heads[source], heads[other]);
+        }
+
+        void setHead(int source, Object head) {
+            heads[source] = head;
+        }
+
+        void setExhausted(int source) {
+            heads[source] = null;
+            isExhausted[source] = true;
+        }
+
+        /**
+         * Plays every match of the tournament once all the heads are set
+         */
+        void build() {
+            int sourcesCount = heads.length;
+            if (sourcesCount == 0) return;
+            int[] winners = new int[sourcesCount];
+            for (int node = sourcesCount - 1; node >= 1; node--) {
+                int left = 2 * node, right = left + 1;
+                int leftWinner = left >= sourcesCount ? left - sourcesCount : winners[left],
+                        rightWinner = right >= sourcesCount ? right - sourcesCount : winners[right];
+                boolean leftWins = beats(leftWinner, rightWinner);
+                winners[node] = leftWins ? leftWinner : rightWinner;
+                tree[node] = leftWins ? rightWinner : leftWinner;
+            }
+            tree[0] = sourcesCount == 1 ? 0 : winners[1];
+        }
+
+        /**
+         * Replays the matches from the leaf of the winner to the root, once its head was replaced
+         */
+        void replay() {
+            int sourcesCount = heads.length, winner = tree[0];
+            for (int node = (winner + sourcesCount) >>> 1; node > 0; node >>>= 1) {
+                if (beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        boolean isEmpty() {
+            return heads.length == 0 || isExhausted[tree[0]];
+        }
+
+        int getWinner() {
+            return tree[0];
+        }
+
+        @SuppressWarnings("unchecked")
+        T getWinnerHead() {
+            return (T) heads[tree[0]];
+        }
+    }
+
+    /**
+     * Merges the ranges [startIndices[i], endIndices[i]) of the runs into the output, starting at the output index.
+     */
+    private static <T extends Comparable<T>> void merge(
+            T[][] runs,
+            int[] startIndices,
+            int[] endIndices,
+            T[] output,
+            int outputIndex,
+            SortOrderingStrategy<T> orderingStrategy
+    ) {
+        int runsCount = runs.length;
+        int[] indices = startIndices.clone();
+        LoserTree<T> tree = new LoserTree<>(runsCount, orderingStrategy);
+        for (int run = 0; run < runsCount; run++) {
+            if (indices[run] < endIndices[run]) tree.setHead(run, runs[run][indices[run]]);
+            else tree.setExhausted(run);
+        }
+        tree.build();
+
+        while (!tree.isEmpty()) {
+            int run = tree.getWinner();
+            output[outputIndex++] = runs[run][indices[run]++];
+            if (indices[run] < endIndices[run]) tree.setHead(run, runs[run][indices[run]]);
+            else tree.setExhausted(run);
+            tree.replay();
+        }
+    }
+
+    /**
+     * Finds how many items of each run come before the given rank of the merged output, ie co-ranks the runs.
+     * The items are totally ordered by the ordering strategy, then by the index of their run and their index within it,
+     * just like the merge orders them.
+     * <p>
+     * Every step takes the middle item of the widest remaining window of the runs as a pivot, counts the items that
+     * come before it in each run by binary searches and narrows all the windows to the side of the pivot that holds
+     * the rank, which at least halves the widest window.
+     *
+     * @param runs             The sorted runs
+     * @param rank             The rank, between 0 and the total length of the runs
+     * @param orderingStrategy The ordering strategy
+     * @return The count of items of each run that come before the rank
+     */
+    private static <T extends Comparable<T>> int[] coRank(T[][] runs, long rank, SortOrderingStrategy<T> orderingStrategy) {
+        int runsCount = runs.length;
+        int[] lows = new int[runsCount], highs = new int[runsCount], counts = new int[runsCount];
+        for (int run = 0; run < runsCount; run++) highs[run] = runs[run].length;
+
+        while (true) {
+            int pivotRun = -1;
+            for (int run = 0; run < runsCount; run++) {
+                if (highs[run] - lows[run] > 0 && (pivotRun < 0 || highs[run] - lows[run] > highs[pivotRun] - lows[pivotRun])) {
+                    pivotRun = run;
+                }
+            }
+            // Every window is empty, the lows are the co-ranks
+            if (pivotRun < 0) return lows;
+
+            int pivotIndex = (lows[pivotRun] + highs[pivotRun]) >>> 1;
+            T pivot = runs[pivotRun][pivotIndex];
+            long pivotRank = 0;
+            for (int run = 0; run < runsCount; run++) {
+                if (run == pivotRun) {
+                    counts[run] = pivotIndex;
+                } else {
+                    // The runs before the pivot's one win the ties, so their items equivalent to the pivot come first
+                    int low = lows[run], high = highs[run];
+                    while (low < high) {
+                        int mid = (low + high) >>> 1;
+                        boolean comesFirst = run < pivotRun
+                                ? !orderingStrategy.shouldPrecede(pivot, runs[run][mid])
+                                : orderingStrategy.shouldPrecede(runs[run][mid], pivot);
+                        if (comesFirst) low = mid + 1;
+                        else high = mid;
+                    }
+                    counts[run] = low;
+                }
+                pivotRank += counts[run];
+            }
+
+            if (pivotRank == rank) return counts;
+            if (pivotRank < rank) {
+                // The pivot and everything before it come before the rank
+                System.arraycopy(counts, 0, lows, 0, runsCount);
+                lows[pivotRun] = pivotIndex + 1;
+            } else {
+                System.arraycopy(counts, 0, highs, 0, runsCount);
+            }
+        }
+    }
+
+    /**
+     * Merges sorted runs into a new array
+     *
+     * @param runs             The runs, each one sorted according to the ordering strategy
+     * @param orderingStrategy The ordering strategy
+     * @return The merged array, whose length is the total length of the runs
+     */
+    @SuppressWarnings("unchecked")
+    public T[] merge(T[][] runs, SortOrderingStrategy<T> orderingStrategy) {
+        long totalLength = 0;
+        for (T[] run : runs) totalLength += run.length;
+        if (totalLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The runs are too long to be merged into an array");
+        }
+        T[] output = (T[]) Array.newInstance(runs.getClass().getComponentType().getComponentType(), (int) totalLength);
+        return merge(runs, output, orderingStrategy);
+    }
+
+    /**
+     * Merges sorted runs into an output array, from its index 0
+     *
+     * @param runs             The runs, each one sorted according to the ordering strategy
+     * @param output           The output array, which is at least as long as all the runs together
+     * @param orderingStrategy The ordering strategy
+     * @return The output array
+     */
+    public T[] merge(T[][] runs, T[] output, SortOrderingStrategy<T> orderingStrategy) {
+        int runsCount = runs.length;
+        long totalLength = 0;
+        for (T[] run : runs) totalLength += run.length;
+        if (totalLength > output.length) {
+            throw new IllegalArgumentException("The output is shorter than the runs");
+        }
+
+        int[] startIndices = new int[runsCount], endIndices = new int[runsCount];
+        for (int run = 0; run < runsCount; run++) endIndices[run] = runs[run].length;
+        if (totalLength <= sequentialThreshold || parallelism == 1) {
+            merge(runs, startIndices, endIndices, output, 0, orderingStrategy);
+            return output;
+        }
+
+        // Every slice co-ranks its own start and end, then writes its disjoint range of the output
+        long length = totalLength;
+        ParallelForEach.run(pool, parallelism, slice -> {
+            long sliceStart = length * slice / parallelism, sliceEnd = length * (slice + 1) / parallelism;
+            if (sliceStart == sliceEnd) return;
+            int[] sliceStartIndices = coRank(runs, sliceStart, orderingStrategy),
+                    sliceEndIndices = coRank(runs, sliceEnd, orderingStrategy);
+            merge(runs, sliceStartIndices, sliceEndIndices, output, (int) sliceStart, orderingStrategy);
+        });
+        return output;
+    }
+
+    /**
+     * Merges sorted sources lazily: every item is pulled from its source only once the previous merged item is taken.
+     *
+     * @param sources          The sources, each one yielding its items in the order defined by the ordering strategy
+     * @param orderingStrategy The ordering strategy
+     * @return The iterator over the merged items
+     */
+    public Iterator<T> merge(List<? extends Iterator<? extends T>> sources, SortOrderingStrategy<T> orderingStrategy) {
+        LoserTree<T> tree = new LoserTree<>(sources.size(), orderingStrategy);
+        for (int source = 0; source < sources.size(); source++) {
+            if (sources.get(source).hasNext()) tree.setHead(source, sources.get(source).next());
+            else tree.setExhausted(source);
+        }
+        tree.build();
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !tree.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (tree.isEmpty()) throw new NoSuchElementException();
+                int source = tree.getWinner();
+                T item = tree.getWinnerHead();
+                Iterator<? extends T> iterator = sources.get(source);
+                if (iterator.hasNext()) tree.setHead(source, iterator.next());
+                else tree.setExhausted(source);
+                tree.replay();
+                return item;
+            }
+        };
+    }
+}
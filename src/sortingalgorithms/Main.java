@@ -2,6 +2,9 @@ package sortingalgorithms;
 
 import utils.orderingstrategy.MaxOrdering;
 import utils.orderingstrategy.MinOrdering;
+import utils.orderingstrategy.PrimitiveMaxOrdering;
+import utils.orderingstrategy.PrimitiveMinOrdering;
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
 import utils.orderingstrategy.SortOrderingStrategy;
 
 import java.util.Scanner;
@@ -47,7 +50,7 @@ public class Main {
         precision = sc.nextInt();
         System.out.println();
 
-        Double[] array = new Double[length], sortedArray;
+        double[] array = new double[length], sortedArray;
 
         System.out.printf("Define the %d array items:%n", length);
         for (int i = 0; i < length; i++) {
@@ -66,9 +69,11 @@ public class Main {
                     4- Merge sort
                     5- Quick sort
                     6- Heap sort
+                    7- Radix sort
+                    8- Adaptive
                     Your choice:\s""");
             sortAlgoChoice = sc.nextInt();
-        } while (sortAlgoChoice < 0 || sortAlgoChoice > 6);
+        } while (sortAlgoChoice < 0 || sortAlgoChoice > 8);
         System.out.println();
         sc.nextLine();
 
@@ -90,16 +95,18 @@ public class Main {
         }
         System.out.println();
 
-        SortOrderingStrategy<Double> ordering = orderingChoice.equals("a")
-                ? new MinOrdering<>()
-                : new MaxOrdering<>();
-        SortAlgoStrategy<Double> sortStrategy = switch (sortAlgoChoice) {
-            case 2 -> new SelectionSort<>();
-            case 3 -> new InsertionSort<>();
-            case 4 -> new MergeSort<>();
-            case 5 -> new QuickSort<>();
-            case 6 -> new HeapSort<>();
-            default -> new BubbleSort<>();
+        PrimitiveSortOrderingStrategy ordering = orderingChoice.equals("a")
+                ? new PrimitiveMinOrdering()
+                : new PrimitiveMaxOrdering();
+        DoubleSortAlgoStrategy sortStrategy = switch (sortAlgoChoice) {
+            case 2 -> new PrimitiveSelectionSort();
+            case 3 -> new PrimitiveInsertionSort();
+            case 4 -> new PrimitiveMergeSort();
+            case 5 -> new PrimitiveQuickSort();
+            case 6 -> new PrimitiveHeapSort();
+            case 7 -> new RadixSort();
+            case 8 -> new AdaptiveSort<>(AdaptiveSort.DEFAULT_PARALLEL_THRESHOLD, decision -> System.out.println("Decision: " + decision));
+            default -> new PrimitiveBubbleSort();
         };
         sortedArray = sortStrategy.sort(array, ordering);
 
@@ -131,9 +138,17 @@ public class Main {
                     4- Merge sort
                     5- Quick sort
                     6- Heap sort
+                    7- Parallel merge sort
+                    8- Introsort
+                    9- Three-way quick sort
+                    10- TimSort
+                    11- MSD radix sort
+                    12- Sample sort
+                    13- Multikey quick sort
+                    14- Adaptive
                     Your choice:\s""");
             sortAlgoChoice = sc.nextInt();
-        } while (sortAlgoChoice < 0 || sortAlgoChoice > 6);
+        } while (sortAlgoChoice < 0 || sortAlgoChoice > 14);
         System.out.println();
         sc.nextLine();
 
@@ -163,14 +178,25 @@ public class Main {
             case 4 -> new MergeSort<>();
             case 5 -> new QuickSort<>();
             case 6 -> new HeapSort<>();
+            case 7 -> new ParallelMergeSort<>();
+            case 8 -> new QuickSort<>(QuickSort.Mode.INTROSORT);
+            case 9 -> new ThreeWayQuickSort<>();
+            case 10 -> new TimSort<>();
+            case 11 -> new MsdRadixSort();
+            case 12 -> new SampleSort<>();
+            case 13 -> new MultikeyQuickSort();
+            case 14 -> new AdaptiveSort<>(AdaptiveSort.DEFAULT_PARALLEL_THRESHOLD, decision -> System.out.println("Decision: " + decision));
             default -> new BubbleSort<>();
         };
-        sortedArray = sortStrategy.sort(array, ordering);
+        InstrumentedSortStrategy<String> instrumentedSortStrategy =
+                new InstrumentedSortStrategy<>(sortStrategy.getClass().getSimpleName(), sortStrategy);
+        sortedArray = instrumentedSortStrategy.sort(array, ordering);
 
         System.out.println("The sorted array:");
         for (String item : sortedArray) {
             System.out.printf("%s, ", item);
         }
         System.out.println();
+        System.out.println("Metrics: " + instrumentedSortStrategy.getMetrics());
     }
 }
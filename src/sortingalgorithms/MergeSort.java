@@ -1,6 +1,7 @@
 package sortingalgorithms;
 
 import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -22,13 +23,14 @@ public class MergeSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
         int arr1Length = arr1.size(),
                 arr2Length = arr2.size();
         int i = 0, j = 0;
-        ArrayList<T> merged = new ArrayList<>();
+        ArrayList<T> merged = new ArrayList<>(arr1Length + arr2Length);
+        SpecializedOrdering<T> ordering = new SpecializedOrdering<>(orderingStrategy);
 
         // Iterating over 2 array lists
         // and appending the item that takes the most precedence to the merged array list.
         // The iterations stop once one of the two array list is done iterating over all its items.
         while (i < arr1Length && j < arr2Length) {
-            if (orderingStrategy.shouldPrecede(arr1.get(i), arr2.get(j))) {
+            if (ordering.shouldPrecede(arr1.get(i), arr2.get(j))) {
                 merged.add(arr1.get(i));
                 i++;
             } else {
@@ -61,7 +63,7 @@ public class MergeSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
     private ArrayList<T> mergeSort(ArrayList<T> array, SortOrderingStrategy<T> orderingStrategy) {
         int length = array.size(), mid = length / 2;
 
-        if (length == 1) {
+        if (length <= 1) {
             return array;
         }
 
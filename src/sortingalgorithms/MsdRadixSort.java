@@ -0,0 +1,192 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.MaxOrdering;
+import utils.orderingstrategy.MinOrdering;
+import utils.orderingstrategy.NaturalOrdering;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.util.stream.IntStream;
+
+/**
+ * Most significant digit (MSD) radix sort for Strings.
+ * Each UTF-16 char is read as 2 bytes, the high one first, so that the byte order matches {@link String#compareTo(String)}.
+ * The Strings are distributed into 256 buckets according to their byte at the current depth, plus a bucket for the Strings
+ * that are shorter than that depth, then each bucket is sorted recursively on the next byte.
+ * Small buckets are handed to the {@link InsertionSort}.
+ * The histogram of the first byte is computed concurrently for the large arrays.
+ * <p>
+ * Only the {@link NaturalOrdering}s, eg the {@link MinOrdering} and the {@link MaxOrdering}, can be expressed as byte orders,
+ * any other ordering strategy is handed to a {@link TimSort}.
+ */
+public class MsdRadixSort implements SortAlgoStrategy<String> {
+    public static final int DEFAULT_PARALLEL_HISTOGRAM_THRESHOLD = 1 << 16;
+
+    /**
+     * Buckets that are at most this long are sorted by the insertion sort
+     */
+    public static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * 256 byte values plus the end of the String
+     */
+    private static final int BUCKETS_COUNT = 257;
+
+    /**
+     * Arrays that are at least this long get their first histogram computed concurrently
+     */
+    private final int parallelHistogramThreshold;
+
+    private final InsertionSort<String> insertionSort = new InsertionSort<>();
+
+    private final TimSort<String> fallbackSort = new TimSort<>();
+
+    public MsdRadixSort() {
+        this(DEFAULT_PARALLEL_HISTOGRAM_THRESHOLD);
+    }
+
+    public MsdRadixSort(int parallelHistogramThreshold) {
+        this.parallelHistogramThreshold = parallelHistogramThreshold;
+    }
+
+    /**
+     * Gets the bucket of a String for the byte at the given depth.
+     * The Strings that are shorter than the depth go first in the ascending order and last in the descending order.
+     *
+     * @param item       The String
+     * @param depth      The index of the byte, 2 bytes per char
+     * @param descending Whether the Strings are sorted in descending order
+     * @return The bucket, between 0 and 256
+     */
+    private static int getBucket(String item, int depth, boolean descending) {
+        int charIndex = depth >>> 1;
+        if (charIndex >= item.length()) {
+            return descending ? BUCKETS_COUNT - 1 : 0;
+        }
+        char c = item.charAt(charIndex);
+        int digit = (depth & 1) == 0 ? c >>> 8 : c & 0xFF;
+        return descending ? 255 - digit : digit + 1;
+    }
+
+    private static int[] computeHistogram(String[] array, int startIndex, int endIndex, int depth, boolean descending) {
+        int[] histogram = new int[BUCKETS_COUNT];
+        for (int i = startIndex; i < endIndex; i++) {
+            histogram[getBucket(array[i], depth, descending)]++;
+        }
+        return histogram;
+    }
+
+    private int[] computeFirstHistogram(String[] array, int fromIndex, int toIndex, boolean descending) {
+        int length = toIndex - fromIndex;
+        if (length < parallelHistogramThreshold) {
+            return computeHistogram(array, fromIndex, toIndex, 0, descending);
+        }
+
+        int chunksCount = Math.max(1, Runtime.getRuntime().availableProcessors());
+        return IntStream.range(0, chunksCount)
+                .parallel()
+                .mapToObj(chunk -> computeHistogram(
+                        array,
+                        fromIndex + (int) ((long) length * chunk / chunksCount),
+                        fromIndex + (int) ((long) length * (chunk + 1) / chunksCount),
+                        0,
+                        descending
+                ))
+                .reduce((histogram, other) -> {
+                    for (int bucket = 0; bucket < BUCKETS_COUNT; bucket++) histogram[bucket] += other[bucket];
+                    return histogram;
+                })
+                .orElseThrow();
+    }
+
+    /**
+     * The recursive implementation of the MSD radix sort.
+     * All the Strings between the start index and the end index share the same first `depth` bytes.
+     *
+     * @param array            The array
+     * @param buffer           The auxiliary array, which is at least as long as the range
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, exclusive
+     * @param depth            The index of the byte to distribute the Strings on
+     * @param histogram        The histogram of the bytes at the given depth, computed if null
+     * @param descending       Whether the Strings are sorted in descending order
+     * @param orderingStrategy The ordering strategy
+     */
+    private void msdRadixSort(
+            String[] array,
+            String[] buffer,
+            int startIndex,
+            int endIndex,
+            int depth,
+            int[] histogram,
+            boolean descending,
+            SortOrderingStrategy<String> orderingStrategy
+    ) {
+        if (endIndex - startIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort.sort(array, startIndex, endIndex, orderingStrategy);
+            return;
+        }
+
+        if (histogram == null) {
+            histogram = computeHistogram(array, startIndex, endIndex, depth, descending);
+        }
+
+        // The offsets of the buckets are the prefix sums of the histogram
+        int[] offsets = new int[BUCKETS_COUNT + 1];
+        for (int bucket = 0; bucket < BUCKETS_COUNT; bucket++) {
+            offsets[bucket + 1] = offsets[bucket] + histogram[bucket];
+        }
+
+        // Distributing the Strings into the buckets through the start of the buffer, which the recursion reuses
+        int[] cursors = offsets.clone();
+        for (int i = startIndex; i < endIndex; i++) {
+            buffer[cursors[getBucket(array[i], depth, descending)]++] = array[i];
+        }
+        System.arraycopy(buffer, 0, array, startIndex, endIndex - startIndex);
+
+        // The bucket of the Strings that ended is already sorted, every other bucket is sorted on the next byte
+        int endedBucket = descending ? BUCKETS_COUNT - 1 : 0;
+        for (int bucket = 0; bucket < BUCKETS_COUNT; bucket++) {
+            if (bucket == endedBucket || histogram[bucket] < 2) continue;
+            msdRadixSort(
+                    array,
+                    buffer,
+                    startIndex + offsets[bucket],
+                    startIndex + offsets[bucket + 1],
+                    depth + 1,
+                    null,
+                    descending,
+                    orderingStrategy
+            );
+        }
+    }
+
+    @Override
+    public String[] sort(String[] array, SortOrderingStrategy<String> orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    @Override
+    public String[] sort(String[] array, int fromIndex, int toIndex, SortOrderingStrategy<String> orderingStrategy) {
+        if (!(orderingStrategy instanceof NaturalOrdering naturalOrdering && naturalOrdering.isNatural())) {
+            return fallbackSort.sort(array, fromIndex, toIndex, orderingStrategy);
+        }
+        boolean descending = naturalOrdering.isDescending();
+        if (toIndex - fromIndex <= INSERTION_SORT_THRESHOLD) {
+            return insertionSort.sort(array, fromIndex, toIndex, orderingStrategy);
+        }
+
+        // The buffer is as long as the range, as every bucket is distributed through its start
+        msdRadixSort(
+                array,
+                new String[toIndex - fromIndex],
+                fromIndex,
+                toIndex,
+                0,
+                computeFirstHistogram(array, fromIndex, toIndex, descending),
+                descending,
+                orderingStrategy
+        );
+
+        return array;
+    }
+}
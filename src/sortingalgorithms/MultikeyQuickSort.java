@@ -0,0 +1,233 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.MaxOrdering;
+import utils.orderingstrategy.MinOrdering;
+import utils.orderingstrategy.NaturalOrdering;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+/**
+ * Multikey quick sort, ie three-way radix quick sort, for Strings.
+ * Instead of one char at a time, the Strings are partitioned on 8-byte keys that pack their next 4 UTF-16 chars,
+ * the first one in the high bits. The keys are cached in an array parallel to the Strings, so the partitioning
+ * only compares longs and every String is read once per 4 chars of depth.
+ * <ul>
+ *     <li>The Strings whose key precedes or follows the pivot key are partitioned again at the same depth.</li>
+ *     <li>The Strings whose key equals the pivot key share their first `depth + 4` chars.
+ *     The ones that end within those chars are prefixes of each other, so they are only ordered by their length,
+ *     and the other ones are partitioned again 4 chars deeper, with fresh keys.</li>
+ * </ul>
+ * Just like the introsort, the partitioning falls back to the heap sort of the remaining range once it gets too deep
+ * at a given depth, and the small ranges are handed to an insertion sort over the cached keys.
+ * <p>
+ * Only the {@link NaturalOrdering}s, eg the {@link MinOrdering} and the {@link MaxOrdering}, can be expressed as key orders,
+ * any other ordering strategy is handed to a {@link TimSort}.
+ */
+public class MultikeyQuickSort implements SortAlgoStrategy<String> {
+    /**
+     * Ranges that are at most this long are sorted by the insertion sort
+     */
+    public static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * The count of chars packed into a key
+     */
+    private static final int CHARS_PER_KEY = 4;
+
+    private final HeapSort<String> heapSort = new HeapSort<>();
+
+    private final TimSort<String> fallbackSort = new TimSort<>();
+
+    /**
+     * Gets the key of a String at the given depth, whose signed order is the requested order of the chars
+     * `depth` to `depth + 3` of the Strings. The missing chars of the Strings that end before are packed as 0.
+     *
+     * @param item       The String
+     * @param depth      The index of the first char of the key
+     * @param descending Whether the Strings are sorted in descending order
+     * @return The key
+     */
+    private static long getKey(String item, int depth, boolean descending) {
+        int length = item.length();
+        long packed = 0;
+        for (int i = depth; i < depth + CHARS_PER_KEY; i++) {
+            packed = (packed << 16) | (i < length ? item.charAt(i) : 0);
+        }
+        // The sign bit is flipped for the unsigned order of the chars, then all the bits for the descending order
+        long key = packed ^ Long.MIN_VALUE;
+        return descending ? ~key : key;
+    }
+
+    private static void computeKeys(
+            String[] array,
+            long[] keys,
+            int keysOffset,
+            int startIndex,
+            int endIndex,
+            int depth,
+            boolean descending
+    ) {
+        for (int i = startIndex; i < endIndex; i++) {
+            keys[i - keysOffset] = getKey(array[i], depth, descending);
+        }
+    }
+
+    private static void swap(String[] array, long[] keys, int keysOffset, int i1, int i2) {
+        String temp = array[i1];
+        array[i1] = array[i2];
+        array[i2] = temp;
+        long tempKey = keys[i1 - keysOffset];
+        keys[i1 - keysOffset] = keys[i2 - keysOffset];
+        keys[i2 - keysOffset] = tempKey;
+    }
+
+    private static long medianOfThree(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Insertion sort over the cached keys, whose ties are broken by comparing the whole Strings
+     */
+    private static void insertionSort(
+            String[] array,
+            long[] keys,
+            int keysOffset,
+            int startIndex,
+            int endIndex,
+            SortOrderingStrategy<String> orderingStrategy
+    ) {
+        for (int i = startIndex + 1; i < endIndex; i++) {
+            String item = array[i];
+            long key = keys[i - keysOffset];
+            int j = i - 1;
+            while (j >= startIndex && (key < keys[j - keysOffset]
+                    || key == keys[j - keysOffset] && orderingStrategy.shouldPrecede(item, array[j]))) {
+                array[j + 1] = array[j];
+                keys[j + 1 - keysOffset] = keys[j - keysOffset];
+                j--;
+            }
+            array[j + 1] = item;
+            keys[j + 1 - keysOffset] = key;
+        }
+    }
+
+    /**
+     * Moves the Strings of the equal partition that end within the current key to their end of the partition,
+     * ordered by their length: first and shortest first in ascending order, last and longest first in descending order.
+     *
+     * @return The index where the Strings that go on past the current key start in ascending order,
+     * or end (exclusive) in descending order
+     */
+    private static int separateEndedStrings(String[] array, int startIndex, int endIndex, int depth, boolean descending) {
+        // There are only CHARS_PER_KEY + 1 possible lengths, so the Strings are gathered one length after the other
+        for (int length = depth; length <= depth + CHARS_PER_KEY; length++) {
+            if (descending) {
+                for (int i = endIndex - 1; i >= startIndex; i--) {
+                    if (array[i].length() == length) {
+                        String temp = array[--endIndex];
+                        array[endIndex] = array[i];
+                        array[i] = temp;
+                    }
+                }
+            } else {
+                for (int i = startIndex; i < endIndex; i++) {
+                    if (array[i].length() == length) {
+                        String temp = array[startIndex];
+                        array[startIndex++] = array[i];
+                        array[i] = temp;
+                    }
+                }
+            }
+        }
+        return descending ? endIndex : startIndex;
+    }
+
+    /**
+     * The implementation of the multikey quick sort.
+     * All the Strings between the start index and the end index share the same first `depth` chars,
+     * and their keys at that depth are cached.
+     *
+     * @param array            The array
+     * @param keys             The cached keys of the sorted range
+     * @param keysOffset       The index of the array whose key is the first one
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, exclusive
+     * @param depth            The index of the first char of the keys
+     * @param depthLimit       The count of partitioning levels left at this depth before falling back to the heap sort
+     * @param descending       Whether the Strings are sorted in descending order
+     * @param orderingStrategy The ordering strategy
+     */
+    private void multikeyQuickSort(
+            String[] array,
+            long[] keys,
+            int keysOffset,
+            int startIndex,
+            int endIndex,
+            int depth,
+            int depthLimit,
+            boolean descending,
+            SortOrderingStrategy<String> orderingStrategy
+    ) {
+        while (endIndex - startIndex > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort.sort(array, startIndex, endIndex, orderingStrategy);
+                return;
+            }
+            depthLimit--;
+
+            int midIndex = (startIndex + endIndex) >>> 1;
+            long pivot = medianOfThree(keys[startIndex - keysOffset], keys[midIndex - keysOffset], keys[endIndex - 1 - keysOffset]);
+
+            // Dijkstra's three-way partitioning:
+            // [startIndex, lt) precedes the pivot, [lt, i) equals it and (gt, endIndex) follows it
+            int lt = startIndex, i = startIndex, gt = endIndex - 1;
+            while (i <= gt) {
+                if (keys[i - keysOffset] < pivot) swap(array, keys, keysOffset, lt++, i++);
+                else if (keys[i - keysOffset] > pivot) swap(array, keys, keysOffset, i, gt--);
+                else i++;
+            }
+
+            multikeyQuickSort(array, keys, keysOffset, startIndex, lt, depth, depthLimit, descending, orderingStrategy);
+            multikeyQuickSort(array, keys, keysOffset, gt + 1, endIndex, depth, depthLimit, descending, orderingStrategy);
+
+            // Looping on the Strings of the equal partition that go on past the current key, 4 chars deeper
+            int boundary = separateEndedStrings(array, lt, gt + 1, depth, descending);
+            startIndex = descending ? lt : boundary;
+            endIndex = descending ? boundary : gt + 1;
+            depth += CHARS_PER_KEY;
+            depthLimit = QuickSort.getDepthLimit(endIndex - startIndex);
+            computeKeys(array, keys, keysOffset, startIndex, endIndex, depth, descending);
+        }
+
+        insertionSort(array, keys, keysOffset, startIndex, endIndex, orderingStrategy);
+    }
+
+    @Override
+    public String[] sort(String[] array, SortOrderingStrategy<String> orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    @Override
+    public String[] sort(String[] array, int fromIndex, int toIndex, SortOrderingStrategy<String> orderingStrategy) {
+        if (!(orderingStrategy instanceof NaturalOrdering naturalOrdering && naturalOrdering.isNatural())) {
+            return fallbackSort.sort(array, fromIndex, toIndex, orderingStrategy);
+        }
+        boolean descending = naturalOrdering.isDescending();
+
+        // The keys are as many as the Strings of the range, the first one being the key of the start index
+        long[] keys = new long[toIndex - fromIndex];
+        computeKeys(array, keys, fromIndex, fromIndex, toIndex, 0, descending);
+        multikeyQuickSort(
+                array,
+                keys,
+                fromIndex,
+                fromIndex,
+                toIndex,
+                0,
+                QuickSort.getDepthLimit(toIndex - fromIndex),
+                descending,
+                orderingStrategy
+        );
+
+        return array;
+    }
+}
@@ -0,0 +1,42 @@
+package sortingalgorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs an action for every index from 0 to a count (exclusive) concurrently inside a fork/join pool,
+ * by halving the range of indexes down to single indexes.
+ * The tasks are never serialized, even though {@link RecursiveAction} is serializable.
+ */
+@SuppressWarnings("serial")
+final class ParallelForEach extends RecursiveAction {
+    private final IntConsumer action;
+    private final int startIndex;
+    private final int endIndex;
+
+    private ParallelForEach(IntConsumer action, int startIndex, int endIndex) {
+        this.action = action;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+    }
+
+    @Override
+    protected void compute() {
+        if (endIndex - startIndex == 1) {
+            action.accept(startIndex);
+            return;
+        }
+        int midIndex = (startIndex + endIndex) >>> 1;
+        invokeAll(new ParallelForEach(action, startIndex, midIndex), new ParallelForEach(action, midIndex, endIndex));
+    }
+
+    /**
+     * @param pool   The pool
+     * @param count  The count of indexes
+     * @param action The action, which is run once for each index
+     */
+    static void run(ForkJoinPool pool, int count, IntConsumer action) {
+        if (count > 0) pool.invoke(new ParallelForEach(action, 0, count));
+    }
+}
@@ -0,0 +1,187 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable merge sort that sorts the array in place with a single auxiliary array allocated up front.
+ * Ranges that are larger than the parallelism threshold are sorted concurrently inside a {@link ForkJoinPool}
+ * and the small runs are handed to the {@link InsertionSort}.
+ *
+ * @param <T> The type of the array items
+ */
+public class ParallelMergeSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
+    public static final int DEFAULT_PARALLELISM_THRESHOLD = 1 << 13;
+
+    /**
+     * Runs that are at most this long are sorted by the insertion sort
+     */
+    public static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Ranges that are at most this long are sorted sequentially
+     */
+    private final int parallelismThreshold;
+
+    private final InsertionSort<T> insertionSort = new InsertionSort<>();
+
+    public ParallelMergeSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLELISM_THRESHOLD);
+    }
+
+    public ParallelMergeSort(int parallelismThreshold) {
+        this(ForkJoinPool.commonPool(), parallelismThreshold);
+    }
+
+    public ParallelMergeSort(ForkJoinPool pool, int parallelismThreshold) {
+        if (parallelismThreshold < INSERTION_SORT_THRESHOLD) {
+            throw new IllegalArgumentException("The parallelism threshold must be at least " + INSERTION_SORT_THRESHOLD);
+        }
+        this.pool = pool;
+        this.parallelismThreshold = parallelismThreshold;
+    }
+
+    /**
+     * Merges the 2 adjacent sorted ranges [startIndex, midIndex) and [midIndex, endIndex) of the array.
+     * The left range is copied to the matching indices of the buffer so that concurrent merges never share buffer slots.
+     *
+     * @param array            The array
+     * @param buffer           The auxiliary array, which is as long as the sorted range
+     * @param bufferOffset     The index of the array that the start of the buffer matches, ie the start of the sorted range
+     * @param startIndex       The start index of the left range
+     * @param midIndex         The start index of the right range
+     * @param endIndex         The end index (exclusive) of the right range
+     * @param orderingStrategy The ordering strategy
+     */
+    private void merge(
+            T[] array,
+            T[] buffer,
+            int bufferOffset,
+            int startIndex,
+            int midIndex,
+            int endIndex,
+            SortOrderingStrategy<T> orderingStrategy
+    ) {
+        // The ranges are already in order, nothing to merge
+        if (!orderingStrategy.shouldPrecede(array[midIndex], array[midIndex - 1])) return;
+
+        System.arraycopy(array, startIndex, buffer, startIndex - bufferOffset, midIndex - startIndex);
+
+        // The index i of the left range is shifted by the offset of the buffer
+        int i = startIndex - bufferOffset, j = midIndex, k = startIndex, iEnd = midIndex - bufferOffset;
+        SpecializedOrdering<T> ordering = new SpecializedOrdering<>(orderingStrategy);
+        // An item of the right range is only taken when it strictly precedes the left one, which keeps the sort stable
+        while (i < iEnd && j < endIndex) {
+            if (ordering.shouldPrecede(array[j], buffer[i])) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+
+        // The remaining items of the right range are already in place
+        while (i < iEnd) {
+            array[k++] = buffer[i++];
+        }
+    }
+
+    /**
+     * The sequential recursive implementation of the merge sort.
+     *
+     * @param array            The array
+     * @param buffer           The auxiliary array
+     * @param bufferOffset     The index of the array that the start of the buffer matches
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     */
+    private void mergeSort(
+            T[] array,
+            T[] buffer,
+            int bufferOffset,
+            int startIndex,
+            int endIndex,
+            SortOrderingStrategy<T> orderingStrategy
+    ) {
+        if (endIndex - startIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort.sort(array, startIndex, endIndex, orderingStrategy);
+            return;
+        }
+
+        int midIndex = (startIndex + endIndex) >>> 1;
+        mergeSort(array, buffer, bufferOffset, startIndex, midIndex, orderingStrategy);
+        mergeSort(array, buffer, bufferOffset, midIndex, endIndex, orderingStrategy);
+        merge(array, buffer, bufferOffset, startIndex, midIndex, endIndex, orderingStrategy);
+    }
+
+    /**
+     * The fork/join task that sorts the halves of its range concurrently then merges them.
+     * The tasks are never serialized, even though {@link RecursiveAction} is serializable.
+     */
+    @SuppressWarnings("serial")
+    private class MergeSortTask extends RecursiveAction {
+        private final T[] array;
+        private final T[] buffer;
+        private final int bufferOffset;
+        private final int startIndex;
+        private final int endIndex;
+        private final SortOrderingStrategy<T> orderingStrategy;
+
+        MergeSortTask(
+                T[] array,
+                T[] buffer,
+                int bufferOffset,
+                int startIndex,
+                int endIndex,
+                SortOrderingStrategy<T> orderingStrategy
+        ) {
+            this.array = array;
+            this.buffer = buffer;
+            this.bufferOffset = bufferOffset;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.orderingStrategy = orderingStrategy;
+        }
+
+        @Override
+        protected void compute() {
+            if (endIndex - startIndex <= parallelismThreshold) {
+                mergeSort(array, buffer, bufferOffset, startIndex, endIndex, orderingStrategy);
+                return;
+            }
+
+            int midIndex = (startIndex + endIndex) >>> 1;
+            invokeAll(
+                    new MergeSortTask(array, buffer, bufferOffset, startIndex, midIndex, orderingStrategy),
+                    new MergeSortTask(array, buffer, bufferOffset, midIndex, endIndex, orderingStrategy)
+            );
+            merge(array, buffer, bufferOffset, startIndex, midIndex, endIndex, orderingStrategy);
+        }
+    }
+
+    @Override
+    public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    @Override
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        if (toIndex - fromIndex <= 1) return array;
+
+        // The only allocation of the whole sort, as long as the range, whose start matches the start of the buffer
+        T[] buffer = Arrays.copyOfRange(array, fromIndex, toIndex);
+        if (toIndex - fromIndex <= parallelismThreshold) {
+            mergeSort(array, buffer, fromIndex, fromIndex, toIndex, orderingStrategy);
+        } else {
+            pool.invoke(new MergeSortTask(array, buffer, fromIndex, fromIndex, toIndex, orderingStrategy));
+        }
+
+        return array;
+    }
+}
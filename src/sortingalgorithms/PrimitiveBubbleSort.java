@@ -0,0 +1,59 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+
+public class PrimitiveBubbleSort implements IntSortAlgoStrategy, LongSortAlgoStrategy, DoubleSortAlgoStrategy {
+    @Override
+    public int[] sort(int[] array, PrimitiveSortOrderingStrategy ordering) {
+        int length = array.length, lastIndex = length - 1;
+        int temp;
+
+        for (int i = 0; i < lastIndex; i++) {
+            for (int j = i + 1; j < length; j++) {
+                if (ordering.shouldPrecede(array[j], array[i])) {
+                    temp = array[j];
+                    array[j] = array[i];
+                    array[i] = temp;
+                }
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public long[] sort(long[] array, PrimitiveSortOrderingStrategy ordering) {
+        int length = array.length, lastIndex = length - 1;
+        long temp;
+
+        for (int i = 0; i < lastIndex; i++) {
+            for (int j = i + 1; j < length; j++) {
+                if (ordering.shouldPrecede(array[j], array[i])) {
+                    temp = array[j];
+                    array[j] = array[i];
+                    array[i] = temp;
+                }
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public double[] sort(double[] array, PrimitiveSortOrderingStrategy ordering) {
+        int length = array.length, lastIndex = length - 1;
+        double temp;
+
+        for (int i = 0; i < lastIndex; i++) {
+            for (int j = i + 1; j < length; j++) {
+                if (ordering.shouldPrecede(array[j], array[i])) {
+                    temp = array[j];
+                    array[j] = array[i];
+                    array[i] = temp;
+                }
+            }
+        }
+
+        return array;
+    }
+}
@@ -0,0 +1,231 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+
+/**
+ * Primitive counterpart of the {@link HeapSort}: an in-place d-ary heap sort with Floyd's bottom-up sift-down.
+ */
+public class PrimitiveHeapSort implements IntSortAlgoStrategy, LongSortAlgoStrategy, DoubleSortAlgoStrategy {
+    /**
+     * The count of children of each node of the heap
+     */
+    private final int arity;
+
+    public PrimitiveHeapSort() {
+        this(HeapSort.DEFAULT_ARITY);
+    }
+
+    public PrimitiveHeapSort(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity of the heap must be at least 2");
+        }
+        this.arity = arity;
+    }
+
+    /**
+     * Sifts down the item at the given offset inside the heap that is laid out from the start index of the array.
+     * The root of the heap holds the item that should come last according to the ordering strategy.
+     *
+     * @param array            The array holding the heap
+     * @param startIndex       The index of the root of the heap
+     * @param offset           The offset of the item to sift down from the root
+     * @param heapSize         The count of items of the heap
+     * @param orderingStrategy The ordering strategy
+     */
+    private void siftDown(int[] array, int startIndex, int offset, int heapSize, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int item = array[startIndex + offset];
+        int i = offset, childOffset;
+
+        // Carrying the hole down to a leaf by promoting the child that should come last at each level
+        while ((childOffset = arity * i + 1) < heapSize) {
+            int lastChildOffset = Math.min(childOffset + arity, heapSize), selectedOffset = childOffset;
+            for (int c = childOffset + 1; c < lastChildOffset; c++) {
+                if (orderingStrategy.shouldPrecede(array[startIndex + selectedOffset], array[startIndex + c])) {
+                    selectedOffset = c;
+                }
+            }
+            array[startIndex + i] = array[startIndex + selectedOffset];
+            i = selectedOffset;
+        }
+
+        // Sifting the item up from the leaf
+        int parentOffset;
+        while (i > offset && orderingStrategy.shouldPrecede(array[startIndex + (parentOffset = (i - 1) / arity)], item)) {
+            array[startIndex + i] = array[startIndex + parentOffset];
+            i = parentOffset;
+        }
+        array[startIndex + i] = item;
+    }
+
+    @Override
+    public int[] sort(int[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    /**
+     * Sorts the items between the start index (inclusive) and the end index (exclusive) of the array in place.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
+    public int[] sort(int[] array, int fromIndex, int toIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int length = toIndex - fromIndex;
+        int temp;
+
+        // Heapify the items
+        for (int i = (length - 2) / arity; i >= 0 && length > 1; i--) {
+            siftDown(array, fromIndex, i, length, orderingStrategy);
+        }
+
+        // Moving the root to the end of the shrinking heap, which builds the sorted range from the back
+        for (int last = length - 1; last > 0; last--) {
+            temp = array[fromIndex];
+            array[fromIndex] = array[fromIndex + last];
+            array[fromIndex + last] = temp;
+            siftDown(array, fromIndex, 0, last, orderingStrategy);
+        }
+
+        return array;
+    }
+
+    /**
+     * Sifts down the item at the given offset inside the heap that is laid out from the start index of the array.
+     * The root of the heap holds the item that should come last according to the ordering strategy.
+     *
+     * @param array            The array holding the heap
+     * @param startIndex       The index of the root of the heap
+     * @param offset           The offset of the item to sift down from the root
+     * @param heapSize         The count of items of the heap
+     * @param orderingStrategy The ordering strategy
+     */
+    private void siftDown(long[] array, int startIndex, int offset, int heapSize, PrimitiveSortOrderingStrategy orderingStrategy) {
+        long item = array[startIndex + offset];
+        int i = offset, childOffset;
+
+        // Carrying the hole down to a leaf by promoting the child that should come last at each level
+        while ((childOffset = arity * i + 1) < heapSize) {
+            int lastChildOffset = Math.min(childOffset + arity, heapSize), selectedOffset = childOffset;
+            for (int c = childOffset + 1; c < lastChildOffset; c++) {
+                if (orderingStrategy.shouldPrecede(array[startIndex + selectedOffset], array[startIndex + c])) {
+                    selectedOffset = c;
+                }
+            }
+            array[startIndex + i] = array[startIndex + selectedOffset];
+            i = selectedOffset;
+        }
+
+        // Sifting the item up from the leaf
+        int parentOffset;
+        while (i > offset && orderingStrategy.shouldPrecede(array[startIndex + (parentOffset = (i - 1) / arity)], item)) {
+            array[startIndex + i] = array[startIndex + parentOffset];
+            i = parentOffset;
+        }
+        array[startIndex + i] = item;
+    }
+
+    @Override
+    public long[] sort(long[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    /**
+     * Sorts the items between the start index (inclusive) and the end index (exclusive) of the array in place.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
+    public long[] sort(long[] array, int fromIndex, int toIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int length = toIndex - fromIndex;
+        long temp;
+
+        // Heapify the items
+        for (int i = (length - 2) / arity; i >= 0 && length > 1; i--) {
+            siftDown(array, fromIndex, i, length, orderingStrategy);
+        }
+
+        // Moving the root to the end of the shrinking heap, which builds the sorted range from the back
+        for (int last = length - 1; last > 0; last--) {
+            temp = array[fromIndex];
+            array[fromIndex] = array[fromIndex + last];
+            array[fromIndex + last] = temp;
+            siftDown(array, fromIndex, 0, last, orderingStrategy);
+        }
+
+        return array;
+    }
+
+    /**
+     * Sifts down the item at the given offset inside the heap that is laid out from the start index of the array.
+     * The root of the heap holds the item that should come last according to the ordering strategy.
+     *
+     * @param array            The array holding the heap
+     * @param startIndex       The index of the root of the heap
+     * @param offset           The offset of the item to sift down from the root
+     * @param heapSize         The count of items of the heap
+     * @param orderingStrategy The ordering strategy
+     */
+    private void siftDown(double[] array, int startIndex, int offset, int heapSize, PrimitiveSortOrderingStrategy orderingStrategy) {
+        double item = array[startIndex + offset];
+        int i = offset, childOffset;
+
+        // Carrying the hole down to a leaf by promoting the child that should come last at each level
+        while ((childOffset = arity * i + 1) < heapSize) {
+            int lastChildOffset = Math.min(childOffset + arity, heapSize), selectedOffset = childOffset;
+            for (int c = childOffset + 1; c < lastChildOffset; c++) {
+                if (orderingStrategy.shouldPrecede(array[startIndex + selectedOffset], array[startIndex + c])) {
+                    selectedOffset = c;
+                }
+            }
+            array[startIndex + i] = array[startIndex + selectedOffset];
+            i = selectedOffset;
+        }
+
+        // Sifting the item up from the leaf
+        int parentOffset;
+        while (i > offset && orderingStrategy.shouldPrecede(array[startIndex + (parentOffset = (i - 1) / arity)], item)) {
+            array[startIndex + i] = array[startIndex + parentOffset];
+            i = parentOffset;
+        }
+        array[startIndex + i] = item;
+    }
+
+    @Override
+    public double[] sort(double[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    /**
+     * Sorts the items between the start index (inclusive) and the end index (exclusive) of the array in place.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
+    public double[] sort(double[] array, int fromIndex, int toIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int length = toIndex - fromIndex;
+        double temp;
+
+        // Heapify the items
+        for (int i = (length - 2) / arity; i >= 0 && length > 1; i--) {
+            siftDown(array, fromIndex, i, length, orderingStrategy);
+        }
+
+        // Moving the root to the end of the shrinking heap, which builds the sorted range from the back
+        for (int last = length - 1; last > 0; last--) {
+            temp = array[fromIndex];
+            array[fromIndex] = array[fromIndex + last];
+            array[fromIndex + last] = temp;
+            siftDown(array, fromIndex, 0, last, orderingStrategy);
+        }
+
+        return array;
+    }
+}
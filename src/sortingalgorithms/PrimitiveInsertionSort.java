@@ -0,0 +1,107 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+
+public class PrimitiveInsertionSort implements IntSortAlgoStrategy, LongSortAlgoStrategy, DoubleSortAlgoStrategy {
+    @Override
+    public int[] sort(int[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    /**
+     * Sorts the items between the start index (inclusive) and the end index (exclusive) of the array.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
+    public int[] sort(int[] array, int fromIndex, int toIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int current;
+
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            current = array[i];
+
+            // Shifting the sorted items to the right until the current item finds its correct location
+            int j = i;
+            while (j > fromIndex && orderingStrategy.shouldPrecede(current, array[j - 1])) {
+                array[j] = array[j - 1];
+                j--;
+            }
+            if (j < i) {
+                array[j] = current;
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public long[] sort(long[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    /**
+     * Sorts the items between the start index (inclusive) and the end index (exclusive) of the array.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
+    public long[] sort(long[] array, int fromIndex, int toIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        long current;
+
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            current = array[i];
+
+            // Shifting the sorted items to the right until the current item finds its correct location
+            int j = i;
+            while (j > fromIndex && orderingStrategy.shouldPrecede(current, array[j - 1])) {
+                array[j] = array[j - 1];
+                j--;
+            }
+            if (j < i) {
+                array[j] = current;
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public double[] sort(double[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    /**
+     * Sorts the items between the start index (inclusive) and the end index (exclusive) of the array.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
+    public double[] sort(double[] array, int fromIndex, int toIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        double current;
+
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            current = array[i];
+
+            // Shifting the sorted items to the right until the current item finds its correct location
+            int j = i;
+            while (j > fromIndex && orderingStrategy.shouldPrecede(current, array[j - 1])) {
+                array[j] = array[j - 1];
+                j--;
+            }
+            if (j < i) {
+                array[j] = current;
+            }
+        }
+
+        return array;
+    }
+}
@@ -0,0 +1,252 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+
+public class PrimitiveMergeSort implements IntSortAlgoStrategy, LongSortAlgoStrategy, DoubleSortAlgoStrategy {
+    /**
+     * Ranges that are at most this long are sorted by the {@link SmallBlockSort} kernels
+     * when the ordering strategy supports them
+     */
+    public static final int SMALL_BLOCK_THRESHOLD = SmallBlockSort.MAX_BLOCK_LENGTH;
+
+    private static long[] getScratch(PrimitiveSortOrderingStrategy orderingStrategy) {
+        return SmallBlockSort.supports(orderingStrategy) ? new long[SmallBlockSort.SCRATCH_LENGTH] : null;
+    }
+
+    /**
+     * Merges the 2 adjacent sorted ranges [startIndex, midIndex) and [midIndex, endIndex) of the array
+     * according to the order defined by the ordering strategy.
+     * The left range is copied into the scratch buffer beforehand so that the merge can write back into the array.
+     *
+     * @param array            The array
+     * @param buffer           The scratch buffer
+     * @param startIndex       The start index of the left range
+     * @param midIndex         The start index of the right range
+     * @param endIndex         The end index (exclusive) of the right range
+     * @param orderingStrategy The ordering strategy
+     */
+    private void merge(
+            int[] array,
+            int[] buffer,
+            int startIndex,
+            int midIndex,
+            int endIndex,
+            PrimitiveSortOrderingStrategy orderingStrategy
+    ) {
+        int leftLength = midIndex - startIndex;
+        System.arraycopy(array, startIndex, buffer, 0, leftLength);
+
+        int i = 0, j = midIndex, k = startIndex;
+        // An item of the right range is only taken when it strictly precedes the left one, which keeps the sort stable
+        while (i < leftLength && j < endIndex) {
+            if (orderingStrategy.shouldPrecede(array[j], buffer[i])) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+
+        // The remaining items of the right range are already in place
+        while (i < leftLength) {
+            array[k++] = buffer[i++];
+        }
+    }
+
+    /**
+     * The recursive implementation of the merge sort.
+     *
+     * @param array            The array
+     * @param buffer           The scratch buffer
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @param scratch          The scratch array of the small block kernels, null if the ordering strategy does not support them
+     */
+    private void mergeSort(
+            int[] array,
+            int[] buffer,
+            int startIndex,
+            int endIndex,
+            PrimitiveSortOrderingStrategy orderingStrategy,
+            long[] scratch
+    ) {
+        if (endIndex - startIndex <= 1) return;
+        // Equal primitive items cannot be told apart, so the kernels do not break the stability
+        if (scratch != null && endIndex - startIndex <= SMALL_BLOCK_THRESHOLD) {
+            SmallBlockSort.sort(array, startIndex, endIndex, SmallBlockSort.isDescending(orderingStrategy), scratch);
+            return;
+        }
+
+        int midIndex = (startIndex + endIndex) >>> 1;
+        mergeSort(array, buffer, startIndex, midIndex, orderingStrategy, scratch);
+        mergeSort(array, buffer, midIndex, endIndex, orderingStrategy, scratch);
+        // Ranges already in order, as in the nearly sorted inputs, are left as they are
+        if (!orderingStrategy.shouldPrecede(array[midIndex], array[midIndex - 1])) return;
+        merge(array, buffer, startIndex, midIndex, endIndex, orderingStrategy);
+    }
+
+    @Override
+    public int[] sort(int[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        // The scratch buffer only ever holds a left half
+        mergeSort(array, new int[array.length / 2 + 1], 0, array.length, orderingStrategy, getScratch(orderingStrategy));
+        return array;
+    }
+
+    /**
+     * Merges the 2 adjacent sorted ranges [startIndex, midIndex) and [midIndex, endIndex) of the array
+     * according to the order defined by the ordering strategy.
+     * The left range is copied into the scratch buffer beforehand so that the merge can write back into the array.
+     *
+     * @param array            The array
+     * @param buffer           The scratch buffer
+     * @param startIndex       The start index of the left range
+     * @param midIndex         The start index of the right range
+     * @param endIndex         The end index (exclusive) of the right range
+     * @param orderingStrategy The ordering strategy
+     */
+    private void merge(
+            long[] array,
+            long[] buffer,
+            int startIndex,
+            int midIndex,
+            int endIndex,
+            PrimitiveSortOrderingStrategy orderingStrategy
+    ) {
+        int leftLength = midIndex - startIndex;
+        System.arraycopy(array, startIndex, buffer, 0, leftLength);
+
+        int i = 0, j = midIndex, k = startIndex;
+        // An item of the right range is only taken when it strictly precedes the left one, which keeps the sort stable
+        while (i < leftLength && j < endIndex) {
+            if (orderingStrategy.shouldPrecede(array[j], buffer[i])) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+
+        // The remaining items of the right range are already in place
+        while (i < leftLength) {
+            array[k++] = buffer[i++];
+        }
+    }
+
+    /**
+     * The recursive implementation of the merge sort.
+     *
+     * @param array            The array
+     * @param buffer           The scratch buffer
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @param scratch          The scratch array of the small block kernels, null if the ordering strategy does not support them
+     */
+    private void mergeSort(
+            long[] array,
+            long[] buffer,
+            int startIndex,
+            int endIndex,
+            PrimitiveSortOrderingStrategy orderingStrategy,
+            long[] scratch
+    ) {
+        if (endIndex - startIndex <= 1) return;
+        // Equal primitive items cannot be told apart, so the kernels do not break the stability
+        if (scratch != null && endIndex - startIndex <= SMALL_BLOCK_THRESHOLD) {
+            SmallBlockSort.sort(array, startIndex, endIndex, SmallBlockSort.isDescending(orderingStrategy), scratch);
+            return;
+        }
+
+        int midIndex = (startIndex + endIndex) >>> 1;
+        mergeSort(array, buffer, startIndex, midIndex, orderingStrategy, scratch);
+        mergeSort(array, buffer, midIndex, endIndex, orderingStrategy, scratch);
+        // Ranges already in order, as in the nearly sorted inputs, are left as they are
+        if (!orderingStrategy.shouldPrecede(array[midIndex], array[midIndex - 1])) return;
+        merge(array, buffer, startIndex, midIndex, endIndex, orderingStrategy);
+    }
+
+    @Override
+    public long[] sort(long[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        // The scratch buffer only ever holds a left half
+        mergeSort(array, new long[array.length / 2 + 1], 0, array.length, orderingStrategy, getScratch(orderingStrategy));
+        return array;
+    }
+
+    /**
+     * Merges the 2 adjacent sorted ranges [startIndex, midIndex) and [midIndex, endIndex) of the array
+     * according to the order defined by the ordering strategy.
+     * The left range is copied into the scratch buffer beforehand so that the merge can write back into the array.
+     *
+     * @param array            The array
+     * @param buffer           The scratch buffer
+     * @param startIndex       The start index of the left range
+     * @param midIndex         The start index of the right range
+     * @param endIndex         The end index (exclusive) of the right range
+     * @param orderingStrategy The ordering strategy
+     */
+    private void merge(
+            double[] array,
+            double[] buffer,
+            int startIndex,
+            int midIndex,
+            int endIndex,
+            PrimitiveSortOrderingStrategy orderingStrategy
+    ) {
+        int leftLength = midIndex - startIndex;
+        System.arraycopy(array, startIndex, buffer, 0, leftLength);
+
+        int i = 0, j = midIndex, k = startIndex;
+        // An item of the right range is only taken when it strictly precedes the left one, which keeps the sort stable
+        while (i < leftLength && j < endIndex) {
+            if (orderingStrategy.shouldPrecede(array[j], buffer[i])) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+
+        // The remaining items of the right range are already in place
+        while (i < leftLength) {
+            array[k++] = buffer[i++];
+        }
+    }
+
+    /**
+     * The recursive implementation of the merge sort.
+     *
+     * @param array            The array
+     * @param buffer           The scratch buffer
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @param scratch          The scratch array of the small block kernels, null if the ordering strategy does not support them
+     */
+    private void mergeSort(
+            double[] array,
+            double[] buffer,
+            int startIndex,
+            int endIndex,
+            PrimitiveSortOrderingStrategy orderingStrategy,
+            long[] scratch
+    ) {
+        if (endIndex - startIndex <= 1) return;
+        // Equal primitive items cannot be told apart, so the kernels do not break the stability
+        if (scratch != null && endIndex - startIndex <= SMALL_BLOCK_THRESHOLD) {
+            SmallBlockSort.sort(array, startIndex, endIndex, SmallBlockSort.isDescending(orderingStrategy), scratch);
+            return;
+        }
+
+        int midIndex = (startIndex + endIndex) >>> 1;
+        mergeSort(array, buffer, startIndex, midIndex, orderingStrategy, scratch);
+        mergeSort(array, buffer, midIndex, endIndex, orderingStrategy, scratch);
+        // Ranges already in order, as in the nearly sorted inputs, are left as they are
+        if (!orderingStrategy.shouldPrecede(array[midIndex], array[midIndex - 1])) return;
+        merge(array, buffer, startIndex, midIndex, endIndex, orderingStrategy);
+    }
+
+    @Override
+    public double[] sort(double[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        // The scratch buffer only ever holds a left half
+        mergeSort(array, new double[array.length / 2 + 1], 0, array.length, orderingStrategy, getScratch(orderingStrategy));
+        return array;
+    }
+}
@@ -0,0 +1,389 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+
+/**
+ * Primitive counterpart of the introsort mode of the {@link QuickSort}: median-of-three or ninther pivots,
+ * recursion on the smaller partition only, the {@link SmallBlockSort} kernels or the insertion sort for the small partitions
+ * and the {@link PrimitiveHeapSort} once the recursion gets too deep.
+ * It guarantees an O(n log n) worst case and an O(log n) stack depth, eg on sorted or nearly sorted keys.
+ */
+public class PrimitiveQuickSort implements IntSortAlgoStrategy, LongSortAlgoStrategy, DoubleSortAlgoStrategy {
+    /**
+     * Partitions that are at most this long are sorted by the {@link SmallBlockSort} kernels
+     * when the ordering strategy supports them
+     */
+    public static final int SMALL_BLOCK_THRESHOLD = SmallBlockSort.MAX_BLOCK_LENGTH;
+
+    private final PrimitiveInsertionSort insertionSort = new PrimitiveInsertionSort();
+
+    private final PrimitiveHeapSort heapSort = new PrimitiveHeapSort();
+
+    private static long[] getScratch(PrimitiveSortOrderingStrategy orderingStrategy) {
+        return SmallBlockSort.supports(orderingStrategy) ? new long[SmallBlockSort.SCRATCH_LENGTH] : null;
+    }
+
+    /**
+     * Gets the length up to which the partitions are sorted without partitioning them
+     */
+    private static int getSmallPartitionLength(long[] scratch) {
+        return scratch != null ? SMALL_BLOCK_THRESHOLD : QuickSort.INSERTION_SORT_THRESHOLD;
+    }
+
+    /**
+     * Partitions the items between the start index and the end index around the pivot, which is the item at the end index.
+     *
+     * @param array            The original array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive, that holds the pivot
+     * @param orderingStrategy The ordering strategy
+     * @return The final index of the pivot
+     */
+    private static int partition(int[] array, int startIndex, int endIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int pivot = array[endIndex], temp;
+        int i = startIndex - 1;
+        for (int j = startIndex; j < endIndex; j++) {
+            if (orderingStrategy.shouldPrecede(array[j], pivot)) {
+                i++;
+                if (i < j) {
+                    temp = array[i];
+                    array[i] = array[j];
+                    array[j] = temp;
+                }
+            }
+        }
+        // Putting the pivot to its correct index
+        i++;
+        temp = array[i];
+        array[i] = array[endIndex];
+        array[endIndex] = temp;
+        return i;
+    }
+
+    /**
+     * Gets the index of the median item amongst the items at the 3 given indices
+     */
+    private static int medianOfThree(int[] array, int a, int b, int c, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (orderingStrategy.shouldPrecede(array[a], array[b])) {
+            if (orderingStrategy.shouldPrecede(array[b], array[c])) return b;
+            return orderingStrategy.shouldPrecede(array[a], array[c]) ? c : a;
+        }
+        if (orderingStrategy.shouldPrecede(array[c], array[b])) return b;
+        return orderingStrategy.shouldPrecede(array[c], array[a]) ? c : a;
+    }
+
+    /**
+     * Picks the median of three or, for the large ranges, Tukey's ninther as the pivot then moves it to the end index
+     */
+    private static void selectPivot(int[] array, int startIndex, int endIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int length = endIndex - startIndex + 1, midIndex = (startIndex + endIndex) >>> 1, pivotIndex;
+
+        if (length > QuickSort.NINTHER_THRESHOLD) {
+            int step = length / 8;
+            pivotIndex = medianOfThree(
+                    array,
+                    medianOfThree(array, startIndex, startIndex + step, startIndex + 2 * step, orderingStrategy),
+                    medianOfThree(array, midIndex - step, midIndex, midIndex + step, orderingStrategy),
+                    medianOfThree(array, endIndex - 2 * step, endIndex - step, endIndex, orderingStrategy),
+                    orderingStrategy
+            );
+        } else {
+            pivotIndex = medianOfThree(array, startIndex, midIndex, endIndex, orderingStrategy);
+        }
+
+        int temp = array[pivotIndex];
+        array[pivotIndex] = array[endIndex];
+        array[endIndex] = temp;
+    }
+
+    /**
+     * The introspective sort of the items between the start index and the end index.
+     * Only the smaller partition is sorted recursively while the larger one is looped on,
+     * which bounds the stack depth to O(log n).
+     *
+     * @param array            The original array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive
+     * @param depthLimit       The count of partitioning levels left before falling back to the heap sort
+     * @param orderingStrategy The ordering strategy
+     * @param scratch          The scratch array of the small block kernels, null if the ordering strategy does not support them
+     */
+    private void introSort(
+            int[] array,
+            int startIndex,
+            int endIndex,
+            int depthLimit,
+            PrimitiveSortOrderingStrategy orderingStrategy,
+            long[] scratch
+    ) {
+        while (endIndex - startIndex + 1 > getSmallPartitionLength(scratch)) {
+            if (depthLimit == 0) {
+                heapSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+                return;
+            }
+            depthLimit--;
+
+            selectPivot(array, startIndex, endIndex, orderingStrategy);
+            int pivotIndex = partition(array, startIndex, endIndex, orderingStrategy);
+
+            if (pivotIndex - startIndex < endIndex - pivotIndex) {
+                introSort(array, startIndex, pivotIndex - 1, depthLimit, orderingStrategy, scratch);
+                startIndex = pivotIndex + 1;
+            } else {
+                introSort(array, pivotIndex + 1, endIndex, depthLimit, orderingStrategy, scratch);
+                endIndex = pivotIndex - 1;
+            }
+        }
+
+        if (endIndex - startIndex < 1) return;
+        if (scratch != null) {
+            SmallBlockSort.sort(array, startIndex, endIndex + 1, SmallBlockSort.isDescending(orderingStrategy), scratch);
+        } else {
+            insertionSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+        }
+    }
+
+    @Override
+    public int[] sort(int[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        introSort(array, 0, array.length - 1, QuickSort.getDepthLimit(array.length), orderingStrategy, getScratch(orderingStrategy));
+        return array;
+    }
+
+    /**
+     * Partitions the items between the start index and the end index around the pivot, which is the item at the end index.
+     *
+     * @param array            The original array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive, that holds the pivot
+     * @param orderingStrategy The ordering strategy
+     * @return The final index of the pivot
+     */
+    private static int partition(long[] array, int startIndex, int endIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        long pivot = array[endIndex], temp;
+        int i = startIndex - 1;
+        for (int j = startIndex; j < endIndex; j++) {
+            if (orderingStrategy.shouldPrecede(array[j], pivot)) {
+                i++;
+                if (i < j) {
+                    temp = array[i];
+                    array[i] = array[j];
+                    array[j] = temp;
+                }
+            }
+        }
+        // Putting the pivot to its correct index
+        i++;
+        temp = array[i];
+        array[i] = array[endIndex];
+        array[endIndex] = temp;
+        return i;
+    }
+
+    /**
+     * Gets the index of the median item amongst the items at the 3 given indices
+     */
+    private static int medianOfThree(long[] array, int a, int b, int c, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (orderingStrategy.shouldPrecede(array[a], array[b])) {
+            if (orderingStrategy.shouldPrecede(array[b], array[c])) return b;
+            return orderingStrategy.shouldPrecede(array[a], array[c]) ? c : a;
+        }
+        if (orderingStrategy.shouldPrecede(array[c], array[b])) return b;
+        return orderingStrategy.shouldPrecede(array[c], array[a]) ? c : a;
+    }
+
+    /**
+     * Picks the median of three or, for the large ranges, Tukey's ninther as the pivot then moves it to the end index
+     */
+    private static void selectPivot(long[] array, int startIndex, int endIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int length = endIndex - startIndex + 1, midIndex = (startIndex + endIndex) >>> 1, pivotIndex;
+
+        if (length > QuickSort.NINTHER_THRESHOLD) {
+            int step = length / 8;
+            pivotIndex = medianOfThree(
+                    array,
+                    medianOfThree(array, startIndex, startIndex + step, startIndex + 2 * step, orderingStrategy),
+                    medianOfThree(array, midIndex - step, midIndex, midIndex + step, orderingStrategy),
+                    medianOfThree(array, endIndex - 2 * step, endIndex - step, endIndex, orderingStrategy),
+                    orderingStrategy
+            );
+        } else {
+            pivotIndex = medianOfThree(array, startIndex, midIndex, endIndex, orderingStrategy);
+        }
+
+        long temp = array[pivotIndex];
+        array[pivotIndex] = array[endIndex];
+        array[endIndex] = temp;
+    }
+
+    /**
+     * The introspective sort of the items between the start index and the end index.
+     * Only the smaller partition is sorted recursively while the larger one is looped on,
+     * which bounds the stack depth to O(log n).
+     *
+     * @param array            The original array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive
+     * @param depthLimit       The count of partitioning levels left before falling back to the heap sort
+     * @param orderingStrategy The ordering strategy
+     * @param scratch          The scratch array of the small block kernels, null if the ordering strategy does not support them
+     */
+    private void introSort(
+            long[] array,
+            int startIndex,
+            int endIndex,
+            int depthLimit,
+            PrimitiveSortOrderingStrategy orderingStrategy,
+            long[] scratch
+    ) {
+        while (endIndex - startIndex + 1 > getSmallPartitionLength(scratch)) {
+            if (depthLimit == 0) {
+                heapSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+                return;
+            }
+            depthLimit--;
+
+            selectPivot(array, startIndex, endIndex, orderingStrategy);
+            int pivotIndex = partition(array, startIndex, endIndex, orderingStrategy);
+
+            if (pivotIndex - startIndex < endIndex - pivotIndex) {
+                introSort(array, startIndex, pivotIndex - 1, depthLimit, orderingStrategy, scratch);
+                startIndex = pivotIndex + 1;
+            } else {
+                introSort(array, pivotIndex + 1, endIndex, depthLimit, orderingStrategy, scratch);
+                endIndex = pivotIndex - 1;
+            }
+        }
+
+        if (endIndex - startIndex < 1) return;
+        if (scratch != null) {
+            SmallBlockSort.sort(array, startIndex, endIndex + 1, SmallBlockSort.isDescending(orderingStrategy), scratch);
+        } else {
+            insertionSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+        }
+    }
+
+    @Override
+    public long[] sort(long[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        introSort(array, 0, array.length - 1, QuickSort.getDepthLimit(array.length), orderingStrategy, getScratch(orderingStrategy));
+        return array;
+    }
+
+    /**
+     * Partitions the items between the start index and the end index around the pivot, which is the item at the end index.
+     *
+     * @param array            The original array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive, that holds the pivot
+     * @param orderingStrategy The ordering strategy
+     * @return The final index of the pivot
+     */
+    private static int partition(double[] array, int startIndex, int endIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        double pivot = array[endIndex], temp;
+        int i = startIndex - 1;
+        for (int j = startIndex; j < endIndex; j++) {
+            if (orderingStrategy.shouldPrecede(array[j], pivot)) {
+                i++;
+                if (i < j) {
+                    temp = array[i];
+                    array[i] = array[j];
+                    array[j] = temp;
+                }
+            }
+        }
+        // Putting the pivot to its correct index
+        i++;
+        temp = array[i];
+        array[i] = array[endIndex];
+        array[endIndex] = temp;
+        return i;
+    }
+
+    /**
+     * Gets the index of the median item amongst the items at the 3 given indices
+     */
+    private static int medianOfThree(double[] array, int a, int b, int c, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (orderingStrategy.shouldPrecede(array[a], array[b])) {
+            if (orderingStrategy.shouldPrecede(array[b], array[c])) return b;
+            return orderingStrategy.shouldPrecede(array[a], array[c]) ? c : a;
+        }
+        if (orderingStrategy.shouldPrecede(array[c], array[b])) return b;
+        return orderingStrategy.shouldPrecede(array[c], array[a]) ? c : a;
+    }
+
+    /**
+     * Picks the median of three or, for the large ranges, Tukey's ninther as the pivot then moves it to the end index
+     */
+    private static void selectPivot(double[] array, int startIndex, int endIndex, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int length = endIndex - startIndex + 1, midIndex = (startIndex + endIndex) >>> 1, pivotIndex;
+
+        if (length > QuickSort.NINTHER_THRESHOLD) {
+            int step = length / 8;
+            pivotIndex = medianOfThree(
+                    array,
+                    medianOfThree(array, startIndex, startIndex + step, startIndex + 2 * step, orderingStrategy),
+                    medianOfThree(array, midIndex - step, midIndex, midIndex + step, orderingStrategy),
+                    medianOfThree(array, endIndex - 2 * step, endIndex - step, endIndex, orderingStrategy),
+                    orderingStrategy
+            );
+        } else {
+            pivotIndex = medianOfThree(array, startIndex, midIndex, endIndex, orderingStrategy);
+        }
+
+        double temp = array[pivotIndex];
+        array[pivotIndex] = array[endIndex];
+        array[endIndex] = temp;
+    }
+
+    /**
+     * The introspective sort of the items between the start index and the end index.
+     * Only the smaller partition is sorted recursively while the larger one is looped on,
+     * which bounds the stack depth to O(log n).
+     *
+     * @param array            The original array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive
+     * @param depthLimit       The count of partitioning levels left before falling back to the heap sort
+     * @param orderingStrategy The ordering strategy
+     * @param scratch          The scratch array of the small block kernels, null if the ordering strategy does not support them
+     */
+    private void introSort(
+            double[] array,
+            int startIndex,
+            int endIndex,
+            int depthLimit,
+            PrimitiveSortOrderingStrategy orderingStrategy,
+            long[] scratch
+    ) {
+        while (endIndex - startIndex + 1 > getSmallPartitionLength(scratch)) {
+            if (depthLimit == 0) {
+                heapSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+                return;
+            }
+            depthLimit--;
+
+            selectPivot(array, startIndex, endIndex, orderingStrategy);
+            int pivotIndex = partition(array, startIndex, endIndex, orderingStrategy);
+
+            if (pivotIndex - startIndex < endIndex - pivotIndex) {
+                introSort(array, startIndex, pivotIndex - 1, depthLimit, orderingStrategy, scratch);
+                startIndex = pivotIndex + 1;
+            } else {
+                introSort(array, pivotIndex + 1, endIndex, depthLimit, orderingStrategy, scratch);
+                endIndex = pivotIndex - 1;
+            }
+        }
+
+        if (endIndex - startIndex < 1) return;
+        if (scratch != null) {
+            SmallBlockSort.sort(array, startIndex, endIndex + 1, SmallBlockSort.isDescending(orderingStrategy), scratch);
+        } else {
+            insertionSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+        }
+    }
+
+    @Override
+    public double[] sort(double[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        introSort(array, 0, array.length - 1, QuickSort.getDepthLimit(array.length), orderingStrategy, getScratch(orderingStrategy));
+        return array;
+    }
+}
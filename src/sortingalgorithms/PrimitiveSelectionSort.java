@@ -0,0 +1,80 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+
+public class PrimitiveSelectionSort implements IntSortAlgoStrategy, LongSortAlgoStrategy, DoubleSortAlgoStrategy {
+    @Override
+    public int[] sort(int[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int length = array.length, lastIndex = length - 1, refIndex;
+        int ref;
+
+        for (int i = 0; i < lastIndex; i++) {
+            ref = array[i];
+            refIndex = i;
+
+            for (int j = i + 1; j < length; j++) {
+                if (orderingStrategy.shouldPrecede(array[j], ref)) {
+                    ref = array[j];
+                    refIndex = j;
+                }
+            }
+
+            if (i != refIndex) {
+                array[refIndex] = array[i];
+                array[i] = ref;
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public long[] sort(long[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int length = array.length, lastIndex = length - 1, refIndex;
+        long ref;
+
+        for (int i = 0; i < lastIndex; i++) {
+            ref = array[i];
+            refIndex = i;
+
+            for (int j = i + 1; j < length; j++) {
+                if (orderingStrategy.shouldPrecede(array[j], ref)) {
+                    ref = array[j];
+                    refIndex = j;
+                }
+            }
+
+            if (i != refIndex) {
+                array[refIndex] = array[i];
+                array[i] = ref;
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public double[] sort(double[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        int length = array.length, lastIndex = length - 1, refIndex;
+        double ref;
+
+        for (int i = 0; i < lastIndex; i++) {
+            ref = array[i];
+            refIndex = i;
+
+            for (int j = i + 1; j < length; j++) {
+                if (orderingStrategy.shouldPrecede(array[j], ref)) {
+                    ref = array[j];
+                    refIndex = j;
+                }
+            }
+
+            if (i != refIndex) {
+                array[refIndex] = array[i];
+                array[i] = ref;
+            }
+        }
+
+        return array;
+    }
+}
@@ -0,0 +1,90 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.util.Objects;
+
+/**
+ * Selection of the n-th item and partial sorting of arrays without fully sorting them.
+ * It relies on the introselect: the quick sort partitioning of {@link QuickSort} where only the side holding
+ * the wanted index is partitioned again, which takes O(n) on average.
+ * Just like the introsort, the partitioning falls back to the heap sort of the remaining range once it gets too deep,
+ * which bounds the worst case to O(n log n).
+ *
+ * @param <T> The type of the array items
+ */
+public class QuickSelect<T extends Comparable<T>> {
+    private final QuickSort<T> quickSort = new QuickSort<>(QuickSort.Mode.INTROSORT);
+
+    private final InsertionSort<T> insertionSort = new InsertionSort<>();
+
+    private final HeapSort<T> heapSort = new HeapSort<>();
+
+    /**
+     * Rearranges the array so that the item at the index n is the one that would be there if the array was sorted.
+     * All the items before it do not follow it and all the items after it do not precede it.
+     *
+     * @param array            The array
+     * @param n                The index of the item to select
+     * @param orderingStrategy The ordering strategy
+     * @return The n-th item
+     */
+    public T select(T[] array, int n, SortOrderingStrategy<T> orderingStrategy) {
+        return select(array, 0, array.length, n, orderingStrategy);
+    }
+
+    /**
+     * Same as {@link #select(Comparable[], int, SortOrderingStrategy)} within the items between the start index (inclusive)
+     * and the end index (exclusive) of the array.
+     *
+     * @param array            The array
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param n                The index of the item to select, between the start index and the end index
+     * @param orderingStrategy The ordering strategy
+     * @return The n-th item
+     */
+    public T select(T[] array, int fromIndex, int toIndex, int n, SortOrderingStrategy<T> orderingStrategy) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        Objects.checkIndex(n - fromIndex, toIndex - fromIndex);
+
+        int startIndex = fromIndex, endIndex = toIndex - 1, depthLimit = QuickSort.getDepthLimit(toIndex - fromIndex);
+        while (endIndex - startIndex + 1 > QuickSort.INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+                return array[n];
+            }
+            depthLimit--;
+
+            quickSort.selectPivot(array, startIndex, endIndex, orderingStrategy);
+            int pivotIndex = quickSort.partition(array, startIndex, endIndex, orderingStrategy);
+
+            // Only the side that holds the wanted index is partitioned again
+            if (pivotIndex == n) return array[n];
+            if (n < pivotIndex) endIndex = pivotIndex - 1;
+            else startIndex = pivotIndex + 1;
+        }
+
+        insertionSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+        return array[n];
+    }
+
+    /**
+     * Sorts only the k first items of the array, ie they end up being the k items that would come first
+     * if the array was sorted, in their sorted order. The order of the other items is unspecified.
+     * It takes O(n + k log k) on average.
+     *
+     * @param array            The array
+     * @param k                The count of items to sort
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose k first items are sorted
+     */
+    public T[] partialSort(T[] array, int k, SortOrderingStrategy<T> orderingStrategy) {
+        if (k <= 0) return array;
+        if (k >= array.length) return quickSort.sort(array, orderingStrategy);
+
+        select(array, k - 1, orderingStrategy);
+        // The item at the index k - 1 is already in place
+        return quickSort.sort(array, 0, k - 1, orderingStrategy);
+    }
+}
@@ -1,36 +1,80 @@
 package sortingalgorithms;
 
 import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
 
 public class QuickSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
     /**
-     * The recursive implementation of the quick sort algorithm.
+     * The flavours of the quick sort
+     */
+    public enum Mode {
+        /**
+         * The textbook quick sort that always picks the last item as the pivot.
+         * It goes quadratic and may overflow the stack on already ordered input.
+         */
+        CLASSIC,
+        /**
+         * The introspective sort: median-of-three or ninther pivots, recursion on the smaller side only,
+         * insertion sort for the small partitions and heap sort once the recursion gets too deep.
+         * It guarantees an O(n log n) worst case and an O(log n) stack depth.
+         */
+        INTROSORT
+    }
+
+    /**
+     * Partitions that are at most this long are handed to the insertion sort in the introsort mode
+     */
+    public static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Partitions that are longer than this pick their pivot as the ninther instead of the median of three
+     */
+    public static final int NINTHER_THRESHOLD = 128;
+
+    private final Mode mode;
+
+    private final InsertionSort<T> insertionSort = new InsertionSort<>();
+
+    private final HeapSort<T> heapSort = new HeapSort<>();
+
+    public QuickSort() {
+        this(Mode.CLASSIC);
+    }
+
+    public QuickSort(Mode mode) {
+        this.mode = mode;
+    }
+
+    private void swap(T[] array, int i1, int i2) {
+        T temp = array[i1];
+        array[i1] = array[i2];
+        array[i2] = temp;
+    }
+
+    /**
+     * Partitions the items between the start index and the end index around the pivot, which is the item at the end index.
      *
      * @param array            The original array
-     * @param startIndex       The start index used by the algorithm
-     * @param endIndex         The end index used by the algorithm
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive, that holds the pivot
      * @param orderingStrategy The ordering strategy
-     * @return The sorted array for the items between the start index and the end index
+     * @return The final index of the pivot
      */
-    private T[] quickSort(T[] array, int startIndex, int endIndex, SortOrderingStrategy<T> orderingStrategy) {
-        int length = endIndex - startIndex + 1, j = startIndex, i = j - 1;
-
-        // We do nothing when the count of items is either 0 or 1
-        if (length <= 1) return array;
+    int partition(T[] array, int startIndex, int endIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int j = startIndex, i = j - 1;
+        SpecializedOrdering<T> ordering = new SpecializedOrdering<>(orderingStrategy);
 
         // We choose the last element of the array as the pivot for the sake of convention.
         // N.B: Any other item at a given index could be picked as the pivot.
-        T pivot = array[endIndex], temp;
+        T pivot = array[endIndex];
         // Iterating over the elements prior to the pivot in the array
         for (; j < endIndex; j++) {
             // If the `j` iterator encounters an item that should precede the pivot,
             // we shift the iterator `i` to the right by the swapping the items at those 2 indices.
-            if (orderingStrategy.shouldPrecede(array[j], pivot)) {
+            if (ordering.shouldPrecede(array[j], pivot)) {
                 i++;
                 if (i < j) {
-                    temp = array[i];
-                    array[i] = array[j];
-                    array[j] = temp;
+                    swap(array, i, j);
                 }
             }
         }
@@ -39,18 +83,127 @@ public class QuickSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
         i++;
         // We put the pivot to its correct index `ì`
         // by swapping the items at the `i` index and the last item of the array.
-        temp = array[i];
-        array[i] = array[endIndex];
-        array[endIndex] = temp;
+        swap(array, i, endIndex);
+
+        return i;
+    }
+
+    /**
+     * The recursive implementation of the quick sort algorithm.
+     *
+     * @param array            The original array
+     * @param startIndex       The start index used by the algorithm
+     * @param endIndex         The end index used by the algorithm
+     * @param orderingStrategy The ordering strategy
+     * @return The sorted array for the items between the start index and the end index
+     */
+    private T[] quickSort(T[] array, int startIndex, int endIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int length = endIndex - startIndex + 1;
+
+        // We do nothing when the count of items is either 0 or 1
+        if (length <= 1) return array;
+
+        int pivotIndex = partition(array, startIndex, endIndex, orderingStrategy);
 
         // Recursively repeating the same shifting process compared with a pivot
         // for the items prior and after the current pivot
-        quickSort(array, startIndex, i - 1, orderingStrategy);
-        quickSort(array, i + 1, endIndex, orderingStrategy);
+        quickSort(array, startIndex, pivotIndex - 1, orderingStrategy);
+        quickSort(array, pivotIndex + 1, endIndex, orderingStrategy);
 
         return array;
     }
 
+    /**
+     * Gets the index of the median item amongst the items at the 3 given indices.
+     *
+     * @param array            The original array
+     * @param a                The first index
+     * @param b                The second index
+     * @param c                The third index
+     * @param orderingStrategy The ordering strategy
+     * @return The index of the median item
+     */
+    int medianOfThree(T[] array, int a, int b, int c, SortOrderingStrategy<T> orderingStrategy) {
+        if (orderingStrategy.shouldPrecede(array[a], array[b])) {
+            if (orderingStrategy.shouldPrecede(array[b], array[c])) return b;
+            return orderingStrategy.shouldPrecede(array[a], array[c]) ? c : a;
+        }
+        if (orderingStrategy.shouldPrecede(array[c], array[b])) return b;
+        return orderingStrategy.shouldPrecede(array[c], array[a]) ? c : a;
+    }
+
+    /**
+     * Picks a pivot for the items between the start index and the end index then moves it to the end index.
+     * Small ranges use the median of three and larger ones use Tukey's ninther, ie the median of 3 medians of three.
+     *
+     * @param array            The original array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive
+     * @param orderingStrategy The ordering strategy
+     */
+    void selectPivot(T[] array, int startIndex, int endIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int length = endIndex - startIndex + 1, midIndex = (startIndex + endIndex) >>> 1, pivotIndex;
+
+        if (length > NINTHER_THRESHOLD) {
+            int step = length / 8;
+            pivotIndex = medianOfThree(
+                    array,
+                    medianOfThree(array, startIndex, startIndex + step, startIndex + 2 * step, orderingStrategy),
+                    medianOfThree(array, midIndex - step, midIndex, midIndex + step, orderingStrategy),
+                    medianOfThree(array, endIndex - 2 * step, endIndex - step, endIndex, orderingStrategy),
+                    orderingStrategy
+            );
+        } else {
+            pivotIndex = medianOfThree(array, startIndex, midIndex, endIndex, orderingStrategy);
+        }
+
+        swap(array, pivotIndex, endIndex);
+    }
+
+    /**
+     * The introspective sort of the items between the start index and the end index.
+     * Only the smaller partition is sorted recursively while the larger one is looped on,
+     * which bounds the stack depth to O(log n).
+     *
+     * @param array            The original array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive
+     * @param depthLimit       The count of partitioning levels left before falling back to the heap sort
+     * @param orderingStrategy The ordering strategy
+     */
+    private void introSort(T[] array, int startIndex, int endIndex, int depthLimit, SortOrderingStrategy<T> orderingStrategy) {
+        while (endIndex - startIndex + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+                return;
+            }
+            depthLimit--;
+
+            selectPivot(array, startIndex, endIndex, orderingStrategy);
+            int pivotIndex = partition(array, startIndex, endIndex, orderingStrategy);
+
+            if (pivotIndex - startIndex < endIndex - pivotIndex) {
+                introSort(array, startIndex, pivotIndex - 1, depthLimit, orderingStrategy);
+                startIndex = pivotIndex + 1;
+            } else {
+                introSort(array, pivotIndex + 1, endIndex, depthLimit, orderingStrategy);
+                endIndex = pivotIndex - 1;
+            }
+        }
+
+        insertionSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+    }
+
+    /**
+     * Gets the maximum partitioning depth of the introsort for a given count of items, ie 2 * floor(log2(n)).
+     *
+     * @param length The count of items
+     * @return The depth limit
+     */
+    static int getDepthLimit(int length) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(length, 1)));
+    }
+
     /**
      * The public method that calls the recursive implementation of the quick sort.
      *
@@ -60,6 +213,15 @@ public class QuickSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
      */
     @Override
     public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
-        return quickSort(array, 0, array.length - 1, orderingStrategy);
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    @Override
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        if (mode == Mode.INTROSORT) {
+            introSort(array, fromIndex, toIndex - 1, getDepthLimit(toIndex - fromIndex), orderingStrategy);
+            return array;
+        }
+        return quickSort(array, fromIndex, toIndex - 1, orderingStrategy);
     }
 }
@@ -0,0 +1,390 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveMaxOrdering;
+import utils.orderingstrategy.PrimitiveMinOrdering;
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SpecializedPrimitiveOrdering;
+
+import java.util.stream.IntStream;
+
+/**
+ * Least significant digit (LSD) radix sort for the primitive arrays.
+ * Every item is mapped to an unsigned key whose bit order is the requested order:
+ * the sign bit of the integers is flipped and so are all the other bits of the negative doubles,
+ * which matches the IEEE-754 total order used by {@link Double#compare(double, double)},
+ * then all the bits are flipped for the descending order.
+ * The items are then scattered byte by byte, from the least significant one, with a stable counting sort.
+ * The histograms of all the passes are computed in a single read of the array, concurrently for the large arrays,
+ * and the passes where all the items share the same digit are skipped.
+ * <p>
+ * Only the {@link PrimitiveMinOrdering} and the {@link PrimitiveMaxOrdering} can be expressed as radix keys,
+ * any other ordering strategy is handed to a {@link PrimitiveMergeSort}.
+ */
+public class RadixSort implements IntSortAlgoStrategy, LongSortAlgoStrategy, DoubleSortAlgoStrategy {
+    public static final int DEFAULT_PARALLEL_HISTOGRAM_THRESHOLD = 1 << 16;
+
+    private static final int DIGIT_BITS = 8;
+
+    private static final int RADIX = 1 << DIGIT_BITS;
+
+    private static final int DIGIT_MASK = RADIX - 1;
+
+    /**
+     * Arrays that are at least this long get their histograms computed concurrently
+     */
+    private final int parallelHistogramThreshold;
+
+    private final PrimitiveMergeSort fallbackSort = new PrimitiveMergeSort();
+
+    public RadixSort() {
+        this(DEFAULT_PARALLEL_HISTOGRAM_THRESHOLD);
+    }
+
+    public RadixSort(int parallelHistogramThreshold) {
+        this.parallelHistogramThreshold = parallelHistogramThreshold;
+    }
+
+    private static boolean isRadixCompatible(PrimitiveSortOrderingStrategy orderingStrategy) {
+        return SpecializedPrimitiveOrdering.isNatural(orderingStrategy);
+    }
+
+    /**
+     * Checks whether all the items share the same digit for a given pass, in which case the pass would not move anything.
+     */
+    private static boolean isTrivialPass(int[] histogram, int length) {
+        for (int count : histogram) {
+            if (count != 0) return count == length;
+        }
+        return true;
+    }
+
+    private static int getChunksCount(int length) {
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), length / RADIX));
+    }
+
+    private static int getChunkStartIndex(int length, int chunksCount, int chunk) {
+        return (int) ((long) length * chunk / chunksCount);
+    }
+
+    private static int[][] addHistograms(int[][] histograms, int[][] other) {
+        for (int pass = 0; pass < histograms.length; pass++) {
+            for (int digit = 0; digit < RADIX; digit++) {
+                histograms[pass][digit] += other[pass][digit];
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * Gets the unsigned radix key of an item, ie a key whose unsigned order is the requested order of the items.
+     *
+     * @param item The item
+     * @param mask The mask returned by {@link #getIntKeyMask(boolean)}
+     * @return The radix key
+     */
+    private static int getIntKey(int item, int mask) {
+        return item ^ mask;
+    }
+
+    /**
+     * Gets the mask applied to the items to get their radix keys.
+     * The sign bit is flipped so that the negative items come first, then all the bits are flipped for the descending order.
+     *
+     * @param descending Whether the items are sorted in descending order
+     * @return The mask
+     */
+    private static int getIntKeyMask(boolean descending) {
+        return descending ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+    }
+
+    /**
+     * Computes the histograms of the digits of every pass for the items between the start index and the end index.
+     */
+    private static int[][] computeHistograms(int[] array, int startIndex, int endIndex, int mask) {
+        int[][] histograms = new int[4][RADIX];
+        for (int i = startIndex; i < endIndex; i++) {
+            int key = getIntKey(array[i], mask);
+            for (int pass = 0; pass < 4; pass++) {
+                histograms[pass][(key >>> (pass * DIGIT_BITS)) & DIGIT_MASK]++;
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * Computes the histograms of the digits of every pass, concurrently for the large arrays.
+     */
+    private int[][] computeHistograms(int[] array, int mask) {
+        if (array.length < parallelHistogramThreshold) {
+            return computeHistograms(array, 0, array.length, mask);
+        }
+
+        int chunksCount = getChunksCount(array.length);
+        return IntStream.range(0, chunksCount)
+                .parallel()
+                .mapToObj(chunk -> computeHistograms(
+                        array,
+                        getChunkStartIndex(array.length, chunksCount, chunk),
+                        getChunkStartIndex(array.length, chunksCount, chunk + 1),
+                        mask
+                ))
+                .reduce(RadixSort::addHistograms)
+                .orElseThrow();
+    }
+
+    @Override
+    public int[] sort(int[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (!isRadixCompatible(orderingStrategy)) {
+            return fallbackSort.sort(array, orderingStrategy);
+        }
+
+        int length = array.length;
+        if (length < 2) return array;
+
+        int mask = getIntKeyMask(SpecializedPrimitiveOrdering.isDescending(orderingStrategy));
+        int[][] histograms = computeHistograms(array, mask);
+
+        int[] source = array, destination = null, temp;
+        int[] offsets = new int[RADIX];
+        for (int pass = 0; pass < 4; pass++) {
+            int[] histogram = histograms[pass];
+            if (isTrivialPass(histogram, length)) continue;
+            if (destination == null) destination = new int[length];
+
+            // The offsets of the buckets are the prefix sums of the histogram
+            for (int digit = 0, offset = 0; digit < RADIX; digit++) {
+                offsets[digit] = offset;
+                offset += histogram[digit];
+            }
+
+            // Scattering the items into their buckets, which is stable
+            int shift = pass * DIGIT_BITS;
+            for (int i = 0; i < length; i++) {
+                int item = source[i];
+                destination[offsets[(getIntKey(item, mask) >>> shift) & DIGIT_MASK]++] = item;
+            }
+
+            temp = source;
+            source = destination;
+            destination = temp;
+        }
+
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, length);
+        }
+
+        return array;
+    }
+
+    /**
+     * Gets the unsigned radix key of an item, ie a key whose unsigned order is the requested order of the items.
+     *
+     * @param item The item
+     * @param mask The mask returned by {@link #getLongKeyMask(boolean)}
+     * @return The radix key
+     */
+    private static long getLongKey(long item, long mask) {
+        return item ^ mask;
+    }
+
+    /**
+     * Gets the mask applied to the items to get their radix keys.
+     * The sign bit is flipped so that the negative items come first, then all the bits are flipped for the descending order.
+     *
+     * @param descending Whether the items are sorted in descending order
+     * @return The mask
+     */
+    private static long getLongKeyMask(boolean descending) {
+        return descending ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+
+    /**
+     * Computes the histograms of the digits of every pass for the items between the start index and the end index.
+     */
+    private static int[][] computeHistograms(long[] array, int startIndex, int endIndex, long mask) {
+        int[][] histograms = new int[8][RADIX];
+        for (int i = startIndex; i < endIndex; i++) {
+            long key = getLongKey(array[i], mask);
+            for (int pass = 0; pass < 8; pass++) {
+                histograms[pass][(int) ((key >>> (pass * DIGIT_BITS)) & DIGIT_MASK)]++;
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * Computes the histograms of the digits of every pass, concurrently for the large arrays.
+     */
+    private int[][] computeHistograms(long[] array, long mask) {
+        if (array.length < parallelHistogramThreshold) {
+            return computeHistograms(array, 0, array.length, mask);
+        }
+
+        int chunksCount = getChunksCount(array.length);
+        return IntStream.range(0, chunksCount)
+                .parallel()
+                .mapToObj(chunk -> computeHistograms(
+                        array,
+                        getChunkStartIndex(array.length, chunksCount, chunk),
+                        getChunkStartIndex(array.length, chunksCount, chunk + 1),
+                        mask
+                ))
+                .reduce(RadixSort::addHistograms)
+                .orElseThrow();
+    }
+
+    @Override
+    public long[] sort(long[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (!isRadixCompatible(orderingStrategy)) {
+            return fallbackSort.sort(array, orderingStrategy);
+        }
+
+        int length = array.length;
+        if (length < 2) return array;
+
+        long mask = getLongKeyMask(SpecializedPrimitiveOrdering.isDescending(orderingStrategy));
+        int[][] histograms = computeHistograms(array, mask);
+
+        long[] source = array, destination = null, temp;
+        int[] offsets = new int[RADIX];
+        for (int pass = 0; pass < 8; pass++) {
+            int[] histogram = histograms[pass];
+            if (isTrivialPass(histogram, length)) continue;
+            if (destination == null) destination = new long[length];
+
+            // The offsets of the buckets are the prefix sums of the histogram
+            for (int digit = 0, offset = 0; digit < RADIX; digit++) {
+                offsets[digit] = offset;
+                offset += histogram[digit];
+            }
+
+            // Scattering the items into their buckets, which is stable
+            int shift = pass * DIGIT_BITS;
+            for (int i = 0; i < length; i++) {
+                long item = source[i];
+                destination[offsets[(int) ((getLongKey(item, mask) >>> shift) & DIGIT_MASK)]++] = item;
+            }
+
+            temp = source;
+            source = destination;
+            destination = temp;
+        }
+
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, length);
+        }
+
+        return array;
+    }
+
+    /**
+     * Gets the IEEE-754 bits of a double as an unsigned key that follows {@link Double#compare(double, double)}:
+     * the sign bit is flipped for the positive doubles and all the bits are flipped for the negative ones.
+     * The NaNs are collapsed into the canonical NaN, which comes last.
+     */
+    private static long bits(double item) {
+        long bits = Double.doubleToLongBits(item);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Gets the unsigned radix key of an item, ie a key whose unsigned order is the requested order of the items.
+     *
+     * @param item The item
+     * @param mask The mask returned by {@link #getDoubleKeyMask(boolean)}
+     * @return The radix key
+     */
+    private static long getDoubleKey(double item, long mask) {
+        return bits(item) ^ mask;
+    }
+
+    /**
+     * Gets the mask applied to the items to get their radix keys.
+     * It is only applied once the IEEE-754 bits have been turned into an ascending unsigned key, and flips all the bits for the descending order.
+     *
+     * @param descending Whether the items are sorted in descending order
+     * @return The mask
+     */
+    private static long getDoubleKeyMask(boolean descending) {
+        return descending ? -1L : 0L;
+    }
+
+    /**
+     * Computes the histograms of the digits of every pass for the items between the start index and the end index.
+     */
+    private static int[][] computeHistograms(double[] array, int startIndex, int endIndex, long mask) {
+        int[][] histograms = new int[8][RADIX];
+        for (int i = startIndex; i < endIndex; i++) {
+            long key = getDoubleKey(array[i], mask);
+            for (int pass = 0; pass < 8; pass++) {
+                histograms[pass][(int) ((key >>> (pass * DIGIT_BITS)) & DIGIT_MASK)]++;
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * Computes the histograms of the digits of every pass, concurrently for the large arrays.
+     */
+    private int[][] computeHistograms(double[] array, long mask) {
+        if (array.length < parallelHistogramThreshold) {
+            return computeHistograms(array, 0, array.length, mask);
+        }
+
+        int chunksCount = getChunksCount(array.length);
+        return IntStream.range(0, chunksCount)
+                .parallel()
+                .mapToObj(chunk -> computeHistograms(
+                        array,
+                        getChunkStartIndex(array.length, chunksCount, chunk),
+                        getChunkStartIndex(array.length, chunksCount, chunk + 1),
+                        mask
+                ))
+                .reduce(RadixSort::addHistograms)
+                .orElseThrow();
+    }
+
+    @Override
+    public double[] sort(double[] array, PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (!isRadixCompatible(orderingStrategy)) {
+            return fallbackSort.sort(array, orderingStrategy);
+        }
+
+        int length = array.length;
+        if (length < 2) return array;
+
+        long mask = getDoubleKeyMask(SpecializedPrimitiveOrdering.isDescending(orderingStrategy));
+        int[][] histograms = computeHistograms(array, mask);
+
+        double[] source = array, destination = null, temp;
+        int[] offsets = new int[RADIX];
+        for (int pass = 0; pass < 8; pass++) {
+            int[] histogram = histograms[pass];
+            if (isTrivialPass(histogram, length)) continue;
+            if (destination == null) destination = new double[length];
+
+            // The offsets of the buckets are the prefix sums of the histogram
+            for (int digit = 0, offset = 0; digit < RADIX; digit++) {
+                offsets[digit] = offset;
+                offset += histogram[digit];
+            }
+
+            // Scattering the items into their buckets, which is stable
+            int shift = pass * DIGIT_BITS;
+            for (int i = 0; i < length; i++) {
+                double item = source[i];
+                destination[offsets[(int) ((getDoubleKey(item, mask) >>> shift) & DIGIT_MASK)]++] = item;
+            }
+
+            temp = source;
+            source = destination;
+            destination = temp;
+        }
+
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, length);
+        }
+
+        return array;
+    }
+}
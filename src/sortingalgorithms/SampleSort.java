@@ -0,0 +1,193 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel sample sort, in the spirit of the parallel sorting by regular sampling (PSRS).
+ * <ol>
+ *     <li>An oversampled random sample of the items is sorted and `parallelism - 1` evenly spaced splitters are picked from it.</li>
+ *     <li>The range is cut into `parallelism` blocks that are classified concurrently against the splitters,
+ *     each one counting how many of its items fall into every bucket.</li>
+ *     <li>The blocks scatter their items concurrently into the buckets of an auxiliary array, at offsets
+ *     computed from the prefix sums of the counts.</li>
+ *     <li>The buckets are copied back and sorted concurrently by the sequential bucket sort strategy.</li>
+ * </ol>
+ * Every splitter also gets a bucket of its own for the items that are equivalent to it: such buckets are already sorted,
+ * which keeps the inputs having few unique keys from piling up in a single bucket.
+ * The scatter keeps the relative order of the items, so the sort is stable whenever the bucket sort strategy is.
+ * Ranges that are at most as long as the sequential threshold are handed to the bucket sort strategy straight away.
+ *
+ * @param <T> The type of the array items
+ */
+public class SampleSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    /**
+     * The count of sampled items per bucket
+     */
+    public static final int OVERSAMPLING_FACTOR = 32;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * The count of blocks classified concurrently and of buckets sorted concurrently
+     */
+    private final int parallelism;
+
+    /**
+     * Ranges that are at most this long are sorted sequentially
+     */
+    private final int sequentialThreshold;
+
+    private final SortAlgoStrategy<T> bucketSortStrategy;
+
+    public SampleSort() {
+        this(ForkJoinPool.commonPool().getParallelism());
+    }
+
+    public SampleSort(int parallelism) {
+        this(ForkJoinPool.commonPool(), parallelism, DEFAULT_SEQUENTIAL_THRESHOLD, new QuickSort<>(QuickSort.Mode.INTROSORT));
+    }
+
+    /**
+     * @param pool                The pool that runs the concurrent phases
+     * @param parallelism         The count of blocks and buckets, usually the parallelism of the pool
+     * @param sequentialThreshold The length up to which ranges are sorted sequentially
+     * @param bucketSortStrategy  The sequential sort strategy of the buckets
+     */
+    public SampleSort(ForkJoinPool pool, int parallelism, int sequentialThreshold, SortAlgoStrategy<T> bucketSortStrategy) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("The sequential threshold must be at least 1");
+        }
+        this.pool = pool;
+        this.parallelism = parallelism;
+        this.sequentialThreshold = sequentialThreshold;
+        this.bucketSortStrategy = bucketSortStrategy;
+    }
+
+    /**
+     * Picks the splitters out of a sorted random sample of the items between the start index and the end index.
+     *
+     * @param array            The array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The `parallelism - 1` sorted splitters
+     */
+    private T[] selectSplitters(T[] array, int startIndex, int endIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int length = endIndex - startIndex;
+        int sampleSize = (int) Math.min((long) parallelism * OVERSAMPLING_FACTOR, length);
+
+        // Copying a range of the array gives the sample the right runtime type
+        T[] sample = Arrays.copyOfRange(array, startIndex, startIndex + sampleSize);
+        SplittableRandom random = new SplittableRandom();
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = array[startIndex + random.nextInt(length)];
+        }
+        bucketSortStrategy.sort(sample, orderingStrategy);
+
+        T[] splitters = Arrays.copyOf(sample, parallelism - 1);
+        for (int i = 0; i < parallelism - 1; i++) {
+            splitters[i] = sample[(int) ((long) (i + 1) * sampleSize / parallelism)];
+        }
+        return splitters;
+    }
+
+    /**
+     * Gets the bucket of an item: the bucket 2i holds the items that follow the splitter i - 1 and precede the splitter i,
+     * while the bucket 2i + 1 holds the items that are equivalent to the splitter i.
+     *
+     * @param item      The item
+     * @param splitters The sorted splitters
+     * @param ordering  The ordering strategy
+     * @return The bucket, between 0 and 2 * splitters.length
+     */
+    private static <T extends Comparable<T>> int getBucket(T item, T[] splitters, SpecializedOrdering<T> ordering) {
+        // Binary search of the first splitter that the item does not follow
+        int low = 0, high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ordering.shouldPrecede(splitters[mid], item)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        boolean isEquivalent = low < splitters.length && !ordering.shouldPrecede(item, splitters[low]);
+        return isEquivalent ? 2 * low + 1 : 2 * low;
+    }
+
+    @Override
+    public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    @Override
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int length = toIndex - fromIndex;
+        if (length <= sequentialThreshold || parallelism == 1) {
+            return bucketSortStrategy.sort(array, fromIndex, toIndex, orderingStrategy);
+        }
+
+        T[] splitters = selectSplitters(array, fromIndex, toIndex, orderingStrategy);
+        int bucketsCount = 2 * splitters.length + 1;
+        SpecializedOrdering<T> ordering = new SpecializedOrdering<>(orderingStrategy);
+
+        // Classifying the blocks concurrently. The buckets of the items are kept to avoid classifying them twice.
+        int[] buckets = new int[length];
+        int[][] counts = new int[parallelism][bucketsCount];
+        ParallelForEach.run(pool, parallelism, block -> {
+            int[] blockCounts = counts[block];
+            int blockEnd = (int) ((long) length * (block + 1) / parallelism);
+            for (int i = (int) ((long) length * block / parallelism); i < blockEnd; i++) {
+                int bucket = getBucket(array[fromIndex + i], splitters, ordering);
+                buckets[i] = bucket;
+                blockCounts[bucket]++;
+            }
+        });
+
+        // The items of a bucket are laid out block after block, hence the bucket-major prefix sums.
+        // The counts become the offsets where each block starts writing into each bucket.
+        int[] bucketOffsets = new int[bucketsCount + 1];
+        int offset = 0;
+        for (int bucket = 0; bucket < bucketsCount; bucket++) {
+            bucketOffsets[bucket] = offset;
+            for (int block = 0; block < parallelism; block++) {
+                int count = counts[block][bucket];
+                counts[block][bucket] = offset;
+                offset += count;
+            }
+        }
+        bucketOffsets[bucketsCount] = offset;
+
+        // Scattering the blocks concurrently into the buffer, which is indexed from 0
+        T[] buffer = Arrays.copyOfRange(array, fromIndex, toIndex);
+        ParallelForEach.run(pool, parallelism, block -> {
+            int[] cursors = counts[block];
+            int blockEnd = (int) ((long) length * (block + 1) / parallelism);
+            for (int i = (int) ((long) length * block / parallelism); i < blockEnd; i++) {
+                buffer[cursors[buckets[i]]++] = array[fromIndex + i];
+            }
+        });
+
+        // Copying the buckets back and sorting them concurrently. The buckets of the equivalent items are already sorted.
+        ParallelForEach.run(pool, bucketsCount, bucket -> {
+            int bucketStart = bucketOffsets[bucket], bucketEnd = bucketOffsets[bucket + 1];
+            System.arraycopy(buffer, bucketStart, array, fromIndex + bucketStart, bucketEnd - bucketStart);
+            if (bucket % 2 == 0 && bucketEnd - bucketStart > 1) {
+                bucketSortStrategy.sort(array, fromIndex + bucketStart, fromIndex + bucketEnd, orderingStrategy);
+            }
+        });
+
+        return array;
+    }
+}
@@ -5,14 +5,19 @@ import utils.orderingstrategy.SortOrderingStrategy;
 public class SelectionSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
     @Override
     public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
-        int length = array.length, lastIndex = length - 1, refIndex;
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    @Override
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int lastIndex = toIndex - 1, refIndex;
         T ref;
 
-        for (int i = 0; i < lastIndex; i++) {
+        for (int i = fromIndex; i < lastIndex; i++) {
             ref = array[i];
             refIndex = i;
 
-            for (int j = i + 1; j < length; j++) {
+            for (int j = i + 1; j < toIndex; j++) {
                 if (orderingStrategy.shouldPrecede(array[j], ref)) {
                     ref = array[j];
                     refIndex = j;
@@ -0,0 +1,244 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveMaxOrdering;
+import utils.orderingstrategy.PrimitiveMinOrdering;
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SpecializedPrimitiveOrdering;
+
+/**
+ * Branchless sorting kernels for the small blocks of primitive items, up to {@link #MAX_BLOCK_LENGTH} items,
+ * which the primitive quick sort and merge sort use as their base case instead of comparing through the ordering strategy.
+ * <ol>
+ *     <li>The items are turned into long keys whose signed order is the requested order,
+ *     and the block is padded with {@link Long#MAX_VALUE} up to a multiple of 8.</li>
+ *     <li>Every group of 8 keys is sorted by the optimal 19-comparator sorting network, whose compare-exchanges are
+ *     min/max pairs that the JIT compiles to conditional moves instead of unpredictable branches.</li>
+ *     <li>The groups are merged pairwise by a merge whose cursors also advance without branching.</li>
+ *     <li>The sorted keys are turned back into items.</li>
+ * </ol>
+ * Only the {@link PrimitiveMinOrdering} and the {@link PrimitiveMaxOrdering} can be expressed as key orders.
+ * <p>
+ * The sorting networks run on several groups at once through the {@link VectorBlockSort} when the JVM runs
+ * with `--add-modules jdk.incubator.vector`, and one group at a time through scalar min/max pairs otherwise.
+ * <p>
+ * The keys and the merge buffer live in a scratch array of {@link #SCRATCH_LENGTH} longs,
+ * allocated once per sort by the callers so that the kernels never allocate.
+ */
+final class SmallBlockSort {
+    /**
+     * The longest block that the kernels sort
+     */
+    static final int MAX_BLOCK_LENGTH = 64;
+
+    /**
+     * The length of the scratch array: the keys then the merge buffer
+     */
+    static final int SCRATCH_LENGTH = 2 * MAX_BLOCK_LENGTH;
+
+    /**
+     * The length of the groups sorted by the sorting network
+     */
+    private static final int NETWORK_LENGTH = 8;
+
+    /**
+     * Sorts every group of 8 keys of a block with the sorting network
+     */
+    interface NetworkKernel {
+        /**
+         * @param scratch The scratch array, whose first half holds the keys and whose second half is free
+         * @param length  The count of keys, a multiple of 8
+         */
+        void sortNetworks(long[] scratch, int length);
+    }
+
+    private static final NetworkKernel NETWORK_KERNEL = loadNetworkKernel();
+
+    private SmallBlockSort() {
+    }
+
+    /**
+     * Loads the {@link VectorBlockSort} if the jdk.incubator.vector module is present, the scalar networks otherwise.
+     * The vector kernel is only referred to by name, so that it is never linked without the module.
+     */
+    private static NetworkKernel loadNetworkKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (NetworkKernel) Class.forName("sortingalgorithms.VectorBlockSort").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Falling back to the scalar networks
+            }
+        }
+        return SmallBlockSort::sortNetworks;
+    }
+
+    static boolean supports(PrimitiveSortOrderingStrategy orderingStrategy) {
+        return SpecializedPrimitiveOrdering.isNatural(orderingStrategy);
+    }
+
+    static boolean isDescending(PrimitiveSortOrderingStrategy orderingStrategy) {
+        return SpecializedPrimitiveOrdering.isDescending(orderingStrategy);
+    }
+
+    private static void compareExchange(long[] keys, int i, int j) {
+        long a = keys[i], b = keys[j];
+        keys[i] = Math.min(a, b);
+        keys[j] = Math.max(a, b);
+    }
+
+    /**
+     * Sorts the 8 keys starting at the given index with the optimal sorting network of 19 compare-exchanges in 6 layers
+     */
+    private static void sortNetwork8(long[] keys, int i) {
+        compareExchange(keys, i, i + 2);
+        compareExchange(keys, i + 1, i + 3);
+        compareExchange(keys, i + 4, i + 6);
+        compareExchange(keys, i + 5, i + 7);
+
+        compareExchange(keys, i, i + 4);
+        compareExchange(keys, i + 1, i + 5);
+        compareExchange(keys, i + 2, i + 6);
+        compareExchange(keys, i + 3, i + 7);
+
+        compareExchange(keys, i, i + 1);
+        compareExchange(keys, i + 2, i + 3);
+        compareExchange(keys, i + 4, i + 5);
+        compareExchange(keys, i + 6, i + 7);
+
+        compareExchange(keys, i + 2, i + 4);
+        compareExchange(keys, i + 3, i + 5);
+
+        compareExchange(keys, i + 1, i + 4);
+        compareExchange(keys, i + 3, i + 6);
+
+        compareExchange(keys, i + 1, i + 2);
+        compareExchange(keys, i + 3, i + 4);
+        compareExchange(keys, i + 5, i + 6);
+    }
+
+    private static void sortNetworks(long[] keys, int length) {
+        for (int i = 0; i < length; i += NETWORK_LENGTH) sortNetwork8(keys, i);
+    }
+
+    /**
+     * Merges the sorted ranges [startIndex, midIndex) and [midIndex, endIndex) of the source into the destination,
+     * at the same indices shifted by the given offset
+     */
+    private static void merge(long[] scratch, int startIndex, int midIndex, int endIndex, int offset) {
+        int i = startIndex, j = midIndex, k = startIndex + offset;
+        while (i < midIndex && j < endIndex) {
+            long left = scratch[i], right = scratch[j];
+            boolean takesRight = right < left;
+            scratch[k++] = takesRight ? right : left;
+            // The cursors advance arithmetically rather than through a branch
+            int step = takesRight ? 1 : 0;
+            j += step;
+            i += 1 - step;
+        }
+        while (i < midIndex) scratch[k++] = scratch[i++];
+        while (j < endIndex) scratch[k++] = scratch[j++];
+    }
+
+    /**
+     * Sorts the first keys of the scratch array.
+     *
+     * @param scratch The scratch array whose first half holds the keys
+     * @param length  The count of keys, at most {@link #MAX_BLOCK_LENGTH}
+     * @return The index of the scratch array where the sorted keys start, either 0 or {@link #MAX_BLOCK_LENGTH}
+     */
+    private static int sortKeys(long[] scratch, int length) {
+        int paddedLength = (length + NETWORK_LENGTH - 1) & -NETWORK_LENGTH;
+        for (int i = length; i < paddedLength; i++) scratch[i] = Long.MAX_VALUE;
+
+        NETWORK_KERNEL.sortNetworks(scratch, paddedLength);
+
+        // The merge passes go back and forth between both halves of the scratch array
+        int source = 0;
+        for (int width = NETWORK_LENGTH; width < paddedLength; width *= 2) {
+            int offset = source == 0 ? MAX_BLOCK_LENGTH : -MAX_BLOCK_LENGTH;
+            for (int start = source; start < source + paddedLength; start += 2 * width) {
+                int mid = Math.min(start + width, source + paddedLength), end = Math.min(start + 2 * width, source + paddedLength);
+                merge(scratch, start, mid, end, offset);
+            }
+            source += offset;
+        }
+        return source;
+    }
+
+    /**
+     * Sorts the items between the start index and the end index, at most {@link #MAX_BLOCK_LENGTH} of them.
+     *
+     * @param array      The array
+     * @param startIndex The start index, inclusive
+     * @param endIndex   The end index, exclusive
+     * @param descending Whether the items are sorted in descending order
+     * @param scratch    The scratch array of {@link #SCRATCH_LENGTH} longs
+     */
+    static void sort(int[] array, int startIndex, int endIndex, boolean descending, long[] scratch) {
+        int length = endIndex - startIndex;
+        // Flipping all the bits reverses the order
+        long mask = descending ? -1L : 0L;
+        for (int i = 0; i < length; i++) scratch[i] = array[startIndex + i] ^ mask;
+
+        int sortedIndex = sortKeys(scratch, length);
+        for (int i = 0; i < length; i++) array[startIndex + i] = (int) (scratch[sortedIndex + i] ^ mask);
+    }
+
+    /**
+     * Same as {@link #sort(int[], int, int, boolean, long[])} for the longs
+     */
+    static void sort(long[] array, int startIndex, int endIndex, boolean descending, long[] scratch) {
+        int length = endIndex - startIndex;
+        long mask = descending ? -1L : 0L;
+        for (int i = 0; i < length; i++) scratch[i] = array[startIndex + i] ^ mask;
+
+        int sortedIndex = sortKeys(scratch, length);
+        for (int i = 0; i < length; i++) array[startIndex + i] = scratch[sortedIndex + i] ^ mask;
+    }
+
+    /**
+     * Gets the key of a double whose signed order follows {@link Double#compare(double, double)} for the non-NaN doubles:
+     * all the bits but the sign are flipped for the negative doubles.
+     * It is its own inverse and keeps the exact bits of the doubles.
+     */
+    private static long getDoubleKey(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #sort(int[], int, int, boolean, long[])} for the doubles.
+     * The NaNs, which come after every other double, are moved to their end of the range beforehand
+     * since their raw bits do not fit the key order.
+     */
+    static void sort(double[] array, int startIndex, int endIndex, boolean descending, long[] scratch) {
+        // Gathering the NaNs at the end of the range, or at its start for the descending order
+        int nonNaNStart = startIndex, nonNaNEnd = endIndex;
+        if (descending) {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (Double.isNaN(array[i])) {
+                    double temp = array[nonNaNStart];
+                    array[nonNaNStart++] = array[i];
+                    array[i] = temp;
+                }
+            }
+        } else {
+            for (int i = endIndex - 1; i >= startIndex; i--) {
+                if (Double.isNaN(array[i])) {
+                    double temp = array[--nonNaNEnd];
+                    array[nonNaNEnd] = array[i];
+                    array[i] = temp;
+                }
+            }
+        }
+
+        int length = nonNaNEnd - nonNaNStart;
+        long mask = descending ? -1L : 0L;
+        for (int i = 0; i < length; i++) {
+            scratch[i] = getDoubleKey(Double.doubleToRawLongBits(array[nonNaNStart + i])) ^ mask;
+        }
+
+        int sortedIndex = sortKeys(scratch, length);
+        for (int i = 0; i < length; i++) {
+            array[nonNaNStart + i] = Double.longBitsToDouble(getDoubleKey(scratch[sortedIndex + i] ^ mask));
+        }
+    }
+}
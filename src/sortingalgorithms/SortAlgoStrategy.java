@@ -2,6 +2,9 @@ package sortingalgorithms;
 
 import utils.orderingstrategy.SortOrderingStrategy;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * Contract for a sorting algorithm strategy
  *
@@ -16,4 +19,22 @@ public interface SortAlgoStrategy<T extends Comparable<T>> {
      * @return The sorted array
      */
     T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy);
+
+    /**
+     * The method that sorts the items between the start index (inclusive) and the end index (exclusive) of the array.
+     * The default implementation sorts a copy of the range,
+     * the strategies that can work on a sub-range in place override it.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
+    default T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        T[] range = sort(Arrays.copyOfRange(array, fromIndex, toIndex), orderingStrategy);
+        System.arraycopy(range, 0, array, fromIndex, range.length);
+        return array;
+    }
 }
@@ -0,0 +1,77 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SortOrderingStrategy;
+import utils.orderingstrategy.SpecializedOrdering;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * A key column of an {@link ArgSort}: an array along with the ordering strategy of its items,
+ * which compares the items of the column by their indices.
+ */
+public final class SortColumn {
+    private final Object array;
+
+    private final int length;
+
+    private final IntBinaryOperator comparator;
+
+    private SortColumn(Object array, int length, IntBinaryOperator comparator) {
+        this.array = array;
+        this.length = length;
+        this.comparator = comparator;
+    }
+
+    public static <T extends Comparable<T>> SortColumn of(T[] keys, SortOrderingStrategy<T> orderingStrategy) {
+        // The natural orderings are compared directly, unless they are decorated eg to count the comparisons
+        SpecializedOrdering<T> ordering = new SpecializedOrdering<>(orderingStrategy);
+        return new SortColumn(keys, keys.length, (index, other) -> ordering.compare(keys[index], keys[other]));
+    }
+
+    public static SortColumn of(int[] keys, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return new SortColumn(keys, keys.length, (index, other) -> {
+            if (orderingStrategy.shouldPrecede(keys[index], keys[other])) return -1;
+            return orderingStrategy.shouldPrecede(keys[other], keys[index]) ? 1 : 0;
+        });
+    }
+
+    public static SortColumn of(long[] keys, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return new SortColumn(keys, keys.length, (index, other) -> {
+            if (orderingStrategy.shouldPrecede(keys[index], keys[other])) return -1;
+            return orderingStrategy.shouldPrecede(keys[other], keys[index]) ? 1 : 0;
+        });
+    }
+
+    public static SortColumn of(double[] keys, PrimitiveSortOrderingStrategy orderingStrategy) {
+        return new SortColumn(keys, keys.length, (index, other) -> {
+            if (orderingStrategy.shouldPrecede(keys[index], keys[other])) return -1;
+            return orderingStrategy.shouldPrecede(keys[other], keys[index]) ? 1 : 0;
+        });
+    }
+
+    /**
+     * Gets the array of the column
+     *
+     * @return The array, either an object array or a primitive one
+     */
+    public Object getArray() {
+        return array;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * The three-way comparison of 2 items of the column
+     *
+     * @param index      The index of the first item
+     * @param otherIndex The index of the other item
+     * @return A negative number if the first item should precede the other item,
+     * a positive number if it should follow it and 0 if they are equivalent
+     */
+    public int compare(int index, int otherIndex) {
+        return comparator.applyAsInt(index, otherIndex);
+    }
+}
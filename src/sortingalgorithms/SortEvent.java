@@ -0,0 +1,37 @@
+package sortingalgorithms;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JFR event committed by an {@link InstrumentedSortStrategy} for every sort while a recording enables it,
+ * eg with `-XX:StartFlightRecording` and `jfr print --events sortingalgorithms.Sort`
+ */
+@Name("sortingalgorithms.Sort")
+@Label("Sort")
+@Category("Sorting")
+@Description("A sort made through an instrumented sort strategy")
+@StackTrace(false)
+class SortEvent extends Event {
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Items")
+    int itemsCount;
+
+    @Label("Comparisons")
+    long comparisonsCount;
+
+    @Label("Displaced Items")
+    @Description("The count of items that ended up at another index, -1 if not counted")
+    long displacedItemsCount;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,36 @@
+package sortingalgorithms;
+
+/**
+ * Snapshot of the counters of an {@link InstrumentedSortStrategy}
+ *
+ * @param sortsCount          The count of sorts
+ * @param itemsCount          The total count of sorted items
+ * @param comparisonsCount    The total count of comparisons made through the ordering strategy
+ * @param displacedItemsCount The total count of items that ended up at another index, -1 if not counted
+ * @param elapsedNanos        The total time spent sorting
+ * @param allocatedBytes      The total bytes allocated by the sorting threads, -1 if not supported by the JVM
+ */
+public record SortMetrics(
+        long sortsCount,
+        long itemsCount,
+        long comparisonsCount,
+        long displacedItemsCount,
+        long elapsedNanos,
+        long allocatedBytes
+) {
+    public double getNanosPerItem() {
+        return itemsCount == 0 ? 0 : (double) elapsedNanos / itemsCount;
+    }
+
+    public double getComparisonsPerItem() {
+        return itemsCount == 0 ? 0 : (double) comparisonsCount / itemsCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%d sorts, %d items, %d comparisons, %d displaced items, %.2f ms, %d allocated bytes",
+                sortsCount, itemsCount, comparisonsCount, displacedItemsCount, elapsedNanos / 1e6, allocatedBytes
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.SortOrderingStrategy;
+
+/**
+ * Quick sort with the Bentley-McIlroy three-way partitioning.
+ * The items that are equivalent to the pivot, ie that neither precede nor follow it, are grouped in the middle
+ * within the same single pass and are excluded from the recursion,
+ * which keeps the sort fast on inputs having few unique keys.
+ *
+ * @param <T> The type of the array items
+ */
+public class ThreeWayQuickSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
+    private final QuickSort<T> quickSort = new QuickSort<>(QuickSort.Mode.INTROSORT);
+
+    private final InsertionSort<T> insertionSort = new InsertionSort<>();
+
+    private final HeapSort<T> heapSort = new HeapSort<>();
+
+    private void swap(T[] array, int i1, int i2) {
+        T temp = array[i1];
+        array[i1] = array[i2];
+        array[i2] = temp;
+    }
+
+    private boolean areEquivalent(T item, T other, SortOrderingStrategy<T> orderingStrategy) {
+        return !orderingStrategy.shouldPrecede(item, other) && !orderingStrategy.shouldPrecede(other, item);
+    }
+
+    /**
+     * The recursive implementation of the three-way quick sort.
+     *
+     * @param array            The original array
+     * @param startIndex       The start index, inclusive
+     * @param endIndex         The end index, inclusive
+     * @param depthLimit       The count of partitioning levels left before falling back to the heap sort
+     * @param orderingStrategy The ordering strategy
+     */
+    private void threeWayQuickSort(
+            T[] array,
+            int startIndex,
+            int endIndex,
+            int depthLimit,
+            SortOrderingStrategy<T> orderingStrategy
+    ) {
+        while (endIndex - startIndex + 1 > QuickSort.INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+                return;
+            }
+            depthLimit--;
+
+            // The pivot is moved to the start index
+            quickSort.selectPivot(array, startIndex, endIndex, orderingStrategy);
+            swap(array, startIndex, endIndex);
+            T pivot = array[startIndex];
+
+            // The items equivalent to the pivot are parked at both ends of the range while partitioning:
+            // [startIndex, p] and [q, endIndex] hold the equivalent items,
+            // (p, i) holds the preceding items and (j, q) holds the following items.
+            int i = startIndex, j = endIndex + 1, p = startIndex, q = endIndex + 1;
+            while (true) {
+                while (orderingStrategy.shouldPrecede(array[++i], pivot)) {
+                    if (i == endIndex) break;
+                }
+                while (orderingStrategy.shouldPrecede(pivot, array[--j])) {
+                    if (j == startIndex) break;
+                }
+
+                if (i == j && areEquivalent(array[i], pivot, orderingStrategy)) swap(array, ++p, i);
+                if (i >= j) break;
+
+                swap(array, i, j);
+                // At this point, array[i] does not follow the pivot and array[j] does not precede it,
+                // which is why a single check is enough to tell whether they are equivalent to the pivot.
+                if (!orderingStrategy.shouldPrecede(array[i], pivot)) swap(array, ++p, i);
+                if (!orderingStrategy.shouldPrecede(pivot, array[j])) swap(array, --q, j);
+            }
+
+            // Moving the equivalent items from both ends to the middle
+            i = j + 1;
+            for (int k = startIndex; k <= p; k++) swap(array, k, j--);
+            for (int k = endIndex; k >= q; k--) swap(array, k, i++);
+
+            // Recursing on the smaller side and looping on the larger one
+            if (j - startIndex < endIndex - i) {
+                threeWayQuickSort(array, startIndex, j, depthLimit, orderingStrategy);
+                startIndex = i;
+            } else {
+                threeWayQuickSort(array, i, endIndex, depthLimit, orderingStrategy);
+                endIndex = j;
+            }
+        }
+
+        insertionSort.sort(array, startIndex, endIndex + 1, orderingStrategy);
+    }
+
+    @Override
+    public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    @Override
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        threeWayQuickSort(array, fromIndex, toIndex - 1, QuickSort.getDepthLimit(toIndex - fromIndex), orderingStrategy);
+        return array;
+    }
+}
@@ -0,0 +1,429 @@
+package sortingalgorithms;
+
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.lang.reflect.Array;
+
+/**
+ * Adaptive and stable merge sort that takes advantage of the existing order of the array, à la TimSort.
+ * The array is scanned for natural runs, ie sequences that are already in order according to the ordering strategy
+ * or in the strictly reverse order, in which case they are reversed.
+ * Short runs are extended with a binary insertion sort, then the runs are pushed onto a stack
+ * and merged following TimSort's merge policy.
+ * The merges switch to galloping, ie exponential searches, whenever one of the runs keeps winning.
+ * Already ordered input is sorted in O(n).
+ *
+ * @param <T> The type of the array items
+ */
+public class TimSort<T extends Comparable<T>> implements SortAlgoStrategy<T> {
+    /**
+     * Arrays that are shorter than this are entirely sorted with the binary insertion sort
+     */
+    public static final int MIN_MERGE = 32;
+
+    /**
+     * The count of consecutive wins of a run after which the merge starts galloping
+     */
+    public static final int MIN_GALLOP = 7;
+
+    /**
+     * Max count of pending runs, which can never be reached given the invariants on the run lengths
+     */
+    private static final int MAX_PENDING_RUNS = 49;
+
+    /**
+     * Holds the state of a single sort so that the strategy itself stays stateless and thread-safe
+     */
+    private static class RunMerger<T extends Comparable<T>> {
+        private final T[] array;
+        private final SortOrderingStrategy<T> orderingStrategy;
+
+        /**
+         * The scratch buffer that holds the smaller run of a merge.
+         * It is allocated lazily and only grows when needed.
+         */
+        private T[] buffer;
+
+        private int minGallop = MIN_GALLOP;
+
+        private final int[] runBases = new int[MAX_PENDING_RUNS];
+        private final int[] runLengths = new int[MAX_PENDING_RUNS];
+        private int pendingRunsCount = 0;
+
+        RunMerger(T[] array, SortOrderingStrategy<T> orderingStrategy) {
+            this.array = array;
+            this.orderingStrategy = orderingStrategy;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T[] ensureBufferCapacity(int capacity) {
+            if (buffer == null || buffer.length < capacity) {
+                int newCapacity = buffer == null
+                        ? capacity
+                        : Math.max(capacity, Math.min(2 * buffer.length, array.length / 2 + 1));
+                buffer = (T[]) Array.newInstance(array.getClass().getComponentType(), newCapacity);
+            }
+            return buffer;
+        }
+
+        /**
+         * Checks whether an item belongs to the prefix of a sorted range when searching the insertion point of a key.
+         * The leftmost insertion point is after the items that strictly precede the key
+         * while the rightmost insertion point is after the items that do not follow the key.
+         */
+        private boolean isInPrefix(T item, T key, boolean rightmost) {
+            return rightmost ? !orderingStrategy.shouldPrecede(key, item) : orderingStrategy.shouldPrecede(item, key);
+        }
+
+        /**
+         * Locates the insertion point of a key inside a sorted range by galloping from the start of the range,
+         * ie probing the offsets 0, 1, 3, 7, ... before a binary search.
+         * It takes O(log k) comparisons where k is the returned offset.
+         *
+         * @param key       The key
+         * @param range     The array holding the range
+         * @param base      The start index of the range
+         * @param length    The length of the range
+         * @param rightmost Whether to get the rightmost insertion point rather than the leftmost one
+         * @return The offset of the insertion point from the start of the range
+         */
+        private int gallopFromStart(T key, T[] range, int base, int length, boolean rightmost) {
+            if (length == 0 || !isInPrefix(range[base], key, rightmost)) return 0;
+
+            int lastOffset = 0, offset = 1;
+            while (offset < length && isInPrefix(range[base + offset], key, rightmost)) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = length;
+            }
+            if (offset > length) offset = length;
+
+            // The insertion point is within (lastOffset, offset]
+            int low = lastOffset + 1, high = offset;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (isInPrefix(range[base + mid], key, rightmost)) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        /**
+         * Same as {@link #gallopFromStart} except that the probes start from the end of the range.
+         * It takes O(log k) comparisons where k is the distance between the insertion point and the end of the range.
+         */
+        private int gallopFromEnd(T key, T[] range, int base, int length, boolean rightmost) {
+            if (length == 0 || isInPrefix(range[base + length - 1], key, rightmost)) return length;
+
+            int lastOffset = 0, offset = 1;
+            while (offset < length && !isInPrefix(range[base + length - 1 - offset], key, rightmost)) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = length;
+            }
+            if (offset > length) offset = length;
+
+            // The insertion point is within [length - offset, length - 1 - lastOffset]
+            int low = length - offset, high = length - 1 - lastOffset;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (isInPrefix(range[base + mid], key, rightmost)) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        private void reverse(int startIndex, int endIndex) {
+            T temp;
+            for (int i = startIndex, j = endIndex - 1; i < j; i++, j--) {
+                temp = array[i];
+                array[i] = array[j];
+                array[j] = temp;
+            }
+        }
+
+        /**
+         * Gets the length of the run that begins at the start index.
+         * A strictly reversed run is reversed in place, which keeps the sort stable.
+         *
+         * @param startIndex The start index of the run
+         * @param endIndex   The end index (exclusive) of the whole range
+         * @return The length of the run
+         */
+        int countRunAndMakeOrdered(int startIndex, int endIndex) {
+            int runEndIndex = startIndex + 1;
+            if (runEndIndex == endIndex) return 1;
+
+            if (orderingStrategy.shouldPrecede(array[runEndIndex++], array[startIndex])) {
+                while (runEndIndex < endIndex && orderingStrategy.shouldPrecede(array[runEndIndex], array[runEndIndex - 1])) {
+                    runEndIndex++;
+                }
+                reverse(startIndex, runEndIndex);
+            } else {
+                while (runEndIndex < endIndex && !orderingStrategy.shouldPrecede(array[runEndIndex], array[runEndIndex - 1])) {
+                    runEndIndex++;
+                }
+            }
+
+            return runEndIndex - startIndex;
+        }
+
+        /**
+         * Sorts the range [startIndex, endIndex) with a binary insertion sort, knowing that [startIndex, sortedEndIndex) is already sorted.
+         */
+        void binaryInsertionSort(int startIndex, int endIndex, int sortedEndIndex) {
+            for (int i = sortedEndIndex; i < endIndex; i++) {
+                T current = array[i];
+
+                // Binary search of the rightmost insertion point, which keeps the sort stable
+                int insertionIndex = startIndex, high = i;
+                while (insertionIndex < high) {
+                    int mid = (insertionIndex + high) >>> 1;
+                    if (orderingStrategy.shouldPrecede(current, array[mid])) high = mid;
+                    else insertionIndex = mid + 1;
+                }
+                System.arraycopy(array, insertionIndex, array, insertionIndex + 1, i - insertionIndex);
+                array[insertionIndex] = current;
+            }
+        }
+
+        void pushRun(int runBase, int runLength) {
+            runBases[pendingRunsCount] = runBase;
+            runLengths[pendingRunsCount] = runLength;
+            pendingRunsCount++;
+        }
+
+        /**
+         * Merges the pending runs until the invariants on their lengths hold again, ie for the 3 topmost runs X, Y and Z:
+         * |X| > |Y| + |Z| and |Y| > |Z|.
+         * This keeps the merges balanced and the count of pending runs logarithmic.
+         */
+        void mergeCollapse() {
+            while (pendingRunsCount > 1) {
+                int n = pendingRunsCount - 2;
+                if (n > 0 && runLengths[n - 1] <= runLengths[n] + runLengths[n + 1]
+                        || n > 1 && runLengths[n - 2] <= runLengths[n] + runLengths[n - 1]) {
+                    if (runLengths[n - 1] < runLengths[n + 1]) n--;
+                } else if (runLengths[n] > runLengths[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges all the pending runs once the whole array has been scanned.
+         */
+        void mergeForceCollapse() {
+            while (pendingRunsCount > 1) {
+                int n = pendingRunsCount - 2;
+                if (n > 0 && runLengths[n - 1] < runLengths[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the pending runs at the stack indices i and i + 1.
+         */
+        private void mergeAt(int i) {
+            int base1 = runBases[i], length1 = runLengths[i];
+            int base2 = runBases[i + 1], length2 = runLengths[i + 1];
+
+            runLengths[i] = length1 + length2;
+            if (i == pendingRunsCount - 3) {
+                runBases[i + 1] = runBases[i + 2];
+                runLengths[i + 1] = runLengths[i + 2];
+            }
+            pendingRunsCount--;
+
+            // The items of the first run that do not follow the first item of the second run are already in place
+            int k = gallopFromStart(array[base2], array, base1, length1, true);
+            base1 += k;
+            length1 -= k;
+            if (length1 == 0) return;
+
+            // So are the items of the second run that do not precede the last item of the first run
+            length2 = gallopFromEnd(array[base1 + length1 - 1], array, base2, length2, false);
+            if (length2 == 0) return;
+
+            if (length1 <= length2) mergeLow(base1, length1, base2, length2);
+            else mergeHigh(base1, length1, base2, length2);
+        }
+
+        /**
+         * Merges 2 adjacent runs from left to right, the first one being copied to the buffer as it is the smaller one.
+         */
+        private void mergeLow(int base1, int length1, int base2, int length2) {
+            T[] buffer = ensureBufferCapacity(length1);
+            System.arraycopy(array, base1, buffer, 0, length1);
+
+            int cursor1 = 0, cursor2 = base2, destination = base1, end2 = base2 + length2;
+            while (cursor1 < length1 && cursor2 < end2) {
+                int count1 = 0, count2 = 0;
+
+                // Merging one item at a time as long as neither run keeps winning
+                while (cursor1 < length1 && cursor2 < end2 && count1 < minGallop && count2 < minGallop) {
+                    if (orderingStrategy.shouldPrecede(array[cursor2], buffer[cursor1])) {
+                        array[destination++] = array[cursor2++];
+                        count2++;
+                        count1 = 0;
+                    } else {
+                        array[destination++] = buffer[cursor1++];
+                        count1++;
+                        count2 = 0;
+                    }
+                }
+                if (cursor1 == length1 || cursor2 == end2) break;
+
+                // Galloping until the winning streaks get short again
+                do {
+                    count1 = gallopFromStart(array[cursor2], buffer, cursor1, length1 - cursor1, true);
+                    System.arraycopy(buffer, cursor1, array, destination, count1);
+                    destination += count1;
+                    cursor1 += count1;
+                    if (cursor1 == length1) break;
+                    array[destination++] = array[cursor2++];
+                    if (cursor2 == end2) break;
+
+                    count2 = gallopFromStart(buffer[cursor1], array, cursor2, end2 - cursor2, false);
+                    System.arraycopy(array, cursor2, array, destination, count2);
+                    destination += count2;
+                    cursor2 += count2;
+                    if (cursor2 == end2) break;
+                    array[destination++] = buffer[cursor1++];
+                    if (cursor1 == length1) break;
+
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+                // Penalizing the galloping mode for having stopped paying off
+                minGallop = Math.max(minGallop, 0) + 2;
+            }
+
+            // The remaining items of the second run are already in place
+            if (cursor1 < length1) {
+                System.arraycopy(buffer, cursor1, array, destination, length1 - cursor1);
+            }
+        }
+
+        /**
+         * Merges 2 adjacent runs from right to left, the second one being copied to the buffer as it is the smaller one.
+         */
+        private void mergeHigh(int base1, int length1, int base2, int length2) {
+            T[] buffer = ensureBufferCapacity(length2);
+            System.arraycopy(array, base2, buffer, 0, length2);
+
+            int cursor1 = base1 + length1 - 1, cursor2 = length2 - 1, destination = base2 + length2 - 1;
+            while (cursor1 >= base1 && cursor2 >= 0) {
+                int count1 = 0, count2 = 0;
+
+                // Merging one item at a time as long as neither run keeps winning
+                while (cursor1 >= base1 && cursor2 >= 0 && count1 < minGallop && count2 < minGallop) {
+                    if (orderingStrategy.shouldPrecede(buffer[cursor2], array[cursor1])) {
+                        array[destination--] = array[cursor1--];
+                        count1++;
+                        count2 = 0;
+                    } else {
+                        array[destination--] = buffer[cursor2--];
+                        count2++;
+                        count1 = 0;
+                    }
+                }
+                if (cursor1 < base1 || cursor2 < 0) break;
+
+                // Galloping until the winning streaks get short again
+                do {
+                    count1 = cursor1 + 1 - base1 - gallopFromEnd(buffer[cursor2], array, base1, cursor1 + 1 - base1, true);
+                    destination -= count1;
+                    cursor1 -= count1;
+                    System.arraycopy(array, cursor1 + 1, array, destination + 1, count1);
+                    if (cursor1 < base1) break;
+                    array[destination--] = buffer[cursor2--];
+                    if (cursor2 < 0) break;
+
+                    count2 = cursor2 + 1 - gallopFromEnd(array[cursor1], buffer, 0, cursor2 + 1, false);
+                    destination -= count2;
+                    cursor2 -= count2;
+                    System.arraycopy(buffer, cursor2 + 1, array, destination + 1, count2);
+                    if (cursor2 < 0) break;
+                    array[destination--] = array[cursor1--];
+                    if (cursor1 < base1) break;
+
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+                // Penalizing the galloping mode for having stopped paying off
+                minGallop = Math.max(minGallop, 0) + 2;
+            }
+
+            // The remaining items of the first run are already in place
+            if (cursor2 >= 0) {
+                System.arraycopy(buffer, 0, array, destination - cursor2, cursor2 + 1);
+            }
+        }
+    }
+
+    /**
+     * Gets the minimum length of a run so that the count of runs is a power of 2 or slightly less than that,
+     * which keeps the merges balanced.
+     *
+     * @param length The length of the array
+     * @return The minimum run length, between MIN_MERGE / 2 and MIN_MERGE
+     */
+    static int getMinRunLength(int length) {
+        int remainder = 0;
+        while (length >= MIN_MERGE) {
+            remainder |= (length & 1);
+            length >>= 1;
+        }
+        return length + remainder;
+    }
+
+    @Override
+    public T[] sort(T[] array, SortOrderingStrategy<T> orderingStrategy) {
+        return sort(array, 0, array.length, orderingStrategy);
+    }
+
+    /**
+     * Sorts the items between the start index (inclusive) and the end index (exclusive) of the array.
+     *
+     * @param array            The array to sort
+     * @param fromIndex        The start index, inclusive
+     * @param toIndex          The end index, exclusive
+     * @param orderingStrategy The ordering strategy
+     * @return The array whose given range is sorted
+     */
+    @Override
+    public T[] sort(T[] array, int fromIndex, int toIndex, SortOrderingStrategy<T> orderingStrategy) {
+        int remaining = toIndex - fromIndex;
+        if (remaining < 2) return array;
+
+        RunMerger<T> merger = new RunMerger<>(array, orderingStrategy);
+
+        // Small arrays are sorted without any merge
+        if (remaining < MIN_MERGE) {
+            int runLength = merger.countRunAndMakeOrdered(fromIndex, toIndex);
+            merger.binaryInsertionSort(fromIndex, toIndex, fromIndex + runLength);
+            return array;
+        }
+
+        int minRunLength = getMinRunLength(remaining), startIndex = fromIndex;
+        while (remaining > 0) {
+            int runLength = merger.countRunAndMakeOrdered(startIndex, toIndex);
+
+            // Extending the short runs up to the minimum run length
+            if (runLength < minRunLength) {
+                int forcedLength = Math.min(remaining, minRunLength);
+                merger.binaryInsertionSort(startIndex, startIndex + forcedLength, startIndex + runLength);
+                runLength = forcedLength;
+            }
+
+            merger.pushRun(startIndex, runLength);
+            merger.mergeCollapse();
+
+            startIndex += runLength;
+            remaining -= runLength;
+        }
+        merger.mergeForceCollapse();
+
+        return array;
+    }
+}
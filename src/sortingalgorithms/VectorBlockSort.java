@@ -0,0 +1,82 @@
+package sortingalgorithms;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernel of the {@link SmallBlockSort}, which runs the sorting network on several groups of 8 keys at once.
+ * The groups are transposed into the free half of the scratch array, so that the vector r holds the key r
+ * of consecutive groups and every compare-exchange of the network is a lane-wise min/max of 2 vectors,
+ * without any shuffle, gather or mask. The groups are padded with {@link Long#MAX_VALUE} up to a multiple of the lanes,
+ * then transposed back once sorted.
+ * <p>
+ * The {@link SmallBlockSort} only loads it when the jdk.incubator.vector module is present,
+ * ie when the JVM runs with `--add-modules jdk.incubator.vector`.
+ */
+final class VectorBlockSort implements SmallBlockSort.NetworkKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private static final int LANES = SPECIES.length();
+
+    private static final int NETWORK_LENGTH = 8;
+
+    /**
+     * Where the transposed groups start in the scratch array
+     */
+    private static final int COLUMNS_INDEX = SmallBlockSort.MAX_BLOCK_LENGTH;
+
+    @Override
+    public void sortNetworks(long[] scratch, int length) {
+        int groupsCount = length / NETWORK_LENGTH;
+        // The distance between 2 rows of the columns, ie the count of groups padded to a multiple of the lanes
+        int stride = (groupsCount + LANES - 1) / LANES * LANES;
+        for (int group = 0; group < stride; group++) {
+            for (int i = 0; i < NETWORK_LENGTH; i++) {
+                scratch[COLUMNS_INDEX + i * stride + group] = group < groupsCount ? scratch[group * NETWORK_LENGTH + i] : Long.MAX_VALUE;
+            }
+        }
+
+        for (int group = 0; group < stride; group += LANES) {
+            int index = COLUMNS_INDEX + group;
+            LongVector v0 = LongVector.fromArray(SPECIES, scratch, index);
+            LongVector v1 = LongVector.fromArray(SPECIES, scratch, index + stride);
+            LongVector v2 = LongVector.fromArray(SPECIES, scratch, index + 2 * stride);
+            LongVector v3 = LongVector.fromArray(SPECIES, scratch, index + 3 * stride);
+            LongVector v4 = LongVector.fromArray(SPECIES, scratch, index + 4 * stride);
+            LongVector v5 = LongVector.fromArray(SPECIES, scratch, index + 5 * stride);
+            LongVector v6 = LongVector.fromArray(SPECIES, scratch, index + 6 * stride);
+            LongVector v7 = LongVector.fromArray(SPECIES, scratch, index + 7 * stride);
+
+            // The same 6 layers as the scalar network, every layer naming the vectors it produces
+            LongVector a0 = v0.min(v2), a2 = v0.max(v2), a1 = v1.min(v3), a3 = v1.max(v3);
+            LongVector a4 = v4.min(v6), a6 = v4.max(v6), a5 = v5.min(v7), a7 = v5.max(v7);
+
+            LongVector b0 = a0.min(a4), b4 = a0.max(a4), b1 = a1.min(a5), b5 = a1.max(a5);
+            LongVector b2 = a2.min(a6), b6 = a2.max(a6), b3 = a3.min(a7), b7 = a3.max(a7);
+
+            LongVector c0 = b0.min(b1), c1 = b0.max(b1), c2 = b2.min(b3), c3 = b2.max(b3);
+            LongVector c4 = b4.min(b5), c5 = b4.max(b5), c6 = b6.min(b7), c7 = b6.max(b7);
+
+            LongVector d2 = c2.min(c4), d4 = c2.max(c4), d3 = c3.min(c5), d5 = c3.max(c5);
+
+            LongVector e1 = c1.min(d4), e4 = c1.max(d4), e3 = d3.min(c6), e6 = d3.max(c6);
+
+            LongVector f1 = e1.min(d2), f2 = e1.max(d2), f3 = e3.min(e4), f4 = e3.max(e4), f5 = d5.min(e6), f6 = d5.max(e6);
+
+            c0.intoArray(scratch, index);
+            f1.intoArray(scratch, index + stride);
+            f2.intoArray(scratch, index + 2 * stride);
+            f3.intoArray(scratch, index + 3 * stride);
+            f4.intoArray(scratch, index + 4 * stride);
+            f5.intoArray(scratch, index + 5 * stride);
+            f6.intoArray(scratch, index + 6 * stride);
+            c7.intoArray(scratch, index + 7 * stride);
+        }
+
+        for (int group = 0; group < groupsCount; group++) {
+            for (int i = 0; i < NETWORK_LENGTH; i++) {
+                scratch[group * NETWORK_LENGTH + i] = scratch[COLUMNS_INDEX + i * stride + group];
+            }
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package sortingalgorithms.external;
+
+import priorityqueue.BinaryHeapListPriorityQueue;
+import sortingalgorithms.SortAlgoStrategy;
+import sortingalgorithms.TimSort;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * External merge sort for the datasets that do not fit into the heap.
+ * The records are read in chunks whose estimated heap fits into the memory budget,
+ * each chunk is sorted in memory with a sort strategy
+ * then spilled to a temporary file as a sorted run.
+ * The runs are finally merged k at a time with a heap, k being the fan-in, until a single merge writes the output.
+ * The runs are written through a {@link java.nio.channels.FileChannel} and read back through memory-mapped windows.
+ * <p>
+ * The files handled by {@link #sort(Path, Path, SortOrderingStrategy)} hold framed records,
+ * ie each record encoded by the codec and preceded by its size as an int.
+ *
+ * @param <T> The type of the records
+ */
+public class ExternalMergeSort<T extends Comparable<T>> {
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    public static final int DEFAULT_FAN_IN = 64;
+
+    /**
+     * The smallest size of the I/O buffers and of the memory-mapped windows
+     */
+    private static final int MIN_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The heap taken per record of a chunk besides the record itself: its slot in the chunk list, whose capacity
+     * may be half unused, its slot in the array that is sorted and its slot in the scratch buffer of a merge sort,
+     * counted as 8 bytes each, which holds without the compressed references
+     */
+    private static final int CHUNK_REFERENCES_SIZE = 4 * 8;
+
+    private final SortAlgoStrategy<T> chunkSortStrategy;
+
+    private final RecordCodec<T> codec;
+
+    /**
+     * The count of bytes of heap that a chunk may take, ie its decoded records estimated by the codec
+     * along with the references to them, which also bounds the size of the merge buffers
+     */
+    private final long memoryBudget;
+
+    /**
+     * The max count of runs merged at once
+     */
+    private final int fanIn;
+
+    /**
+     * The directory of the temporary run files, the default temporary directory if null
+     */
+    private final Path temporaryDirectory;
+
+    /**
+     * A sink of records that may fail with an I/O error
+     */
+    private interface RecordSink<T> {
+        void accept(T record) throws IOException;
+    }
+
+    /**
+     * The head record of a run inside the merge heap.
+     * Cursors are naturally ordered by the index of their run, which breaks the ties and keeps the merge stable.
+     */
+    private static class RunCursor<T extends Comparable<T>> implements Comparable<RunCursor<T>> {
+        final int runIndex;
+        final Iterator<T> reader;
+        T head;
+
+        RunCursor(int runIndex, Iterator<T> reader) {
+            this.runIndex = runIndex;
+            this.reader = reader;
+            this.head = reader.next();
+        }
+
+        @Override
+        public int compareTo(RunCursor<T> other) {
+            return Integer.compare(runIndex, other.runIndex);
+        }
+    }
+
+    /**
+     * Orders the run cursors by their head records, then by their run indices
+     */
+    private static class RunCursorOrdering<T extends Comparable<T>> implements SortOrderingStrategy<RunCursor<T>> {
+        private final SortOrderingStrategy<T> orderingStrategy;
+
+        RunCursorOrdering(SortOrderingStrategy<T> orderingStrategy) {
+            this.orderingStrategy = orderingStrategy;
+        }
+
+        @Override
+        public boolean shouldPrecede(RunCursor<T> current, RunCursor<T> other) {
+            if (orderingStrategy.shouldPrecede(current.head, other.head)) return true;
+            return !orderingStrategy.shouldPrecede(other.head, current.head) && current.compareTo(other) < 0;
+        }
+    }
+
+    public ExternalMergeSort(RecordCodec<T> codec) {
+        this(new TimSort<>(), codec, DEFAULT_MEMORY_BUDGET, DEFAULT_FAN_IN, null);
+    }
+
+    public ExternalMergeSort(
+            SortAlgoStrategy<T> chunkSortStrategy,
+            RecordCodec<T> codec,
+            long memoryBudget,
+            int fanIn,
+            Path temporaryDirectory
+    ) {
+        if (memoryBudget < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("The memory budget must be at least " + MIN_BUFFER_SIZE + " bytes");
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("The fan-in must be at least 2");
+        }
+        this.chunkSortStrategy = chunkSortStrategy;
+        this.codec = codec;
+        this.memoryBudget = memoryBudget;
+        this.fanIn = fanIn;
+        this.temporaryDirectory = temporaryDirectory;
+    }
+
+    /**
+     * Gets the size of each of the buffers used by a merge, ie one per merged run plus one for the output
+     */
+    private int getMergeBufferSize() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_BUFFER_SIZE, memoryBudget / (fanIn + 1)));
+    }
+
+    private Path createRunFile() throws IOException {
+        return temporaryDirectory == null
+                ? Files.createTempFile("run-", ".bin")
+                : Files.createTempFile(temporaryDirectory, "run-", ".bin");
+    }
+
+    /**
+     * Sorts a chunk in memory and spills it to a new run file.
+     */
+    private Path spill(List<T> chunk, SortOrderingStrategy<T> orderingStrategy) throws IOException {
+        T[] items = chunkSortStrategy.sort(chunk.toArray(codec.newArray(chunk.size())), orderingStrategy);
+
+        Path run = createRunFile();
+        try (RunWriter<T> writer = new RunWriter<>(run, codec, getMergeBufferSize())) {
+            for (T item : items) {
+                writer.write(item);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Reads the records in chunks whose estimated heap fits into the memory budget and spills each of them as a sorted run.
+     */
+    private List<Path> createRuns(Iterator<T> records, SortOrderingStrategy<T> orderingStrategy) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        List<T> chunk = new ArrayList<>();
+        long chunkSize = 0;
+
+        try {
+            while (records.hasNext()) {
+                T record = records.next();
+                chunk.add(record);
+                chunkSize += codec.getHeapSize(record) + CHUNK_REFERENCES_SIZE;
+                if (chunkSize >= memoryBudget) {
+                    runs.add(spill(chunk, orderingStrategy));
+                    chunk.clear();
+                    chunkSize = 0;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                runs.add(spill(chunk, orderingStrategy));
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteRuns(runs);
+            throw e;
+        }
+
+        return runs;
+    }
+
+    /**
+     * Merges the given runs into the sink with a heap of their head records.
+     */
+    private void merge(List<Path> runs, RecordSink<T> sink, SortOrderingStrategy<T> orderingStrategy) throws IOException {
+        List<RunReader<T>> readers = new ArrayList<>();
+        try {
+            ArrayList<RunCursor<T>> cursors = new ArrayList<>();
+            for (Path run : runs) {
+                RunReader<T> reader = new RunReader<>(run, codec, getMergeBufferSize());
+                readers.add(reader);
+                if (reader.hasNext()) {
+                    cursors.add(new RunCursor<>(cursors.size(), reader));
+                }
+            }
+
+            BinaryHeapListPriorityQueue<RunCursor<T>> heap = new BinaryHeapListPriorityQueue<>(
+                    cursors,
+                    new RunCursorOrdering<>(orderingStrategy)
+            );
+            while (!heap.isEmpty()) {
+                RunCursor<T> cursor = heap.dequeue();
+                sink.accept(cursor.head);
+                if (cursor.reader.hasNext()) {
+                    cursor.head = cursor.reader.next();
+                    heap.enqueue(cursor);
+                }
+            }
+        } finally {
+            for (RunReader<T> reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Merges the runs fan-in at a time until there are few enough of them to be merged into the sink at once.
+     * The merged runs are deleted along the way.
+     */
+    private void mergeRuns(List<Path> runs, RecordSink<T> sink, SortOrderingStrategy<T> orderingStrategy) throws IOException {
+        try {
+            while (runs.size() > fanIn) {
+                List<Path> mergedRuns = new ArrayList<>();
+                try {
+                    for (int i = 0; i < runs.size(); i += fanIn) {
+                        List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                        Path mergedRun = createRunFile();
+                        mergedRuns.add(mergedRun);
+                        try (RunWriter<T> writer = new RunWriter<>(mergedRun, codec, getMergeBufferSize())) {
+                            merge(group, writer::write, orderingStrategy);
+                        }
+                        deleteRuns(group);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    deleteRuns(mergedRuns);
+                    throw e;
+                }
+                runs = mergedRuns;
+            }
+
+            merge(runs, sink, orderingStrategy);
+        } finally {
+            deleteRuns(runs);
+        }
+    }
+
+    private void deleteRuns(List<Path> runs) throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+    }
+
+    /**
+     * Sorts a stream of records and streams the sorted records to the output.
+     *
+     * @param records          The records to sort
+     * @param output           The consumer of the sorted records
+     * @param orderingStrategy The ordering strategy
+     * @throws IOException If the runs could not be spilled or read back
+     */
+    public void sort(Iterator<T> records, Consumer<T> output, SortOrderingStrategy<T> orderingStrategy) throws IOException {
+        mergeRuns(createRuns(records, orderingStrategy), output::accept, orderingStrategy);
+    }
+
+    /**
+     * Sorts the framed records of the input file into the output file.
+     *
+     * @param input            The input file
+     * @param output           The output file, which is overwritten
+     * @param orderingStrategy The ordering strategy
+     * @throws IOException If any of the files could not be read or written
+     */
+    public void sort(Path input, Path output, SortOrderingStrategy<T> orderingStrategy) throws IOException {
+        List<Path> runs;
+        try (RunReader<T> reader = new RunReader<>(input, codec, getMergeBufferSize())) {
+            runs = createRuns(reader, orderingStrategy);
+        }
+        try (RunWriter<T> writer = new RunWriter<>(output, codec, getMergeBufferSize())) {
+            mergeRuns(runs, writer::write, orderingStrategy);
+        }
+    }
+
+    /**
+     * Writes records as framed records into a file, eg to prepare the input of {@link #sort(Path, Path, SortOrderingStrategy)}.
+     *
+     * @param records The records
+     * @param output  The output file, which is overwritten
+     * @throws IOException If the file could not be written
+     */
+    public void write(Iterator<T> records, Path output) throws IOException {
+        try (RunWriter<T> writer = new RunWriter<>(output, codec, getMergeBufferSize())) {
+            while (records.hasNext()) {
+                writer.write(records.next());
+            }
+        }
+    }
+
+    /**
+     * Reads the framed records of a file, eg the output of {@link #sort(Path, Path, SortOrderingStrategy)}.
+     *
+     * @param input    The input file
+     * @param consumer The consumer of the records
+     * @throws IOException If the file could not be read
+     */
+    public void read(Path input, Consumer<T> consumer) throws IOException {
+        try (RunReader<T> reader = new RunReader<>(input, codec, getMergeBufferSize())) {
+            while (reader.hasNext()) {
+                consumer.accept(reader.next());
+            }
+        }
+    }
+}
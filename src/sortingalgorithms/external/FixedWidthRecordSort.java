@@ -0,0 +1,404 @@
+package sortingalgorithms.external;
+
+import priorityqueue.BinaryHeapListPriorityQueue;
+import utils.orderingstrategy.PrimitiveMaxOrdering;
+import utils.orderingstrategy.PrimitiveMinOrdering;
+import utils.orderingstrategy.PrimitiveSortOrderingStrategy;
+import utils.orderingstrategy.SpecializedPrimitiveOrdering;
+import utils.orderingstrategy.SortOrderingStrategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Sorts fixed-width records in place inside a {@link ByteBuffer}, be it heap-backed, direct or mapped from a file,
+ * without ever creating an object per record.
+ * <p>
+ * The key of a record is the range of bytes at the key offset, compared as a big-endian number,
+ * ie byte after byte as unsigned bytes, the first byte being two's complement for the signed keys.
+ * <ol>
+ *     <li>The first 8 bytes of every key are packed into a long that is stored along with the index of its record.</li>
+ *     <li>The pairs are sorted by an LSD radix sort on the packed keys, whose passes over constant bytes are skipped.</li>
+ *     <li>For keys longer than 8 bytes, the runs of equal packed keys are sorted by the rest of their keys,
+ *     read straight from the buffer.</li>
+ *     <li>The records are moved to their sorted slot by following the cycles of the permutation,
+ *     so every record is copied once, through a single record-sized scratch array.</li>
+ * </ol>
+ * The sort is stable and uses 24 bytes of heap per record.
+ * Only the {@link PrimitiveMinOrdering} and the {@link PrimitiveMaxOrdering} are supported.
+ * <p>
+ * A mapping is limited to 2GB, so the files that are larger are sorted window after window,
+ * each window being mapped and sorted in place, then the sorted windows are merged with a heap
+ * into a temporary file next to the file, which finally replaces it.
+ */
+public class FixedWidthRecordSort {
+    /**
+     * Runs of equal packed keys that are at most this long are sorted by the insertion sort
+     */
+    public static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private static final int DIGIT_BITS = 8;
+
+    private static final int RADIX = 1 << DIGIT_BITS;
+
+    /**
+     * The size of the buffer that the merge of the windows writes through
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 20;
+
+    private final int recordSize;
+
+    private final int keyOffset;
+
+    private final int keyWidth;
+
+    private final boolean isSignedKey;
+
+    public FixedWidthRecordSort(int recordSize, int keyOffset, int keyWidth) {
+        this(recordSize, keyOffset, keyWidth, false);
+    }
+
+    /**
+     * @param recordSize  The size of every record, in bytes
+     * @param keyOffset   The offset of the key inside a record, in bytes
+     * @param keyWidth    The width of the key, in bytes
+     * @param isSignedKey Whether the first byte of the key is two's complement, eg for big-endian integers
+     */
+    public FixedWidthRecordSort(int recordSize, int keyOffset, int keyWidth, boolean isSignedKey) {
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("The record size must be positive");
+        }
+        if (keyOffset < 0 || keyWidth <= 0 || keyOffset + keyWidth > recordSize) {
+            throw new IllegalArgumentException("The key must fit within the record");
+        }
+        this.recordSize = recordSize;
+        this.keyOffset = keyOffset;
+        this.keyWidth = keyWidth;
+        this.isSignedKey = isSignedKey;
+    }
+
+    private static boolean isDescending(PrimitiveSortOrderingStrategy orderingStrategy) {
+        if (!SpecializedPrimitiveOrdering.isNatural(orderingStrategy)) {
+            throw new IllegalArgumentException("Only the primitive min and max orderings are supported");
+        }
+        return SpecializedPrimitiveOrdering.isDescending(orderingStrategy);
+    }
+
+    /**
+     * Gets the first 8 bytes of the key of a record as an unsigned radix key, ie a key whose unsigned order is the
+     * requested order of the records. Shorter keys are padded with zeros.
+     */
+    private long getRadixKey(ByteBuffer records, int recordPosition, boolean descending) {
+        int keyPosition = recordPosition + keyOffset;
+        long key;
+        if (keyWidth >= Long.BYTES) {
+            key = records.getLong(keyPosition);
+        } else {
+            key = 0;
+            for (int i = 0; i < keyWidth; i++) key = (key << 8) | (records.get(keyPosition + i) & 0xFF);
+            key <<= 8 * (Long.BYTES - keyWidth);
+        }
+        // Flipping the sign bit of the signed keys gives their unsigned order, then all the bits for the descending order
+        if (isSignedKey) key ^= Long.MIN_VALUE;
+        return descending ? ~key : key;
+    }
+
+    /**
+     * Compares the bytes of 2 keys that come after their first 8 bytes, in the requested order
+     */
+    private int compareKeyTails(
+            ByteBuffer records,
+            int recordPosition,
+            ByteBuffer otherRecords,
+            int otherRecordPosition,
+            boolean descending
+    ) {
+        int i = Long.BYTES, comparison = 0;
+        for (; i + Long.BYTES <= keyWidth && comparison == 0; i += Long.BYTES) {
+            comparison = Long.compareUnsigned(
+                    records.getLong(recordPosition + keyOffset + i),
+                    otherRecords.getLong(otherRecordPosition + keyOffset + i)
+            );
+        }
+        for (; i < keyWidth && comparison == 0; i++) {
+            comparison = Integer.compare(
+                    records.get(recordPosition + keyOffset + i) & 0xFF,
+                    otherRecords.get(otherRecordPosition + keyOffset + i) & 0xFF
+            );
+        }
+        return descending ? -comparison : comparison;
+    }
+
+    /**
+     * Sorts the pairs of radix keys and record indices by the LSD radix sort of the keys, which keeps them stable
+     */
+    private static void radixSort(long[] keys, int[] indices) {
+        int length = keys.length;
+        int[][] histograms = new int[Long.BYTES][RADIX];
+        for (long key : keys) {
+            for (int pass = 0; pass < Long.BYTES; pass++) {
+                histograms[pass][(int) (key >>> (pass * DIGIT_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        long[] keyBuffer = new long[length];
+        int[] indexBuffer = new int[length];
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            int[] histogram = histograms[pass];
+            // All the keys share the same digit, the pass would not move anything
+            if (histogram[(int) (keys[0] >>> (pass * DIGIT_BITS)) & (RADIX - 1)] == length) continue;
+
+            int[] offsets = new int[RADIX];
+            for (int digit = 1; digit < RADIX; digit++) offsets[digit] = offsets[digit - 1] + histogram[digit - 1];
+            for (int i = 0; i < length; i++) {
+                int destination = offsets[(int) (keys[i] >>> (pass * DIGIT_BITS)) & (RADIX - 1)]++;
+                keyBuffer[destination] = keys[i];
+                indexBuffer[destination] = indices[i];
+            }
+
+            System.arraycopy(keyBuffer, 0, keys, 0, length);
+            System.arraycopy(indexBuffer, 0, indices, 0, length);
+        }
+    }
+
+    /**
+     * Sorts stably the indices of a run of equal packed keys by the rest of their keys.
+     *
+     * @param records    The records, indexed from 0
+     * @param indices    The indices of the records
+     * @param buffer     The scratch buffer, which holds a left half
+     * @param startIndex The start index of the run, inclusive
+     * @param endIndex   The end index of the run, exclusive
+     * @param descending Whether the records are sorted in descending order
+     */
+    private void sortByKeyTails(ByteBuffer records, int[] indices, int[] buffer, int startIndex, int endIndex, boolean descending) {
+        if (endIndex - startIndex <= INSERTION_SORT_THRESHOLD) {
+            for (int i = startIndex + 1; i < endIndex; i++) {
+                int index = indices[i], j = i - 1;
+                while (j >= startIndex
+                        && compareKeyTails(records, index * recordSize, records, indices[j] * recordSize, descending) < 0) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = index;
+            }
+            return;
+        }
+
+        int midIndex = (startIndex + endIndex) >>> 1;
+        sortByKeyTails(records, indices, buffer, startIndex, midIndex, descending);
+        sortByKeyTails(records, indices, buffer, midIndex, endIndex, descending);
+
+        int leftLength = midIndex - startIndex;
+        System.arraycopy(indices, startIndex, buffer, 0, leftLength);
+        int i = 0, j = midIndex, k = startIndex;
+        while (i < leftLength && j < endIndex) {
+            indices[k++] = compareKeyTails(records, indices[j] * recordSize, records, buffer[i] * recordSize, descending) < 0
+                    ? indices[j++]
+                    : buffer[i++];
+        }
+        while (i < leftLength) indices[k++] = buffer[i++];
+    }
+
+    /**
+     * Moves every record to its sorted slot, ie the record at the index `permutation[i]` to the index i,
+     * by rotating the cycles of the permutation.
+     */
+    private void applyPermutation(ByteBuffer records, int[] permutation) {
+        byte[] firstRecord = new byte[recordSize];
+        BitSet visited = new BitSet(permutation.length);
+        for (int start = visited.nextClearBit(0); start < permutation.length; start = visited.nextClearBit(start + 1)) {
+            records.get(start * recordSize, firstRecord);
+            int i = start;
+            for (int next = permutation[i]; next != start; i = next, next = permutation[i]) {
+                records.put(i * recordSize, records, next * recordSize, recordSize);
+                visited.set(i);
+            }
+            records.put(i * recordSize, firstRecord);
+            visited.set(i);
+        }
+    }
+
+    /**
+     * Sorts in place the records between the position and the limit of the buffer, which are left unchanged.
+     *
+     * @param records          The buffer of the records
+     * @param orderingStrategy Either the primitive min ordering or the primitive max ordering
+     */
+    public void sort(ByteBuffer records, PrimitiveSortOrderingStrategy orderingStrategy) {
+        boolean descending = isDescending(orderingStrategy);
+        if (records.remaining() % recordSize != 0) {
+            throw new IllegalArgumentException("The buffer must hold a whole count of records");
+        }
+        int recordsCount = records.remaining() / recordSize;
+        if (recordsCount <= 1) return;
+
+        // The keys are read as big-endian numbers whatever the order of the buffer, and the records are indexed from 0
+        ByteBuffer view = records.slice().order(ByteOrder.BIG_ENDIAN);
+
+        long[] keys = new long[recordsCount];
+        int[] indices = new int[recordsCount];
+        for (int i = 0; i < recordsCount; i++) {
+            keys[i] = getRadixKey(view, i * recordSize, descending);
+            indices[i] = i;
+        }
+        radixSort(keys, indices);
+
+        // The packed keys only hold the first 8 bytes of the longer keys, the runs of equal packed keys are sorted on the rest
+        if (keyWidth > Long.BYTES) {
+            int[] buffer = new int[recordsCount / 2 + 1];
+            for (int runStart = 0, runEnd; runStart < recordsCount; runStart = runEnd) {
+                runEnd = runStart + 1;
+                while (runEnd < recordsCount && keys[runEnd] == keys[runStart]) runEnd++;
+                if (runEnd - runStart > 1) sortByKeyTails(view, indices, buffer, runStart, runEnd, descending);
+            }
+        }
+
+        applyPermutation(view, indices);
+    }
+
+    /**
+     * The head record of a sorted window inside the merge heap.
+     * Cursors are naturally ordered by the index of their window, which breaks the ties and keeps the merge stable.
+     */
+    private static class WindowCursor implements Comparable<WindowCursor> {
+        final int windowIndex;
+        final ByteBuffer records;
+        int position;
+        long radixKey;
+
+        WindowCursor(int windowIndex, ByteBuffer records) {
+            this.windowIndex = windowIndex;
+            this.records = records;
+        }
+
+        @Override
+        public int compareTo(WindowCursor other) {
+            return Integer.compare(windowIndex, other.windowIndex);
+        }
+    }
+
+    /**
+     * Orders the window cursors by the keys of their head records, then by their window indices
+     */
+    private class WindowCursorOrdering implements SortOrderingStrategy<WindowCursor> {
+        private final boolean descending;
+
+        WindowCursorOrdering(boolean descending) {
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean shouldPrecede(WindowCursor current, WindowCursor other) {
+            int comparison = Long.compareUnsigned(current.radixKey, other.radixKey);
+            if (comparison == 0 && keyWidth > Long.BYTES) {
+                comparison = compareKeyTails(current.records, current.position, other.records, other.position, descending);
+            }
+            return comparison != 0 ? comparison < 0 : current.compareTo(other) < 0;
+        }
+    }
+
+    /**
+     * Merges the sorted windows into a file with a heap of their head records.
+     */
+    private void merge(List<ByteBuffer> windows, Path output, boolean descending) throws IOException {
+        ArrayList<WindowCursor> cursors = new ArrayList<>();
+        for (ByteBuffer window : windows) {
+            WindowCursor cursor = new WindowCursor(cursors.size(), window);
+            cursor.radixKey = getRadixKey(window, 0, descending);
+            cursors.add(cursor);
+        }
+        BinaryHeapListPriorityQueue<WindowCursor> heap = new BinaryHeapListPriorityQueue<>(
+                cursors,
+                new WindowCursorOrdering(descending)
+        );
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(recordSize, OUTPUT_BUFFER_SIZE / recordSize * recordSize));
+            while (!heap.isEmpty()) {
+                WindowCursor cursor = heap.dequeue();
+                if (buffer.remaining() < recordSize) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                    buffer.clear();
+                }
+                buffer.put(buffer.position(), cursor.records, cursor.position, recordSize);
+                buffer.position(buffer.position() + recordSize);
+
+                cursor.position += recordSize;
+                if (cursor.position < cursor.records.limit()) {
+                    cursor.radixKey = getRadixKey(cursor.records, cursor.position, descending);
+                    heap.enqueue(cursor);
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Sorts in place the records of a file through memory mappings of at most 2GB.
+     *
+     * @param file             The file of the records
+     * @param orderingStrategy Either the primitive min ordering or the primitive max ordering
+     * @throws IOException If the file cannot be mapped
+     */
+    public void sort(Path file, PrimitiveSortOrderingStrategy orderingStrategy) throws IOException {
+        sort(file, Integer.MAX_VALUE, orderingStrategy);
+    }
+
+    /**
+     * Sorts in place the records of a file through memory mappings.
+     * The files larger than a window are sorted window after window, then merged through a temporary file
+     * as large as the file, which then replaces it.
+     *
+     * @param file             The file of the records
+     * @param windowSize       The max size of a mapping, in bytes, rounded down to a whole count of records
+     * @param orderingStrategy Either the primitive min ordering or the primitive max ordering
+     * @throws IOException If the file cannot be mapped, or the temporary file cannot be written
+     */
+    public void sort(Path file, int windowSize, PrimitiveSortOrderingStrategy orderingStrategy) throws IOException {
+        boolean descending = isDescending(orderingStrategy);
+        if (windowSize < recordSize) {
+            throw new IllegalArgumentException("The window must hold at least a record");
+        }
+        long windowLength = (long) (windowSize / recordSize) * recordSize;
+
+        Path mergedFile = null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size % recordSize != 0) {
+                throw new IllegalArgumentException("The file must hold a whole count of records");
+            }
+
+            List<ByteBuffer> windows = new ArrayList<>();
+            for (long position = 0; position < size; position += windowLength) {
+                MappedByteBuffer window = channel.map(
+                        FileChannel.MapMode.READ_WRITE, position, Math.min(windowLength, size - position)
+                );
+                sort(window, orderingStrategy);
+                window.force();
+                windows.add(window.order(ByteOrder.BIG_ENDIAN));
+            }
+            if (windows.size() <= 1) return;
+
+            mergedFile = Files.createTempFile(file.toAbsolutePath().getParent(), "sort", ".records");
+            merge(windows, mergedFile, descending);
+        } catch (IOException | RuntimeException e) {
+            if (mergedFile != null) Files.deleteIfExists(mergedFile);
+            throw e;
+        }
+        Files.move(mergedFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
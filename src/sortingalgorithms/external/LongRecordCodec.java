@@ -0,0 +1,34 @@
+package sortingalgorithms.external;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes the Long records as 8 bytes
+ */
+public class LongRecordCodec implements RecordCodec<Long> {
+    @Override
+    public int getSize(Long record) {
+        return Long.BYTES;
+    }
+
+    @Override
+    public long getHeapSize(Long record) {
+        // The value is aligned on 8 bytes after the header
+        return OBJECT_HEADER_SIZE + Long.BYTES;
+    }
+
+    @Override
+    public void write(Long record, ByteBuffer buffer) {
+        buffer.putLong(record);
+    }
+
+    @Override
+    public Long read(ByteBuffer buffer, int size) {
+        return buffer.getLong();
+    }
+
+    @Override
+    public Long[] newArray(int length) {
+        return new Long[length];
+    }
+}
@@ -0,0 +1,69 @@
+package sortingalgorithms.external;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Contract for the binary encoding of the records that are spilled to the disk by the {@link ExternalMergeSort}.
+ * The records are framed by the sort itself, so a codec never has to encode the size of a record.
+ *
+ * @param <T> The type of the records
+ */
+public interface RecordCodec<T> {
+    /**
+     * The size of the header of an array on a 64-bit JVM, which bounds the header of any object
+     */
+    int OBJECT_HEADER_SIZE = 16;
+
+    /**
+     * Rounds a size up to the alignment of the objects in the heap, ie 8 bytes
+     */
+    static long alignObjectSize(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Gets the count of bytes that the encoding of a record takes
+     *
+     * @param record The record
+     * @return The count of bytes
+     */
+    int getSize(T record);
+
+    /**
+     * Estimates the count of bytes of heap that a decoded record takes, which the chunks of the sort are cut by.
+     * The default estimate is an object header followed by the encoded bytes, which the codecs of the records
+     * that take more heap than their encoding should override.
+     *
+     * @param record The record
+     * @return The estimate of the count of bytes, a multiple of 8 like the sizes of the objects
+     */
+    default long getHeapSize(T record) {
+        return RecordCodec.alignObjectSize(OBJECT_HEADER_SIZE + getSize(record));
+    }
+
+    /**
+     * Encodes a record into the buffer, writing exactly {@link #getSize(Object)} bytes
+     *
+     * @param record The record
+     * @param buffer The buffer to write to
+     */
+    void write(T record, ByteBuffer buffer);
+
+    /**
+     * Decodes a record from the buffer, reading exactly the given count of bytes
+     *
+     * @param buffer The buffer to read from
+     * @param size   The count of bytes of the encoded record
+     * @return The record
+     */
+    T read(ByteBuffer buffer, int size);
+
+    /**
+     * Creates an array of records, whose runtime type is the one of the records,
+     * so that the sort strategies specialized for a record type, eg the String sorts, can sort the chunks
+     *
+     * @param length The length of the array
+     * @return The array
+     */
+    T[] newArray(int length);
+}
@@ -0,0 +1,82 @@
+package sortingalgorithms.external;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the framed records written by a {@link RunWriter} through a sliding memory-mapped window over the file.
+ * The window is remapped whenever the next record does not fit into what is left of it.
+ *
+ * @param <T> The type of the records
+ */
+class RunReader<T> implements Iterator<T>, Closeable {
+    private final FileChannel channel;
+
+    private final RecordCodec<T> codec;
+
+    private final long fileSize;
+
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+
+    /**
+     * The position of the start of the window inside the file
+     */
+    private long windowPosition = 0;
+
+    RunReader(Path path, RecordCodec<T> codec, int windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.codec = codec;
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    private long getPosition() {
+        return window == null ? 0 : windowPosition + window.position();
+    }
+
+    /**
+     * Makes sure that the window holds at least the given count of bytes from the current position
+     */
+    private void ensureMapped(int bytesCount) throws IOException {
+        if (window != null && window.remaining() >= bytesCount) return;
+
+        long position = getPosition();
+        long size = Math.min(Math.max(windowSize, bytesCount), fileSize - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        windowPosition = position;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return getPosition() < fileSize;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+
+        try {
+            ensureMapped(Integer.BYTES);
+            int size = window.getInt();
+            ensureMapped(size);
+            return codec.read(window, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,64 @@
+package sortingalgorithms.external;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes framed records, ie each record preceded by its size as an int, to a file through a {@link FileChannel}.
+ *
+ * @param <T> The type of the records
+ */
+class RunWriter<T> implements Closeable {
+    private final FileChannel channel;
+
+    private final RecordCodec<T> codec;
+
+    private final ByteBuffer buffer;
+
+    RunWriter(Path path, RecordCodec<T> codec, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        );
+        this.codec = codec;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    private void flush(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    void write(T record) throws IOException {
+        int size = codec.getSize(record), frameSize = Integer.BYTES + size;
+        if (buffer.remaining() < frameSize) {
+            flush(buffer);
+        }
+
+        // A record that does not fit into the buffer gets its own buffer
+        ByteBuffer target = frameSize <= buffer.capacity() ? buffer : ByteBuffer.allocate(frameSize);
+        target.putInt(size);
+        codec.write(record, target);
+        if (target != buffer) {
+            flush(target);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush(buffer);
+        } finally {
+            channel.close();
+        }
+    }
+}
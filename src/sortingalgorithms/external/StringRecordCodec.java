@@ -0,0 +1,59 @@
+package sortingalgorithms.external;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the String records as UTF-8 bytes
+ */
+public class StringRecordCodec implements RecordCodec<String> {
+    /**
+     * The String object itself, whose fields hold the reference to its bytes, the hash and the coder
+     */
+    private static final int STRING_SIZE = 24;
+
+    @Override
+    public int getSize(String record) {
+        int size = 0, length = record.length();
+        for (int i = 0; i < length; i++) {
+            char c = record.charAt(i);
+            if (c < 0x80) size++;
+            else if (c < 0x800) size += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(record.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // The unpaired surrogates are replaced by '?'
+                size++;
+            } else size += 3;
+        }
+        return size;
+    }
+
+    @Override
+    public long getHeapSize(String record) {
+        // The compact strings hold a byte per char when all of them are Latin-1, and 2 bytes per char otherwise
+        int length = record.length(), bytesPerChar = 1;
+        for (int i = 0; i < length && bytesPerChar == 1; i++) {
+            if (record.charAt(i) > 0xFF) bytesPerChar = 2;
+        }
+        return STRING_SIZE + RecordCodec.alignObjectSize(OBJECT_HEADER_SIZE + (long) length * bytesPerChar);
+    }
+
+    @Override
+    public void write(String record, ByteBuffer buffer) {
+        buffer.put(record.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String read(ByteBuffer buffer, int size) {
+        byte[] bytes = new byte[size];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String[] newArray(int length) {
+        return new String[length];
+    }
+}
@@ -0,0 +1,27 @@
+package utils.orderingstrategy;
+
+import java.util.Comparator;
+
+/**
+ * Ordering strategy backed by a three-way comparator, so that both the precedence and the equivalence of 2 items
+ * are known from a single comparison.
+ *
+ * @param <T> The type of array item
+ */
+public class ComparatorOrdering<T extends Comparable<T>> implements SortOrderingStrategy<T> {
+    private final Comparator<? super T> comparator;
+
+    public ComparatorOrdering(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    @Override
+    public boolean shouldPrecede(T current, T other) {
+        return comparator.compare(current, other) < 0;
+    }
+
+    @Override
+    public int compare(T current, T other) {
+        return comparator.compare(current, other);
+    }
+}
@@ -0,0 +1,58 @@
+package utils.orderingstrategy;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator of an ordering strategy that counts the comparisons made through it.
+ * It follows the {@link NaturalOrdering} of the wrapped strategy if any, so the sorts that rely on the natural order,
+ * eg the String sorts, keep their algorithm while being counted,
+ * but the hot loops compare through it rather than directly, so that every comparison is counted.
+ * The counter supports the sorts that compare from several threads.
+ *
+ * @param <T> The type of array item
+ */
+public class InstrumentedOrdering<T extends Comparable<T>> implements SortOrderingStrategy<T>, NaturalOrdering {
+    private final SortOrderingStrategy<T> orderingStrategy;
+
+    private final LongAdder comparisonsCount = new LongAdder();
+
+    public InstrumentedOrdering(SortOrderingStrategy<T> orderingStrategy) {
+        this.orderingStrategy = orderingStrategy;
+    }
+
+    /**
+     * Gets the count of calls to {@link #shouldPrecede(Comparable, Comparable)} and {@link #compare(Comparable, Comparable)}
+     * since the creation or the last reset
+     *
+     * @return The count of comparisons
+     */
+    public long getComparisonsCount() {
+        return comparisonsCount.sum();
+    }
+
+    public void reset() {
+        comparisonsCount.reset();
+    }
+
+    @Override
+    public boolean shouldPrecede(T current, T other) {
+        comparisonsCount.increment();
+        return orderingStrategy.shouldPrecede(current, other);
+    }
+
+    @Override
+    public int compare(T current, T other) {
+        comparisonsCount.increment();
+        return orderingStrategy.compare(current, other);
+    }
+
+    @Override
+    public boolean isNatural() {
+        return orderingStrategy instanceof NaturalOrdering naturalOrdering && naturalOrdering.isNatural();
+    }
+
+    @Override
+    public boolean isDescending() {
+        return isNatural() && ((NaturalOrdering) orderingStrategy).isDescending();
+    }
+}
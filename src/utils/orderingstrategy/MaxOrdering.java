@@ -1,8 +1,23 @@
 package utils.orderingstrategy;
 
-public class MaxOrdering<T extends Comparable<T>> implements SortOrderingStrategy<T> {
+public final class MaxOrdering<T extends Comparable<T>> implements SortOrderingStrategy<T>, NaturalOrdering {
     @Override
     public boolean shouldPrecede(T current, T other) {
         return current.compareTo(other) > 0;
     }
+
+    @Override
+    public int compare(T current, T other) {
+        return other.compareTo(current);
+    }
+
+    @Override
+    public SortOrderingStrategy<T> reversed() {
+        return new MinOrdering<>();
+    }
+
+    @Override
+    public boolean isDescending() {
+        return true;
+    }
 }
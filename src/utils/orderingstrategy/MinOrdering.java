@@ -1,8 +1,23 @@
 package utils.orderingstrategy;
 
-public class MinOrdering<T extends Comparable<T>> implements SortOrderingStrategy<T> {
+public final class MinOrdering<T extends Comparable<T>> implements SortOrderingStrategy<T>, NaturalOrdering {
     @Override
     public boolean shouldPrecede(T current, T other) {
         return current.compareTo(other) < 0;
     }
+
+    @Override
+    public int compare(T current, T other) {
+        return current.compareTo(other);
+    }
+
+    @Override
+    public SortOrderingStrategy<T> reversed() {
+        return new MaxOrdering<>();
+    }
+
+    @Override
+    public boolean isDescending() {
+        return false;
+    }
 }
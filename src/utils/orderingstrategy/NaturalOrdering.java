@@ -0,0 +1,28 @@
+package utils.orderingstrategy;
+
+/**
+ * Marks the ordering strategies that follow the natural order of the items, ie {@link Comparable#compareTo(Object)},
+ * either ascending or descending.
+ * The sorts that rely on the natural order check {@link #isNatural()} as well, since a decorator may implement it
+ * for another ordering strategy.
+ * The hot loops of the sorts compare the items of the final {@link MinOrdering} and {@link MaxOrdering} directly
+ * through a {@link SpecializedOrdering}.
+ */
+public interface NaturalOrdering {
+    /**
+     * Whether the items actually follow their natural order,
+     * which a decorator of another ordering strategy only does if the decorated one does
+     *
+     * @return The boolean result
+     */
+    default boolean isNatural() {
+        return true;
+    }
+
+    /**
+     * Whether the items are ordered from the greatest to the smallest
+     *
+     * @return The boolean result
+     */
+    boolean isDescending();
+}
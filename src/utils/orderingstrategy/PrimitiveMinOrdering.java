@@ -0,0 +1,18 @@
+package utils.orderingstrategy;
+
+public final class PrimitiveMinOrdering implements PrimitiveSortOrderingStrategy {
+    @Override
+    public boolean shouldPrecede(int current, int other) {
+        return current < other;
+    }
+
+    @Override
+    public boolean shouldPrecede(long current, long other) {
+        return current < other;
+    }
+
+    @Override
+    public boolean shouldPrecede(double current, double other) {
+        return Double.compare(current, other) < 0;
+    }
+}
@@ -0,0 +1,37 @@
+package utils.orderingstrategy;
+
+/**
+ * Contract for a sorting algorithm's ordering strategy over primitive array items.
+ * It is the primitive counterpart of {@link SortOrderingStrategy}
+ * so that primitive keys never have to be boxed in order to be compared.
+ */
+public interface PrimitiveSortOrderingStrategy {
+    /**
+     * The method that checks whether a current int item should precede another item
+     *
+     * @param current The current array item
+     * @param other   The other array item
+     * @return The boolean result
+     */
+    boolean shouldPrecede(int current, int other);
+
+    /**
+     * The method that checks whether a current long item should precede another item
+     *
+     * @param current The current array item
+     * @param other   The other array item
+     * @return The boolean result
+     */
+    boolean shouldPrecede(long current, long other);
+
+    /**
+     * The method that checks whether a current double item should precede another item.
+     * Doubles are compared the same way as {@link Double#compareTo(Double)} does
+     * so that the primitive sorts agree with their boxed counterparts.
+     *
+     * @param current The current array item
+     * @param other   The other array item
+     * @return The boolean result
+     */
+    boolean shouldPrecede(double current, double other);
+}
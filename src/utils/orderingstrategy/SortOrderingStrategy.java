@@ -1,5 +1,11 @@
 package utils.orderingstrategy;
 
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
 /**
  * Contract for a sorting algorithm's ordering strategy.
  * An ordering strategy defines whether an array item should precede another item
@@ -16,4 +22,77 @@ public interface SortOrderingStrategy<T extends Comparable<T>> {
      * @return The boolean result
      */
     boolean shouldPrecede(T current, T other);
+
+    /**
+     * The three-way comparison of 2 array items, which tells in a single call whether an item should precede,
+     * follow or is equivalent to another item.
+     * The default implementation is derived from {@link #shouldPrecede(Comparable, Comparable)},
+     * the strategies that can compare both ways at once override it.
+     *
+     * @param current The current array item
+     * @param other   The other array item
+     * @return A negative number if the current item should precede the other item,
+     * a positive number if it should follow it and 0 if they are equivalent
+     */
+    default int compare(T current, T other) {
+        if (shouldPrecede(current, other)) return -1;
+        return shouldPrecede(other, current) ? 1 : 0;
+    }
+
+    /**
+     * Gets the ordering strategy that orders the items the other way around
+     *
+     * @return The reversed ordering strategy
+     */
+    default SortOrderingStrategy<T> reversed() {
+        return new ComparatorOrdering<>((current, other) -> compare(other, current));
+    }
+
+    /**
+     * Gets the ordering strategy that breaks the ties of this ordering strategy with another ordering strategy
+     *
+     * @param next The ordering strategy used for the items that are equivalent according to this one
+     * @return The chained ordering strategy
+     */
+    default SortOrderingStrategy<T> thenComparing(SortOrderingStrategy<T> next) {
+        return new ComparatorOrdering<>((current, other) -> {
+            int comparison = compare(current, other);
+            return comparison != 0 ? comparison : next.compare(current, other);
+        });
+    }
+
+    /**
+     * Gets the ordering strategy that orders the items by ascending keys, eg `byKey(Record::name).reversed()`
+     *
+     * @param keyExtractor The function that extracts the key of an item
+     * @param <T>          The type of array item
+     * @param <K>          The type of the key
+     * @return The ordering strategy
+     */
+    static <T extends Comparable<T>, K extends Comparable<? super K>> SortOrderingStrategy<T> byKey(
+            Function<? super T, ? extends K> keyExtractor
+    ) {
+        return new ComparatorOrdering<>(Comparator.comparing(keyExtractor));
+    }
+
+    /**
+     * Same as {@link #byKey(Function)} for the int keys, which are never boxed
+     */
+    static <T extends Comparable<T>> SortOrderingStrategy<T> byIntKey(ToIntFunction<? super T> keyExtractor) {
+        return new ComparatorOrdering<>(Comparator.comparingInt(keyExtractor));
+    }
+
+    /**
+     * Same as {@link #byKey(Function)} for the long keys, which are never boxed
+     */
+    static <T extends Comparable<T>> SortOrderingStrategy<T> byLongKey(ToLongFunction<? super T> keyExtractor) {
+        return new ComparatorOrdering<>(Comparator.comparingLong(keyExtractor));
+    }
+
+    /**
+     * Same as {@link #byKey(Function)} for the double keys, which are never boxed
+     */
+    static <T extends Comparable<T>> SortOrderingStrategy<T> byDoubleKey(ToDoubleFunction<? super T> keyExtractor) {
+        return new ComparatorOrdering<>(Comparator.comparingDouble(keyExtractor));
+    }
 }
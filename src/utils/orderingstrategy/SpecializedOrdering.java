@@ -0,0 +1,45 @@
+package utils.orderingstrategy;
+
+/**
+ * An ordering strategy specialized once for a hot loop.
+ * The {@link MinOrdering} and the {@link MaxOrdering} are compared directly through {@link Comparable#compareTo(Object)},
+ * which the JIT inlines whatever the other ordering strategies in use,
+ * while any other ordering strategy goes through its own methods.
+ * The natural orderings are final, so no overridden method is ever bypassed,
+ * and so is this class, so that its own calls are never megamorphic.
+ *
+ * @param <T> The type of the items
+ */
+public final class SpecializedOrdering<T extends Comparable<T>> {
+    private final SortOrderingStrategy<T> orderingStrategy;
+
+    private final boolean isNatural;
+
+    private final boolean descending;
+
+    public SpecializedOrdering(SortOrderingStrategy<T> orderingStrategy) {
+        this.orderingStrategy = orderingStrategy;
+        descending = orderingStrategy instanceof MaxOrdering;
+        isNatural = descending || orderingStrategy instanceof MinOrdering;
+    }
+
+    /**
+     * Same as {@link SortOrderingStrategy#shouldPrecede(Comparable, Comparable)}
+     */
+    public boolean shouldPrecede(T current, T other) {
+        if (!isNatural) return orderingStrategy.shouldPrecede(current, other);
+        return descending ? other.compareTo(current) < 0 : current.compareTo(other) < 0;
+    }
+
+    /**
+     * Same as {@link SortOrderingStrategy#compare(Comparable, Comparable)}
+     */
+    public int compare(T current, T other) {
+        if (!isNatural) return orderingStrategy.compare(current, other);
+        return descending ? other.compareTo(current) : current.compareTo(other);
+    }
+
+    public SortOrderingStrategy<T> getOrderingStrategy() {
+        return orderingStrategy;
+    }
+}
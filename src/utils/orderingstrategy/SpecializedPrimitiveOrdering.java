@@ -0,0 +1,67 @@
+package utils.orderingstrategy;
+
+/**
+ * A primitive ordering strategy specialized once for a hot loop, ie the primitive counterpart of the {@link SpecializedOrdering}.
+ * The {@link PrimitiveMinOrdering} and the {@link PrimitiveMaxOrdering} are compared directly,
+ * which the JIT inlines whatever the other ordering strategies in use,
+ * while any other ordering strategy goes through its own methods.
+ * The primitive natural orderings are final, so no overridden method is ever bypassed,
+ * and so is this class, so that its own calls are never megamorphic.
+ */
+public final class SpecializedPrimitiveOrdering {
+    private final PrimitiveSortOrderingStrategy orderingStrategy;
+
+    private final boolean isNatural;
+
+    private final boolean descending;
+
+    public SpecializedPrimitiveOrdering(PrimitiveSortOrderingStrategy orderingStrategy) {
+        this.orderingStrategy = orderingStrategy;
+        isNatural = isNatural(orderingStrategy);
+        descending = isDescending(orderingStrategy);
+    }
+
+    /**
+     * Whether an ordering strategy is the primitive min ordering or the primitive max ordering,
+     * which the sorts that rely on the natural order of the keys support
+     */
+    public static boolean isNatural(PrimitiveSortOrderingStrategy orderingStrategy) {
+        return orderingStrategy instanceof PrimitiveMinOrdering || orderingStrategy instanceof PrimitiveMaxOrdering;
+    }
+
+    /**
+     * Whether an ordering strategy is the primitive max ordering
+     */
+    public static boolean isDescending(PrimitiveSortOrderingStrategy orderingStrategy) {
+        return orderingStrategy instanceof PrimitiveMaxOrdering;
+    }
+
+    /**
+     * Same as {@link PrimitiveSortOrderingStrategy#shouldPrecede(int, int)}
+     */
+    public boolean shouldPrecede(int current, int other) {
+        if (!isNatural) return orderingStrategy.shouldPrecede(current, other);
+        return descending ? current > other : current < other;
+    }
+
+    /**
+     * Same as {@link PrimitiveSortOrderingStrategy#shouldPrecede(long, long)}
+     */
+    public boolean shouldPrecede(long current, long other) {
+        if (!isNatural) return orderingStrategy.shouldPrecede(current, other);
+        return descending ? current > other : current < other;
+    }
+
+    /**
+     * Same as {@link PrimitiveSortOrderingStrategy#shouldPrecede(double, double)}
+     */
+    public boolean shouldPrecede(double current, double other) {
+        if (!isNatural) return orderingStrategy.shouldPrecede(current, other);
+        int comparison = Double.compare(current, other);
+        return descending ? comparison > 0 : comparison < 0;
+    }
+
+    public PrimitiveSortOrderingStrategy getOrderingStrategy() {
+        return orderingStrategy;
+    }
+}